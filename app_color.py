@@ -6,6 +6,7 @@ import os
 import requests
 from dotenv import load_dotenv
 import json
+from concurrent.futures import ThreadPoolExecutor
 
 load_dotenv()
 
@@ -15,6 +16,11 @@ CORS(app)
 # OpenAI API 키 설정
 OPENAI_API_KEY = os.getenv("OPENAI_API_KEY")
 
+# 일괄 분석 설정 (한 요청당 최대 이미지 수 / 동시 Vision API 호출 수)
+MAX_BATCH_SIZE = int(os.getenv("MAX_BATCH_SIZE", "32"))
+BATCH_WORKERS = int(os.getenv("BATCH_WORKERS", "8"))
+batch_executor = ThreadPoolExecutor(max_workers=BATCH_WORKERS)
+
 
 def analyze_fashion_color(image_url):
     """OpenAI Vision API로 패션 아이템 색상 분석"""
@@ -156,6 +162,43 @@ def analyze_color():
         return jsonify({"error": str(e)}), 500
 
 
+@app.route("/analyze-colors", methods=["POST"])
+def analyze_colors():
+    """색상 일괄 분석 API 엔드포인트 (요청 순서대로 항목별 결과 반환)"""
+    try:
+        data = request.json or {}
+        image_urls = data.get("image_urls")
+
+        if not isinstance(image_urls, list) or not image_urls:
+            return jsonify({"error": "이미지 URL 목록이 필요합니다"}), 400
+
+        if len(image_urls) > MAX_BATCH_SIZE:
+            return jsonify({"error": f"한 번에 최대 {MAX_BATCH_SIZE}개까지 분석할 수 있습니다"}), 400
+
+        print(f"🔍 일괄 분석 시작: {len(image_urls)}개")
+
+        def analyze_item(image_url):
+            # 항목 하나의 실패가 다른 항목에 영향을 주지 않도록 개별 처리
+            if not image_url:
+                return {"image_url": image_url, "error": "이미지 URL이 필요합니다"}
+            try:
+                result = analyze_fashion_color(image_url)
+            except Exception as e:
+                result = {"error": str(e)}
+            return {"image_url": image_url, **result}
+
+        results = list(batch_executor.map(analyze_item, image_urls))
+
+        failed = sum(1 for r in results if "error" in r)
+        print(f"✅ 일괄 분석 완료: {len(results) - failed}개 성공, {failed}개 실패")
+
+        return jsonify({"results": results})
+
+    except Exception as e:
+        print(f"❌ 오류 발생: {str(e)}")
+        return jsonify({"error": str(e)}), 500
+
+
 @app.route("/health", methods=["GET"])
 def health_check():
     """서버 상태 확인"""
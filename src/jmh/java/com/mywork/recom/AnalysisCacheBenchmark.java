@@ -0,0 +1,98 @@
+package com.mywork.recom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 분석 캐시 조회 / 저장 (여러 스레드 동시 접근)
+ * - 키 공간은 캐시 최대 크기의 두 배라 조회 절반은 미스, 저장은 LRU 제거를 유발
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Drecom.log.level=WARN")
+public class AnalysisCacheBenchmark {
+
+    private static final int MAX_ENTRIES = 10000;
+    private static final int KEY_SPACE = MAX_ENTRIES * 2;
+
+    @State(Scope.Benchmark)
+    public static class SharedCache {
+        AnalysisCache<AIColorService.ColorAnalysisResult> cache;
+        String[] keys;
+        AIColorService.ColorAnalysisResult value;
+
+        @Setup
+        public void setUp() {
+            cache = new AnalysisCache<>(MAX_ENTRIES, TimeUnit.MINUTES.toMillis(10));
+            keys = new String[KEY_SPACE];
+            for (int i = 0; i < KEY_SPACE; i++) {
+                keys[i] = "https://images.kolonmall.com/Prod_Img/bench/" + i + ".jpg";
+            }
+            value = new AIColorService.ColorAnalysisResult("여름 뮤트", 72, "benchmark",
+                    Arrays.asList("#8C8C9A", "#B4A8B8"));
+            for (int i = 0; i < MAX_ENTRIES; i++) {
+                cache.put(keys[i * 2], value);
+            }
+        }
+
+        @TearDown
+        public void tearDown() {
+            cache.close();
+        }
+    }
+
+    /**
+     * 스레드별 키 순회 위치 (스레드마다 다른 지점에서 시작)
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        @Setup
+        public void setUp() {
+            next = (int) (Thread.currentThread().getId() * 7919 % KEY_SPACE);
+        }
+
+        String key(SharedCache shared) {
+            next = next + 1 == KEY_SPACE ? 0 : next + 1;
+            return shared.keys[next];
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public AIColorService.ColorAnalysisResult getOnly(SharedCache shared, Cursor cursor) {
+        return shared.cache.get(cursor.key(shared));
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public AIColorService.ColorAnalysisResult mixedGet(SharedCache shared, Cursor cursor) {
+        return shared.cache.get(cursor.key(shared));
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public void mixedPut(SharedCache shared, Cursor cursor) {
+        shared.cache.put(cursor.key(shared), shared.value);
+    }
+}
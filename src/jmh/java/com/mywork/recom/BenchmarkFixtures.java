@@ -0,0 +1,70 @@
+package com.mywork.recom;
+
+/**
+ * 벤치마크 공용 준비물 (서비스 생성, 실제 AI 서버 응답 형태의 샘플)
+ */
+final class BenchmarkFixtures {
+
+    // AI 서버(app_color.py)가 실제로 돌려주는 형태의 응답
+    static final String TYPICAL_RESPONSE = "{\"personal_color\":\"여름 뮤트\",\"confidence\":72,"
+            + "\"reason\":\"채도가 낮고 회색빛이 도는 차가운 색상이 주를 이룹니다.\","
+            + "\"dominant_colors\":[\"#8C8C9A\",\"#B4A8B8\",\"#5E6472\"]}";
+
+    static final String MANY_COLORS_RESPONSE = "{\"personal_color\":\"가을 딥\",\"confidence\":88,"
+            + "\"reason\":\"깊고 따뜻한 브라운 계열과 올리브 계열이 섞여 있으며 명도가 낮습니다. "
+            + "밝은 배경 영역은 분석에서 제외되었습니다.\","
+            + "\"dominant_colors\":[\"#4B2E1E\",\"#6B4226\",\"#7A6A3A\",\"#3E3B2C\",\"#8B5A2B\",\"#A0522D\",\"#5C4033\",\"#2F2A1F\"]}";
+
+    static final String MINIMAL_RESPONSE = "{\"personal_color\":\"알 수 없음\",\"confidence\":0}";
+
+    // 스텁 AI 서버가 돌려줄 퍼스널 컬러 (선택 가능 값 + 분류 불가 값)
+    static final String[] STUB_COLORS = {"봄 라이트", "봄 브라이트", "여름 라이트", "여름 브라이트", "여름 뮤트",
+            "가을 뮤트", "가을 스트롱", "가을 딥", "겨울 브라이트", "겨울 딥", "알 수 없음"};
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * 콜론몰 카테고리 목록 페이지 형태의 HTML (스크립트 / 스타일 / 주석 / 지연 로딩 이미지 포함)
+     */
+    static String categoryPageHtml(int productCount) {
+        StringBuilder sb = new StringBuilder(productCount * 900 + 4096);
+        sb.append("<!DOCTYPE html><html lang=\"ko\"><head><meta charset=\"utf-8\"><title>신상품 | 코오롱몰</title>")
+                .append("<style>.textStyle_Body-14-M{font-size:14px} a[href*='/Product/']>div{display:block}</style>")
+                .append("<script>window.__STATE__ = {\"items\":\"<a href='/Product/ignored'>\"};</script>")
+                .append("</head><body><!-- <a href=\"/Product/commented\"> --><header><a href=\"/Main\">홈</a></header><ul class=\"list\">");
+        for (int i = 0; i < productCount; i++) {
+            String img = "https://images.kolonmall.com/Prod_Img/CJ/2024/LM3/J3TBA" + i + "_LM3.jpg";
+            sb.append("<li><a class=\"sc-product\" href=\"/Product/").append(700000 + i).append("?utm=list&amp;pos=").append(i).append("\">")
+                    .append("<div class=\"thumb\">");
+            if (i % 3 == 0) {
+                sb.append("<img src=\"data:image/gif;base64,R0lGODlhAQABAAAAACw=\" data-src=\"").append(img).append("\" alt=\"\">");
+            } else {
+                sb.append("<img src=\"").append(img).append("\" alt=\"상품 이미지\" loading=lazy>");
+            }
+            sb.append("</div><div class=\"info\"><span class=\"brand\">COURONNE</span>")
+                    .append("<div class=\"textStyle_Body-14-M ellipsis\">\n  여성 울 블렌드 &amp; 캐시미어 코트 ")
+                    .append(i).append("<br>네이비\n</div>")
+                    .append("<div class=\"price\"><strong>289,000</strong>원</div></div></a></li>");
+        }
+        sb.append("</ul><footer>&copy; KOLON</footer></body></html>");
+        return sb.toString();
+    }
+
+    /**
+     * 스프링 컨텍스트 없이 AI 서비스 생성 (디스크 저장소 비활성)
+     */
+    static AIColorService newAIColorService(String aiServerUrl) {
+        PooledHttpClient httpClient = new PooledHttpClient(50, 20, 2000, 30000, 5000, 60000, 30);
+        ColorAnalysisStore store = new ColorAnalysisStore(false, "", 30);
+        RecommendMetrics metrics = new RecommendMetrics();
+        // 벤치마크용 이미지 URL 은 실제로 내려받을 수 없으므로 내용 해시는 끄고 URL 정규화만 사용
+        ImageDeduplicator deduplicator = new ImageDeduplicator(httpClient, metrics, true, false, true,
+                5242880, 20000, 60, 60);
+        AIServerCircuitBreaker circuitBreaker = new AIServerCircuitBreaker(20, 10, 50, 10000, 80, 30000, 3);
+        LocalColorPreFilter localColorPreFilter = new LocalColorPreFilter(httpClient, metrics, deduplicator, false, 60, 64, 5, 1,
+                5242880, 1000);
+        return new AIColorService(httpClient, store, deduplicator, circuitBreaker, localColorPreFilter, metrics, aiServerUrl,
+                10000, 10, true, 8, 50, 4);
+    }
+}
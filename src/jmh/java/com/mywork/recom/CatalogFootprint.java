@@ -0,0 +1,97 @@
+package com.mywork.recom;
+
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 카탈로그 메모리 점유 보고서 (JOL)
+ * - 상품 N개 + 분석 결과 N개를 실제 크롤링 결과 형태로 만들어 상품당 바이트 수 출력
+ * - 이전 표현(문자열 3개 상품, 라벨 / 근거 / hex 문자열 목록 결과)과 비교
+ *
+ * mvn -B -q -Pjmh test-compile exec:exec -Djmh.main=com.mywork.recom.CatalogFootprint -Djmh.args=100000
+ */
+public final class CatalogFootprint {
+
+    private static final String[] REASONS = {
+            "채도가 낮고 회색빛이 도는 차가운 색상이 주를 이룹니다.",
+            "깊고 따뜻한 브라운 계열과 올리브 계열이 섞여 있으며 명도가 낮습니다.",
+            "밝고 선명한 원색 계열로 대비가 강합니다."};
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+
+        List<ProductDTO> products = new ArrayList<>(count);
+        List<AIColorService.ColorAnalysisResult> results = new ArrayList<>(count);
+        List<LegacyProduct> legacyProducts = new ArrayList<>(count);
+        List<LegacyResult> legacyResults = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            String name = "여성 울 블렌드 캐시미어 코트 " + i;
+            String imageUrl = "https://images.kolonmall.com/Prod_Img/" + (10000000 + i % 200) + "/2024/LM3/J3TBA" + i + "_LM3.jpg";
+            String link = "https://www.kolonmall.com/Product/" + (700000 + i);
+            String label = BenchmarkFixtures.STUB_COLORS[i % BenchmarkFixtures.STUB_COLORS.length];
+            String reason = REASONS[i % REASONS.length] + " (" + i + ")";
+            List<String> colors = Arrays.asList(hex(i * 7919), hex(i * 104729), hex(i * 1299709));
+
+            products.add(new ProductDTO(name, imageUrl, link));
+            // 색인에 보관하는 형태 그대로 (근거 제외)
+            results.add(new AIColorService.ColorAnalysisResult(label, 72, reason, colors).withoutReason());
+
+            // 이전 표현은 응답마다 라벨 / 색상 문자열이 새로 만들어졌으므로 복사본으로 재현
+            legacyProducts.add(new LegacyProduct(name, imageUrl, link));
+            List<String> legacyColors = new ArrayList<>();
+            colors.forEach(c -> legacyColors.add(new String(c)));
+            legacyResults.add(new LegacyResult(new String(label), 72, reason, legacyColors));
+        }
+
+        report("ProductDTO", GraphLayout.parseInstance(products), GraphLayout.parseInstance(legacyProducts), count);
+        report("ColorAnalysisResult", GraphLayout.parseInstance(results), GraphLayout.parseInstance(legacyResults), count);
+        report("합계", GraphLayout.parseInstance(products, results),
+                GraphLayout.parseInstance(legacyProducts, legacyResults), count);
+    }
+
+    private static void report(String label, GraphLayout compact, GraphLayout legacy, int count) {
+        System.out.printf("%-20s %,d개: %,d bytes (상품당 %.1f) / 이전 표현 %,d bytes (상품당 %.1f)%n",
+                label, count, compact.totalSize(), (double) compact.totalSize() / count,
+                legacy.totalSize(), (double) legacy.totalSize() / count);
+    }
+
+    private static String hex(int value) {
+        return AIColorService.ColorAnalysisResult.toHex(value & 0xFFFFFF);
+    }
+
+    /**
+     * 이전 상품 표현 (문자열 3개)
+     */
+    private static final class LegacyProduct {
+        final String name;
+        final String imageUrl;
+        final String productLink;
+
+        LegacyProduct(String name, String imageUrl, String productLink) {
+            this.name = name;
+            this.imageUrl = imageUrl;
+            this.productLink = productLink;
+        }
+    }
+
+    /**
+     * 이전 분석 결과 표현 (라벨 / 근거 / hex 문자열 목록)
+     */
+    private static final class LegacyResult {
+        final String personalColor;
+        final int confidence;
+        final String reason;
+        final List<String> dominantColors;
+
+        LegacyResult(String personalColor, int confidence, String reason, List<String> dominantColors) {
+            this.personalColor = personalColor;
+            this.confidence = confidence;
+            this.reason = reason;
+            this.dominantColors = dominantColors;
+        }
+    }
+}
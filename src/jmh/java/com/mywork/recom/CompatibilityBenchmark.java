@@ -0,0 +1,67 @@
+package com.mywork.recom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 퍼스널 컬러 호환성 판단 (선택 가능한 10 × 10 조합 전체)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Drecom.log.level=WARN")
+@State(Scope.Benchmark)
+public class CompatibilityBenchmark {
+
+    private static final int PAIRS = 100;
+
+    // 신뢰도 구간별로 판단 경로가 달라짐 (30 미만 / 30~39 / 40 이상)
+    @Param({"25", "35", "85"})
+    public int confidence;
+
+    private AIColorService aiColorService;
+    private String[] userColors;
+    private String[] productColors;
+
+    @Setup
+    public void setUp() {
+        aiColorService = BenchmarkFixtures.newAIColorService("http://127.0.0.1:9");
+        userColors = new String[PersonalColor.selectableCount()];
+        productColors = new String[PersonalColor.selectableCount()];
+        for (int i = 0; i < userColors.length; i++) {
+            userColors[i] = PersonalColor.selectableLabel(i + 1);
+            // AI 응답에서 온 문자열처럼 별도 인스턴스 사용 (참조 비교로 빨라지지 않도록)
+            productColors[i] = new String(userColors[i]);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        aiColorService.destroy();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAIRS)
+    public void allPairs(Blackhole bh) {
+        for (String user : userColors) {
+            for (String product : productColors) {
+                bh.consume(aiColorService.isCompatibleColor(user, product, confidence));
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.mywork.recom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로컬 대표 색상 추출 (디코딩 + Lab 변환 + k-means)
+ * - 흰 배경 위 상품 사진을 흉내낸 JPEG 사용
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Drecom.log.level=WARN")
+@State(Scope.Benchmark)
+public class DominantColorBenchmark {
+
+    // 콜론몰 목록 썸네일 / 상세 이미지 크기
+    @Param({"400", "1000"})
+    public int imageSize;
+
+    private DominantColorExtractor extractor;
+    private byte[] jpeg;
+
+    @Setup
+    public void setUp() throws Exception {
+        extractor = new DominantColorExtractor(64, 5);
+
+        BufferedImage image = new BufferedImage(imageSize, imageSize, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, imageSize, imageSize);
+        g.setColor(new Color(0x8B5A2B));
+        g.fillRoundRect(imageSize / 5, imageSize / 8, imageSize * 3 / 5, imageSize * 3 / 4, imageSize / 10, imageSize / 10);
+        g.setColor(new Color(0x3E3B2C));
+        g.fillRect(imageSize / 3, imageSize / 3, imageSize / 3, imageSize / 6);
+        g.dispose();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "jpg", out);
+        jpeg = out.toByteArray();
+    }
+
+    @Benchmark
+    public DominantColorExtractor.Estimate extract() throws Exception {
+        return extractor.extract(jpeg);
+    }
+}
@@ -0,0 +1,128 @@
+package com.mywork.recom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 대표 색상 색인 검색 (/api/similar-colors)
+ * - 상품마다 대표 색상 3개, 검색 팔레트는 2색
+ * - linearScan: 색인 없이 모든 상품 색상과 비교하는 기준값
+ * - replace: 크롤러가 상품 하나를 다시 분석했을 때의 교체 비용
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Drecom.log.level=WARN")
+@State(Scope.Benchmark)
+public class PaletteIndexBenchmark {
+
+    private static final int COLORS_PER_PRODUCT = 3;
+    private static final int QUERIES = 64;
+
+    @Param({"100000"})
+    public int products;
+
+    private PaletteIndex index;
+    private ProductDTO[] catalog;
+    private int[][] palettes;
+    private float[] allLab;
+    private int[][] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        index = new PaletteIndex();
+        catalog = new ProductDTO[products];
+        palettes = new int[products][];
+        allLab = new float[products * COLORS_PER_PRODUCT * 3];
+        float[] lab = new float[3];
+        for (int i = 0; i < products; i++) {
+            catalog[i] = new ProductDTO("벤치마크 상품 " + i,
+                    "https://images.kolonmall.com/Prod_Img/bench/" + i + ".jpg",
+                    "https://www.kolonmall.com/Product/bench-" + i);
+            palettes[i] = randomPalette(random, COLORS_PER_PRODUCT);
+            index.put(catalog[i], palettes[i]);
+            for (int c = 0; c < COLORS_PER_PRODUCT; c++) {
+                DominantColorExtractor.rgbToLab(palettes[i][c], lab);
+                System.arraycopy(lab, 0, allLab, (i * COLORS_PER_PRODUCT + c) * 3, 3);
+            }
+        }
+        queries = new int[QUERIES][];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = randomPalette(random, 2);
+        }
+    }
+
+    private static int[] randomPalette(Random random, int size) {
+        int[] palette = new int[size];
+        for (int i = 0; i < size; i++) {
+            palette[i] = random.nextInt(0x1000000);
+        }
+        return palette;
+    }
+
+    private int[] nextQuery() {
+        next = (next + 1) % QUERIES;
+        return queries[next];
+    }
+
+    @Benchmark
+    public List<PaletteIndex.Match> nearest20() {
+        return index.nearest(nextQuery(), 20);
+    }
+
+    @Benchmark
+    public List<PaletteIndex.Match> radius5() {
+        return index.withinRadius(nextQuery(), 5f, 200);
+    }
+
+    @Benchmark
+    public void replace() {
+        int i = next = (next + 1) % products;
+        index.put(catalog[i], palettes[i]);
+    }
+
+    /**
+     * 색인 없이 전체 비교 (가장 가까운 1개만 찾는 최소 비용)
+     */
+    @Benchmark
+    public int linearScan() {
+        int[] query = nextQuery();
+        float[] q = new float[query.length * 3];
+        float[] lab = new float[3];
+        for (int i = 0; i < query.length; i++) {
+            DominantColorExtractor.rgbToLab(query[i], lab);
+            System.arraycopy(lab, 0, q, i * 3, 3);
+        }
+        int best = -1;
+        float bestDistance = Float.MAX_VALUE;
+        for (int p = 0; p < allLab.length; p += 3) {
+            for (int j = 0; j < q.length; j += 3) {
+                float dl = allLab[p] - q[j];
+                float da = allLab[p + 1] - q[j + 1];
+                float db = allLab[p + 2] - q[j + 2];
+                float d = dl * dl + da * da + db * db;
+                if (d < bestDistance) {
+                    bestDistance = d;
+                    best = p / 3 / COLORS_PER_PRODUCT;
+                }
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,75 @@
+package com.mywork.recom;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AI 서버 응답 JSON 파싱
+ * - parse: 스트리밍 디코더 (AIResponseDecoder), parseTree: 비교용 JsonNode 트리 방식
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Drecom.log.level=WARN")
+@State(Scope.Benchmark)
+public class ParseAIResponseBenchmark {
+
+    @Param({"typical", "many_colors", "minimal"})
+    public String payload;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private AIColorService aiColorService;
+    private String json;
+
+    @Setup
+    public void setUp() {
+        aiColorService = BenchmarkFixtures.newAIColorService("http://127.0.0.1:9");
+        switch (payload) {
+            case "many_colors":
+                json = BenchmarkFixtures.MANY_COLORS_RESPONSE;
+                break;
+            case "minimal":
+                json = BenchmarkFixtures.MINIMAL_RESPONSE;
+                break;
+            default:
+                json = BenchmarkFixtures.TYPICAL_RESPONSE;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        aiColorService.destroy();
+    }
+
+    @Benchmark
+    public AIColorService.ColorAnalysisResult parse() {
+        return aiColorService.parseAIResponse(json);
+    }
+
+    @Benchmark
+    public AIColorService.ColorAnalysisResult parseTree() throws Exception {
+        JsonNode node = objectMapper.readTree(json);
+        List<String> colors = new ArrayList<>();
+        node.path("dominant_colors").forEach(color -> colors.add(color.asText()));
+        return new AIColorService.ColorAnalysisResult(node.path("personal_color").asText("알 수 없음"),
+                node.path("confidence").asInt(0), node.path("reason").asText("분석 결과 없음"), colors);
+    }
+}
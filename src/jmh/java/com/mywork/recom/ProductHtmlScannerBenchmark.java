@@ -0,0 +1,48 @@
+package com.mywork.recom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상품 목록 HTML 스트리밍 파싱 (HttpProductSource 의 페이지당 비용, 네트워크 제외)
+ * -prof gc 로 상품당 할당량 확인
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Drecom.log.level=WARN")
+@State(Scope.Thread)
+public class ProductHtmlScannerBenchmark {
+
+    @Param({"60", "240"})
+    public int products;
+
+    private String html;
+    private ProductHtmlScanner scanner;
+
+    @Setup
+    public void setUp() {
+        html = BenchmarkFixtures.categoryPageHtml(products);
+        scanner = new ProductHtmlScanner("https://www.kolonmall.com");
+    }
+
+    @Benchmark
+    public int scan(Blackhole bh) throws IOException {
+        return scanner.scan(new StringReader(html), bh::consume);
+    }
+}
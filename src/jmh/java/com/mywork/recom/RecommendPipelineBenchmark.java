@@ -0,0 +1,126 @@
+package com.mywork.recom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 추천 전체 경로 (getRecommendedProducts)
+ * - 스크래핑은 고정 상품 목록을 돌려주는 스텁 커서, AI 서버는 로컬 스텁 HTTP 서버로 대체
+ * - cold: 매 호출 전에 메모리 캐시를 비워 AI 호출까지 포함, warm: 캐시 적중 경로
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Drecom.log.level=WARN")
+@State(Scope.Benchmark)
+public class RecommendPipelineBenchmark {
+
+    private static final String CATEGORY_URL = "https://www.kolonmall.com/Category/List/bench";
+
+    @Param({"0", "20"})
+    public long aiLatencyMillis;
+
+    @Param({"cold", "warm"})
+    public String cache;
+
+    private StubAIServer aiServer;
+    private AnnotationConfigApplicationContext context;
+    private HomeService homeService;
+    private AIColorService aiColorService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        aiServer = new StubAIServer(aiLatencyMillis);
+
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("ai.server.url", aiServer.getUrl());
+        properties.put("store.enabled", "false");
+        properties.put("dedup.content-hash", "false");
+        properties.put("prefilter.enabled", "false");
+        // 매 호출이 실제 추천 경로를 타도록 결과 재사용은 끔 (동시 요청 합치기만 동작)
+        properties.put("recommend.coalesce.ttl-ms", "0");
+
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", properties));
+        context.register(RecommendMetrics.class, PooledHttpClient.class, ColorAnalysisStore.class,
+                ImageDeduplicator.class, LocalColorPreFilter.class, AIServerCircuitBreaker.class, AIColorService.class, ColorAnalysisExecutor.class, ProductColorIndex.class,
+                StubProductSource.class, HomeService.class);
+        context.refresh();
+
+        homeService = context.getBean(HomeService.class);
+        aiColorService = context.getBean(AIColorService.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void resetCache() {
+        if ("cold".equals(cache)) {
+            aiColorService.clearCache();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        aiServer.close();
+    }
+
+    @Benchmark
+    public List<ProductDTO> recommend() {
+        return homeService.getRecommendedProducts(CATEGORY_URL, "여름 뮤트");
+    }
+
+    /**
+     * 브라우저 없이 고정 상품 목록을 돌려주는 상품 공급원
+     */
+    public static class StubProductSource implements ProductSource {
+
+        private static final int PRODUCT_COUNT = 120;
+
+        @Override
+        public ProductCursor open(String categoryUrl) {
+            List<ProductDTO> products = new ArrayList<>(PRODUCT_COUNT);
+            for (int i = 0; i < PRODUCT_COUNT; i++) {
+                products.add(new ProductDTO("벤치마크 상품 " + i,
+                        "https://images.kolonmall.com/Prod_Img/bench/" + i + ".jpg",
+                        "https://www.kolonmall.com/Product/bench-" + i));
+            }
+            Iterator<ProductDTO> it = products.iterator();
+            return new ProductCursor() {
+                @Override
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                @Override
+                public ProductDTO next() {
+                    return it.next();
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.mywork.recom;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 벤치마크용 가짜 AI 서버 (/health, /analyze-color, /analyze-colors)
+ * - 이미지 URL 해시로 결과를 정하므로 같은 URL 은 항상 같은 결과
+ * - 요청마다 지정한 지연 시간만큼 대기해 모델 추론 시간을 흉내냄
+ */
+final class StubAIServer implements AutoCloseable {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long latencyMillis;
+
+    StubAIServer(long latencyMillis) throws IOException {
+        this.latencyMillis = latencyMillis;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.executor = Executors.newFixedThreadPool(16);
+        server.setExecutor(executor);
+        server.createContext("/health", exchange -> respond(exchange, "{\"status\":\"ok\"}"));
+        server.createContext("/analyze-color", this::analyzeOne);
+        server.createContext("/analyze-colors", this::analyzeBatch);
+        server.start();
+    }
+
+    String getUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private void analyzeOne(HttpExchange exchange) throws IOException {
+        JsonNode request = readBody(exchange);
+        simulateInference();
+        respond(exchange, objectMapper.writeValueAsString(result(request.path("image_url").asText())));
+    }
+
+    private void analyzeBatch(HttpExchange exchange) throws IOException {
+        JsonNode request = readBody(exchange);
+        simulateInference();
+        ObjectNode response = objectMapper.createObjectNode();
+        ArrayNode results = response.putArray("results");
+        request.path("image_urls").forEach(url -> results.add(result(url.asText())));
+        respond(exchange, objectMapper.writeValueAsString(response));
+    }
+
+    private ObjectNode result(String imageUrl) {
+        int hash = imageUrl.hashCode() & 0x7fffffff;
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("image_url", imageUrl);
+        node.put("personal_color", BenchmarkFixtures.STUB_COLORS[hash % BenchmarkFixtures.STUB_COLORS.length]);
+        node.put("confidence", 25 + hash % 70);
+        node.put("reason", "스텁 분석 결과");
+        node.putArray("dominant_colors").add("#8C8C9A").add("#B4A8B8");
+        return node;
+    }
+
+    private JsonNode readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return objectMapper.readTree(in);
+        }
+    }
+
+    private void simulateInference() {
+        if (latencyMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void respond(HttpExchange exchange, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -1,318 +1,625 @@
 package com.mywork.recom;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.RestClientException;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import java.io.IOException;
+import java.io.InputStream;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 @Service
-public class AIColorService {
+public class AIColorService implements DisposableBean {
 
-    private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
-    private final String AI_SERVER_URL = "http://localhost:8000";
+    private static final Logger log = LoggerFactory.getLogger(AIColorService.class);
 
-    // 캐시 저장소 (성능 최적화용)
-    private final Map<String, ColorAnalysisResult> cache = new HashMap<>();
-    private final Map<String, Long> cacheTimestamps = new HashMap<>();
-    private final long CACHE_DURATION = TimeUnit.MINUTES.toMillis(10); // 10분 캐시
+    private final RestTemplate restTemplate;
+    private final AIResponseDecoder decoder = new AIResponseDecoder();
+    private final String aiServerUrl;
+
+    // 모든 요청에서 공유하는 JSON 헤더 (읽기 전용)
+    private static final HttpHeaders JSON_HEADERS;
+    static {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        JSON_HEADERS = HttpHeaders.readOnlyHttpHeaders(headers);
+    }
 
-    public AIColorService() {
-        this.restTemplate = new RestTemplate();
-        this.objectMapper = new ObjectMapper();
+    // 캐시 저장소 (성능 최적화용, 동시 요청 안전 / 크기 제한 / 백그라운드 만료)
+    private final AnalysisCache<ColorAnalysisResult> cache;
+
+    // 디스크 저장소 (재시작 후에도 유지되는 2차 캐시)
+    private final ColorAnalysisStore store;
+
+    // 여러 요청의 이미지를 묶어 /analyze-colors 로 한 번에 전송
+    private final boolean batchEnabled;
+    private final AnalysisBatcher<ColorAnalysisResult> batcher;
+
+    // 같은 이미지의 다른 URL 을 하나의 분석 키로 합침
+    private final ImageDeduplicator deduplicator;
+
+    // AI 서버 장애시 호출 차단, 차단 중에는 로컬 색상 추정으로 대체
+    private final AIServerCircuitBreaker circuitBreaker;
+    private final LocalColorPreFilter localColorPreFilter;
+
+    private final RecommendMetrics metrics;
+
+    public AIColorService(PooledHttpClient httpClient,
+                          ColorAnalysisStore store,
+                          ImageDeduplicator deduplicator,
+                          AIServerCircuitBreaker circuitBreaker,
+                          LocalColorPreFilter localColorPreFilter,
+                          RecommendMetrics metrics,
+                          @Value("${ai.server.url:http://localhost:8000}") String aiServerUrl,
+                          @Value("${cache.max-entries:10000}") int cacheMaxEntries,
+                          @Value("${cache.ttl-minutes:10}") long cacheTtlMinutes,
+                          @Value("${ai.batch.enabled:true}") boolean batchEnabled,
+                          @Value("${ai.batch.size:8}") int batchSize,
+                          @Value("${ai.batch.flush-interval-ms:50}") long batchFlushIntervalMillis,
+                          @Value("${ai.batch.max-in-flight:4}") int batchMaxInFlight) {
+        // 커넥션 풀 / 타임아웃이 적용된 공용 클라이언트 사용
+        this.restTemplate = httpClient.getRestTemplate();
+        this.aiServerUrl = aiServerUrl;
+        this.store = store;
+        this.deduplicator = deduplicator;
+        store.setReachableKeys(deduplicator::isCurrentKey);
+        this.circuitBreaker = circuitBreaker;
+        this.localColorPreFilter = localColorPreFilter;
+        this.cache = new AnalysisCache<>(cacheMaxEntries, TimeUnit.MINUTES.toMillis(cacheTtlMinutes));
+        this.batchEnabled = batchEnabled;
+        this.batcher = new AnalysisBatcher<>(batchSize, batchFlushIntervalMillis, batchMaxInFlight, this::requestBatchAnalysis);
+        this.metrics = metrics;
+        metrics.gauge("recommend.cache.size", "메모리 분석 캐시 항목 수", cache, AnalysisCache::size);
+        metrics.gauge("recommend.store.size", "디스크 분석 저장소 항목 수", store, ColorAnalysisStore::size);
+        metrics.gauge("recommend.ai.circuit.state", "AI 서버 회로 상태 (0 닫힘, 1 반열림, 2 열림)",
+                circuitBreaker, b -> b.getState() == AIServerCircuitBreaker.State.CLOSED ? 0
+                        : b.getState() == AIServerCircuitBreaker.State.HALF_OPEN ? 1 : 2);
     }
 
     /**
      * 이미지 URL로 색상 분석 요청
+     * 메모리 캐시 → 디스크 저장소 → AI 서버 순으로 조회
+     * 캐시 키는 URL 정규화 + 이미지 내용 해시 (ImageDeduplicator) 이므로
+     * 같은 이미지에 대한 동시 요청은 URL 이 달라도 AI 호출 한 번의 결과를 공유
+     * AI 서버 회로가 차단된 동안에는 기다리지 않고 로컬 색상 추정 결과 반환 (캐시하지 않음)
      */
     public ColorAnalysisResult analyzeProductColor(String imageUrl) {
-        // 캐시 확인
-        ColorAnalysisResult cachedResult = getCachedResult(imageUrl);
-        if (cachedResult != null) {
-            System.out.println("캐시에서 결과 반환: " + imageUrl);
-            return cachedResult;
-        }
-
-        try {
-            // AI 서버 호출
-            Map<String, String> requestData = new HashMap<>();
-            requestData.put("image_url", imageUrl);
-
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            HttpEntity<Map<String, String>> requestEntity = new HttpEntity<>(requestData, headers);
+        return awaitResult(analyzeAsync(imageUrl));
+    }
 
-            ResponseEntity<String> response = restTemplate.postForEntity(
-                    AI_SERVER_URL + "/analyze-color",
-                    requestEntity,
-                    String.class
-            );
+    /**
+     * analyzeProductColor 의 비동기 버전 (실패는 기본 결과로 대체되어 예외로 끝나지 않음)
+     * 이미지 해시 / 저장소 조회 등 동기 구간은 호출 스레드에서 끝낸 뒤 반환하므로, 타임아웃 처리는
+     * 작업 스레드를 인터럽트하지 말고 반환된 결과를 기다리는 쪽만 멈출 것 (공유 캐시 로딩은 계속 진행)
+     */
+    public CompletableFuture<ColorAnalysisResult> analyzeProductColorAsync(String imageUrl) {
+        return analyzeAsync(imageUrl).handle((result, error) -> error == null ? result : failureResult(error));
+    }
 
-            if (response.getStatusCode().is2xxSuccessful()) {
-                ColorAnalysisResult result = parseAIResponse(response.getBody());
+    /**
+     * 여러 이미지 일괄 분석 (입력 순서대로 결과 반환)
+     * 캐시에 없는 이미지만 모아 AI 서버에 일괄 요청하며, 실패한 항목만 기본 결과로 대체
+     */
+    public List<ColorAnalysisResult> analyzeProductColors(List<String> imageUrls) {
+        List<CompletableFuture<ColorAnalysisResult>> futures = new ArrayList<>(imageUrls.size());
+        for (String imageUrl : imageUrls) {
+            futures.add(analyzeAsync(imageUrl));
+        }
+        // 모아둔 요청은 대기 시간 없이 바로 전송
+        batcher.flush();
 
-                // 캐시에 저장
-                saveToCache(imageUrl, result);
+        List<ColorAnalysisResult> results = new ArrayList<>(imageUrls.size());
+        for (CompletableFuture<ColorAnalysisResult> future : futures) {
+            results.add(awaitResult(future));
+        }
+        return results;
+    }
 
-                System.out.println("AI 분석 완료: " + result.getPersonalColor()+ "신뢰도: " + result.getConfidence() + "%)");
-                return result;
-            } else {
-                System.err.println("AI 서버 응답 오류: " + response.getStatusCode());
-                return createDefaultResult();
+    private CompletableFuture<ColorAnalysisResult> analyzeAsync(String imageUrl) {
+        String key = deduplicator.resolve(imageUrl);
+        // 메모리 조회 시간만 기록 (미스면 로더가 디스크 / AI 를 부르기 직전까지)
+        long start = System.nanoTime();
+        boolean[] recorded = {false};
+        CompletableFuture<ColorAnalysisResult> future = cache.getOrLoadAsync(key, k -> {
+            metrics.getMemoryLookupTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            recorded[0] = true;
+            return loadAnalysis(k, imageUrl);
+        });
+        if (!recorded[0]) {
+            metrics.getMemoryLookupTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return future.exceptionally(e -> {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof AIServerCircuitBreaker.OpenException) {
+                return localFallback(imageUrl);
             }
+            throw e instanceof CompletionException ? (CompletionException) e : new CompletionException(e);
+        });
+    }
 
-        } catch (RestClientException e) {
-            System.err.println("AI 서버 연결 실패: " + e.getMessage());
+    /**
+     * 회로 차단 중 대체 결과 (로컬 대표 색상으로 계절만 추정)
+     * 계절 단위 추정이라 톤이 다른 것으로 취급되므로, 신뢰도를 절반으로 낮춰 확실한 경우에만 매칭되게 함
+     */
+    private ColorAnalysisResult localFallback(String imageUrl) {
+        DominantColorExtractor.Estimate estimate = localColorPreFilter.estimate(imageUrl);
+        if (estimate == null || !estimate.getSeason().isKnown()) {
             return createDefaultResult();
+        }
+        metrics.getLocalFallbacks().increment();
+        return new ColorAnalysisResult(estimate.getSeason().getLabel(), estimate.getConfidence() / 2,
+                ColorAnalysisResult.LOCAL_REASON, estimate.getDominantColors());
+    }
+
+    private ColorAnalysisResult awaitResult(CompletableFuture<ColorAnalysisResult> future) {
+        try {
+            return future.join();
         } catch (Exception e) {
-            System.err.println("AI 색상 분석 중 오류: " + e.getMessage());
-            return createDefaultResult();
+            return failureResult(e);
         }
     }
 
     /**
-     * AI 응답 JSON 파싱
+     * 분석 실패시 기본 결과로 대체
      */
-    private ColorAnalysisResult parseAIResponse(String jsonResponse) {
-        try {
-            JsonNode jsonNode = objectMapper.readTree(jsonResponse);
+    private ColorAnalysisResult failureResult(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (cause instanceof RestClientException) {
+            log.warn("AI 서버 연결 실패: {}", cause.getMessage());
+        } else {
+            log.warn("AI 색상 분석 중 오류: {}", cause.getMessage());
+        }
+        return createDefaultResult();
+    }
 
-            String personalColor = jsonNode.has("personal_color")
-                    ? jsonNode.get("personal_color").asText()
-                    : "알 수 없음";
+    /**
+     * 메모리 캐시 미스시 디스크 저장소 확인 후 AI 서버 호출
+     */
+    private CompletableFuture<ColorAnalysisResult> loadAnalysis(String key, String imageUrl) {
+        long start = System.nanoTime();
+        ColorAnalysisResult stored = store.get(key);
+        metrics.getDiskLookupTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (stored != null) {
+            return CompletableFuture.completedFuture(stored);
+        }
 
-            int confidence = jsonNode.has("confidence")
-                    ? jsonNode.get("confidence").asInt()
-                    : 0;
+        // 회로 차단 중이면 AI 서버에 보내지 않고 바로 실패 (호출 측에서 로컬 추정으로 대체)
+        if (!circuitBreaker.tryAcquirePermission()) {
+            metrics.getCircuitRejected().increment();
+            return CompletableFuture.failedFuture(new AIServerCircuitBreaker.OpenException());
+        }
 
-            String reason = jsonNode.has("reason")
-                    ? jsonNode.get("reason").asText()
-                    : "분석 결과 없음";
+        CompletableFuture<ColorAnalysisResult> request;
+        if (batchEnabled) {
+            request = batcher.submit(imageUrl);
+        } else {
+            try {
+                request = CompletableFuture.completedFuture(requestAnalysis(imageUrl));
+            } catch (Exception e) {
+                request = CompletableFuture.failedFuture(e);
+            }
+        }
 
-            List<String> dominantColors = new ArrayList<>();
-            if (jsonNode.has("dominant_colors")) {
-                JsonNode colorsNode = jsonNode.get("dominant_colors");
-                if (colorsNode.isArray()) {
-                    colorsNode.forEach(color -> dominantColors.add(color.asText()));
-                }
+        request.whenComplete((result, error) -> {
+            if (error != null) {
+                metrics.getAiFailures().increment();
+            }
+        });
+        return request.thenApply(result -> {
+            // 파싱 실패 등 신뢰도 0 결과는 영구 저장하지 않음
+            if (result.getConfidence() > 0) {
+                store.put(key, result);
             }
+            return result;
+        });
+    }
 
-            return new ColorAnalysisResult(personalColor, confidence, reason, dominantColors);
+    /**
+     * AI 서버 호출 (실패시 예외 - 캐시에 저장되지 않음)
+     */
+    private ColorAnalysisResult requestAnalysis(String imageUrl) {
+        Map<String, String> requestData = Collections.singletonMap("image_url", imageUrl);
+        HttpEntity<Map<String, String>> requestEntity = new HttpEntity<>(requestData, JSON_HEADERS);
 
-        } catch (Exception e) {
-            System.err.println("AI 응답 파싱 오류: " + e.getMessage());
-            return createDefaultResult();
+        long start = System.nanoTime();
+        ColorAnalysisResult result;
+        try {
+            // 응답 본문을 문자열로 모으지 않고 스트림에서 바로 디코딩
+            result = metrics.getAiSingleTimer().record(() -> restTemplate.execute(
+                    aiServerUrl + "/analyze-color",
+                    HttpMethod.POST,
+                    restTemplate.httpEntityCallback(requestEntity),
+                    response -> {
+                        if (!response.getStatusCode().is2xxSuccessful()) {
+                            throw new IllegalStateException("AI 서버 응답 오류: " + response.getStatusCode());
+                        }
+                        return decodeSingle(response.getBody());
+                    }
+            ));
+        } catch (RuntimeException e) {
+            recordOutcome(true, start, 1);
+            throw e;
+        }
+        // OpenAI 호출 실패는 200 + {"error": ...} 로 오므로 서버 오류와 같이 실패로 기록
+        if (result == null) {
+            recordOutcome(true, start, 1);
+            throw new IllegalStateException("AI 서버 분석 실패 응답: " + imageUrl);
         }
+        recordOutcome(false, start, 1);
+
+        log.debug("AI 분석 완료: {} (신뢰도: {}%)", result.getPersonalColor(), result.getConfidence());
+        return result;
     }
 
     /**
-     * 캐시에서 결과 조회
+     * AI 서버 일괄 호출 (/analyze-colors)
+     * 응답의 results 배열은 요청 순서와 같으며, error 가 있는 항목은 null 로 반환
      */
-    private ColorAnalysisResult getCachedResult(String imageUrl) {
-        if (cache.containsKey(imageUrl)) {
-            long timestamp = cacheTimestamps.get(imageUrl);
-            if (System.currentTimeMillis() - timestamp < CACHE_DURATION) {
-                return cache.get(imageUrl);
+    private List<ColorAnalysisResult> requestBatchAnalysis(List<String> imageUrls) {
+        Map<String, List<String>> requestData = Collections.singletonMap("image_urls", imageUrls);
+
+        long start = System.nanoTime();
+        List<ColorAnalysisResult> results;
+        try {
+            results = metrics.getAiBatchTimer().record(() -> restTemplate.execute(
+                    aiServerUrl + "/analyze-colors",
+                    HttpMethod.POST,
+                    restTemplate.httpEntityCallback(new HttpEntity<>(requestData, JSON_HEADERS)),
+                    response -> {
+                        if (!response.getStatusCode().is2xxSuccessful()) {
+                            throw new IllegalStateException("AI 서버 일괄 응답 오류: " + response.getStatusCode());
+                        }
+                        try {
+                            return decoder.decodeBatch(response.getBody(), imageUrls.size());
+                        } catch (JsonProcessingException e) {
+                            throw new IllegalStateException("AI 일괄 응답 파싱 오류: " + e.getOriginalMessage(), e);
+                        }
+                    }
+            ));
+        } catch (RuntimeException e) {
+            // 회로 허가는 이미지 단위로 받았으므로 결과도 이미지 수만큼 기록
+            recordOutcome(true, start, imageUrls.size());
+            throw e;
+        }
+        // error 항목(null)은 실패, 디코딩된 항목만 성공으로 기록 (일괄 호출이 기본 경로이므로 회로가 OpenAI 장애를 감지해야 함)
+        int failed = 0;
+        for (int i = 0; i < imageUrls.size(); i++) {
+            if (results.get(i) == null) {
+                failed++;
+                log.warn("AI 일괄 분석 항목 실패: {}", imageUrls.get(i));
+            }
+        }
+        recordOutcome(true, start, failed);
+        recordOutcome(false, start, imageUrls.size() - failed);
+        log.debug("AI 일괄 분석 완료: {}개 요청", imageUrls.size());
+        return results;
+    }
+
+    private void recordOutcome(boolean failed, long startNanos, int calls) {
+        long duration = System.nanoTime() - startNanos;
+        for (int i = 0; i < calls; i++) {
+            if (failed) {
+                circuitBreaker.onError(duration);
             } else {
-                // 캐시 만료시 삭제
-                cache.remove(imageUrl);
-                cacheTimestamps.remove(imageUrl);
+                circuitBreaker.onSuccess(duration);
             }
         }
-        return null;
     }
 
     /**
-     * 캐시에 결과 저장
+     * 단건 응답 스트림 디코딩 (형식 오류는 기본 결과, error 응답은 null, 전송 오류는 예외)
      */
-    private void saveToCache(String imageUrl, ColorAnalysisResult result) {
-        cache.put(imageUrl, result);
-        cacheTimestamps.put(imageUrl, System.currentTimeMillis());
+    private ColorAnalysisResult decodeSingle(InputStream body) throws IOException {
+        try {
+            return decoder.decode(body);
+        } catch (JsonProcessingException e) {
+            log.warn("AI 응답 파싱 오류: {}", e.getOriginalMessage());
+            return createDefaultResult();
+        }
     }
 
     /**
-     * 기본 결과 생성 (AI 분석 실패시)
+     * AI 응답 JSON 파싱 (벤치마크에서 직접 호출하므로 패키지 범위)
      */
-    private ColorAnalysisResult createDefaultResult() {
-        return new ColorAnalysisResult("알 수 없음", 0, "AI 분석 실패", Arrays.asList("#000000"));
+    ColorAnalysisResult parseAIResponse(String jsonResponse) {
+        try {
+            return decoder.decode(jsonResponse);
+        } catch (Exception e) {
+            log.warn("AI 응답 파싱 오류: {}", e.getMessage());
+            return createDefaultResult();
+        }
     }
 
     /**
-     * 퍼스널 컬러 호환성 확인 (개선된 버전)
+     * 캐시 통계 (적중/미스/제거)
      */
-    public boolean isCompatibleColor(String userPersonalColor, String productPersonalColor, int confidence) {
-        System.out.println("    [호환성 체크] 시작");
-        System.out.println("      사용자: " + userPersonalColor);
-        System.out.println("      상품: " + productPersonalColor);
-        System.out.println("      신뢰도: " + confidence + "%");
+    public AnalysisCache.Stats getCacheStats() {
+        return cache.getStats();
+    }
 
-        // 1. 기본 신뢰도 체크 (30% 미만은 제외)
-        if (confidence < 30) {
-            System.out.println("      결과: 신뢰도 부족 (" + confidence + "% < 30%)");
-            return false;
+    /**
+     * 이미 알고 있는 분석 결과 적재 (스냅샷 복원용, 디스크 저장소에 없으면 함께 저장)
+     */
+    public void preload(String imageUrl, String key, ColorAnalysisResult result) {
+        deduplicator.seed(imageUrl, key);
+        cache.put(key, result);
+        if (!store.contains(key)) {
+            store.put(key, result);
         }
+    }
 
-        // 2. 정확히 일치하는 경우 (같은 분류군)
-        if (userPersonalColor.equals(productPersonalColor)) {
-            System.out.println("      결과: 정확히 일치! (같은 분류군)");
-            return true;
-        }
+    /**
+     * 이미지의 분석 키 (다운로드 없이 이미 계산된 경우만, 모르면 null)
+     */
+    public String peekAnalysisKey(String imageUrl) {
+        return deduplicator.peekKey(imageUrl);
+    }
 
-        // 3. 계절과 분류 추출
-        String userSeason = extractSeason(userPersonalColor);
-        String productSeason = extractSeason(productPersonalColor);
-        String userType = extractType(userPersonalColor);
-        String productType = extractType(productPersonalColor);
-
-        System.out.println("      사용자 계절: " + userSeason + ", 분류: " + userType);
-        System.out.println("      상품 계절: " + productSeason + ", 분류: " + productType);
-
-        // 4. 같은 계절인 경우
-        if (userSeason.equals(productSeason) && !userSeason.equals("알 수 없음")) {
-            // 4-1. 같은 분류군이면 무조건 매칭
-            if (userType.equals(productType)) {
-                System.out.println("      결과: 같은 계절, 같은 분류 - 호환됨!");
-                return true;
-            }
-            // 4-2. 다른 분류지만 같은 계절이면 신뢰도 40% 이상일 때만 매칭
-            else if (confidence >= 40) {
-                System.out.println("      결과: 같은 계절, 다른 분류 + 신뢰도 40% 이상 - 호환됨!");
-                return true;
-            } else {
-                System.out.println("      결과: 같은 계절, 다른 분류이지만 신뢰도 부족 (" + confidence + "% < 40%)");
-                return false;
-            }
+    /**
+     * 이미 분석된 결과 조회 (메모리 캐시 → 디스크 저장소, 내려받거나 AI 서버를 호출하지 않음, 모르면 null)
+     */
+    public ColorAnalysisResult peekAnalysis(String imageUrl) {
+        String key = deduplicator.peekKey(imageUrl);
+        if (key == null) {
+            return null;
         }
+        ColorAnalysisResult cached = cache.get(key);
+        return cached != null ? cached : store.get(key);
+    }
 
-        // 5. 다른 계절인 경우 - 매칭 안함
-        if (!userSeason.equals(productSeason) &&
-                !userSeason.equals("알 수 없음") &&
-                !productSeason.equals("알 수 없음")) {
-            System.out.println("      결과: 다른 계절 - 호환되지 않음");
-            return false;
-        }
+    /**
+     * 메모리 캐시 비우기 (벤치마크의 캐시 미스 경로 측정용)
+     */
+    void clearCache() {
+        cache.clear();
+    }
+
+    /**
+     * 기본 결과 생성 (AI 분석 실패시)
+     */
+    private ColorAnalysisResult createDefaultResult() {
+        metrics.getFallbacks().increment();
+        return new ColorAnalysisResult("알 수 없음", 0, ColorAnalysisResult.FALLBACK_REASON, Arrays.asList("#000000"));
+    }
 
-        System.out.println("      결과: 호환되지 않음 (기타 조건)");
-        return false;
+    /**
+     * 퍼스널 컬러 호환성 확인 (개선된 버전)
+     * 파싱된 퍼스널 컬러 코드와 미리 계산된 호환성 표를 사용 (PersonalColor 참고)
+     */
+    public boolean isCompatibleColor(String userPersonalColor, String productPersonalColor, int confidence) {
+        return PersonalColor.isCompatible(userPersonalColor, productPersonalColor, confidence);
     }
 
     /**
      * 계절이 '알 수 없음'인 상품 확인 (추천 상품 외 제안용)
      */
     public boolean isUnknownSeasonProduct(String productPersonalColor, int confidence) {
-        System.out.println("    [알 수 없음 상품 체크] 시작");
-        System.out.println("      상품: " + productPersonalColor);
-        System.out.println("      신뢰도: " + confidence + "%");
-
         // 1. 신뢰도가 너무 낮으면 제외
         if (confidence < 30) {
-            System.out.println("      결과: 신뢰도 부족 (" + confidence + "% < 30%)");
+            log.trace("알 수 없음 상품 체크: {} - 신뢰도 부족 ({}% < 30%)", productPersonalColor, confidence);
             return false;
         }
 
         // 2. 계절이 '알 수 없음'인지 확인
-        String productSeason = extractSeason(productPersonalColor);
-        if ("알 수 없음".equals(productSeason)) {
-            System.out.println("      결과: 알 수 없음 상품으로 분류");
-            return true;
-        }
-
-        System.out.println("      결과: 알려진 계절 상품");
-        return false;
+        boolean unknown = !PersonalColor.of(productPersonalColor).getSeason().isKnown();
+        log.trace("알 수 없음 상품 체크: {} ({}%) - {}", productPersonalColor, confidence,
+                unknown ? "알 수 없음 상품으로 분류" : "알려진 계절 상품");
+        return unknown;
     }
 
     /**
-     * 퍼스널 컬러에서 계절 추출
+     * AI 서버 회로 상태 (요청마다 상태 확인 호출을 하지 않고 최근 호출 결과로 판단)
      */
-    private String extractSeason(String personalColor) {
-        if (personalColor.startsWith("봄")) return "봄";
-        if (personalColor.startsWith("여름")) return "여름";
-        if (personalColor.startsWith("가을")) return "가을";
-        if (personalColor.startsWith("겨울")) return "겨울";
-        return "알 수 없음";
+    public AIServerCircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
     }
 
     /**
-     * 퍼스널 컬러에서 분류 타입 추출 (브라이트, 라이트, 뮤트, 딥 등)
-     */
-    private String extractType(String personalColor) {
-        // 계절 제거 후 분류 추출
-        String type = personalColor;
-
-        // 계절 부분 제거
-        if (type.startsWith("봄")) {
-            type = type.substring(1);
-        } else if (type.startsWith("여름")) {
-            type = type.substring(2);
-        } else if (type.startsWith("가을")) {
-            type = type.substring(2);
-        } else if (type.startsWith("겨울")) {
-            type = type.substring(2);
-        }
-
-        // 분류 타입 정규화
-        if (type.contains("브라이트") || type.contains("bright")) {
-            return "브라이트";
-        } else if (type.contains("라이트") || type.contains("light")) {
-            return "라이트";
-        } else if (type.contains("뮤트") || type.contains("mute") || type.contains("소프트") || type.contains("soft")) {
-            return "뮤트";
-        } else if (type.contains("딥") || type.contains("deep") || type.contains("다크") || type.contains("dark")) {
-            return "딥";
-        } else if (type.contains("웜") || type.contains("warm")) {
-            return "웜";
-        } else if (type.contains("쿨") || type.contains("cool")) {
-            return "쿨";
-        }
-
-        return "알 수 없음";
-    }
-
-    /**
-     * AI 서버 상태 확인
+     * AI 서버 상태 확인 (진단용 - 추천 요청 경로에서는 회로 차단기 사용)
      */
     public boolean isAIServerHealthy() {
         try {
             ResponseEntity<String> response = restTemplate.getForEntity(
-                    AI_SERVER_URL + "/health",
+                    aiServerUrl + "/health",
                     String.class
             );
             return response.getStatusCode().is2xxSuccessful();
         } catch (Exception e) {
-            System.err.println("AI 서버 상태 확인 실패: " + e.getMessage());
+            log.warn("AI 서버 상태 확인 실패: {}", e.getMessage());
             return false;
         }
     }
 
+    @Override
+    public void destroy() {
+        batcher.close();
+        cache.close();
+    }
+
     /**
-     * 색상 분석 결과 클래스
+     * 색상 분석 결과 (불변)
+     * - 카탈로그 전체 결과를 메모리에 들고 있으므로 작게 유지
+     * - 퍼스널 컬러 라벨은 공유 인스턴스 + 파싱한 코드, 대표 색상은 0xRRGGBB 정수 배열로 보관
+     * - 근거(reason)는 선택 항목 (색인에 보관하는 결과는 withoutReason() 으로 버림)
      */
-    public static class ColorAnalysisResult {
-        private String personalColor;
-        private int confidence;
-        private String reason;
-        private List<String> dominantColors;
+    public static final class ColorAnalysisResult {
+        static final String FALLBACK_REASON = "AI 분석 실패";
+        static final String LOCAL_REASON = "로컬 색상 추정 (AI 서버 차단 중)";
+
+        private static final byte FLAG_FALLBACK = 1;
+        private static final byte FLAG_LOCAL = 2;
+        private static final int[] NO_COLORS = new int[0];
+
+        // 라벨 공유 테이블 (AI 응답이 자유 형식이라 상한을 둠, 넘치면 공유하지 않을 뿐)
+        private static final int MAX_LABELS = 1024;
+        private static final Map<String, String> LABELS = new ConcurrentHashMap<>();
+
+        private final String personalColor;
+        private final String reason;
+        private final int[] dominantRgb;
+        private final int confidence;
+        private final byte personalColorCode;
+        private final byte flags;
 
         public ColorAnalysisResult(String personalColor, int confidence, String reason, List<String> dominantColors) {
-            this.personalColor = personalColor;
+            this(personalColor, confidence, reason, packColors(dominantColors));
+        }
+
+        ColorAnalysisResult(String personalColor, int confidence, String reason, int[] dominantRgb) {
+            this.personalColor = label(personalColor);
+            this.personalColorCode = (byte) PersonalColor.of(this.personalColor).getCode();
             this.confidence = confidence;
-            this.reason = reason;
-            this.dominantColors = dominantColors;
+            this.dominantRgb = dominantRgb.length == 0 ? NO_COLORS : dominantRgb;
+            if (LOCAL_REASON.equals(reason)) {
+                this.reason = LOCAL_REASON;
+                this.flags = FLAG_LOCAL;
+            } else if (FALLBACK_REASON.equals(reason)) {
+                this.reason = FALLBACK_REASON;
+                this.flags = confidence == 0 ? FLAG_FALLBACK : 0;
+            } else {
+                this.reason = reason == null || reason.isEmpty() ? null : reason;
+                this.flags = 0;
+            }
+        }
+
+        private ColorAnalysisResult(ColorAnalysisResult source) {
+            this.personalColor = source.personalColor;
+            this.personalColorCode = source.personalColorCode;
+            this.confidence = source.confidence;
+            this.dominantRgb = source.dominantRgb;
+            this.flags = source.flags;
+            this.reason = null;
         }
 
         // Getters
         public String getPersonalColor() { return personalColor; }
         public int getConfidence() { return confidence; }
-        public String getReason() { return reason; }
-        public List<String> getDominantColors() { return dominantColors; }
+
+        /**
+         * 분석 근거 (버린 경우 빈 문자열)
+         */
+        public String getReason() { return reason != null ? reason : ""; }
+
+        /**
+         * 대표 색상 "#RRGGBB" 목록 (호출할 때마다 정수 배열에서 생성)
+         */
+        public List<String> getDominantColors() {
+            List<String> colors = new ArrayList<>(dominantRgb.length);
+            for (int rgb : dominantRgb) {
+                colors.add(toHex(rgb));
+            }
+            return colors;
+        }
+
+        /**
+         * 대표 색상 0xRRGGBB 값 (복사본)
+         */
+        public int[] getDominantRgb() { return dominantRgb.clone(); }
+
+        // 점수 계산용 (복사하지 않음, 수정 금지)
+        int[] dominantRgbArray() { return dominantRgb; }
+
+        /**
+         * PersonalColor 코드 (라벨을 다시 파싱하지 않고 호환성 판단에 사용)
+         */
+        public int getPersonalColorCode() { return personalColorCode; }
+
+        /**
+         * AI 분석 결과가 아닌 대체 결과인지 여부 (분석 실패 기본값, 회로 차단 중 로컬 추정)
+         */
+        public boolean isFallback() {
+            return flags != 0;
+        }
+
+        /**
+         * 근거를 뺀 결과 (오래 보관하는 색인용, 근거가 없으면 그대로 반환)
+         */
+        public ColorAnalysisResult withoutReason() {
+            return reason == null || flags != 0 ? this : new ColorAnalysisResult(this);
+        }
+
+        private static String label(String personalColor) {
+            if (personalColor == null) {
+                personalColor = AIResponseDecoder.UNKNOWN_COLOR;
+            }
+            String shared = LABELS.get(personalColor);
+            if (shared != null) {
+                return shared;
+            }
+            if (LABELS.size() < MAX_LABELS) {
+                shared = LABELS.putIfAbsent(personalColor, personalColor);
+            }
+            return shared != null ? shared : personalColor;
+        }
+
+        /**
+         * "#RRGGBB" / "RRGGBB" / "#RGB" 문자열 목록을 정수 배열로 변환 (해석할 수 없는 값은 제외)
+         */
+        static int[] packColors(List<String> colors) {
+            if (colors == null || colors.isEmpty()) {
+                return NO_COLORS;
+            }
+            int[] packed = new int[colors.size()];
+            int count = 0;
+            for (String color : colors) {
+                int rgb = color == null ? -1 : parseHex(color, 0, color.length());
+                if (rgb >= 0) {
+                    packed[count++] = rgb;
+                }
+            }
+            return count == packed.length ? packed : Arrays.copyOf(packed, count);
+        }
+
+        /**
+         * 16진수 색상 해석 (실패시 -1)
+         */
+        static int parseHex(CharSequence text, int offset, int length) {
+            int end = offset + length;
+            while (offset < end && Character.isWhitespace(text.charAt(offset))) offset++;
+            while (end > offset && Character.isWhitespace(text.charAt(end - 1))) end--;
+            if (offset < end && text.charAt(offset) == '#') {
+                offset++;
+            }
+            int digits = end - offset;
+            if (digits != 6 && digits != 3) {
+                return -1;
+            }
+            int rgb = 0;
+            for (int i = offset; i < end; i++) {
+                int d = Character.digit(text.charAt(i), 16);
+                if (d < 0) {
+                    return -1;
+                }
+                rgb = digits == 6 ? (rgb << 4) | d : (rgb << 8) | (d << 4) | d;
+            }
+            return rgb;
+        }
+
+        private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+        static String toHex(int rgb) {
+            char[] chars = new char[7];
+            chars[0] = '#';
+            for (int i = 6; i >= 1; i--) {
+                chars[i] = HEX[rgb & 0xF];
+                rgb >>>= 4;
+            }
+            return new String(chars);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,234 @@
+package com.mywork.recom;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.CharBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * AI 서버 응답 스트리밍 디코더
+ * - 응답 본문을 String / JsonNode 트리로 만들지 않고 JsonParser 토큰을 바로 ColorAnalysisResult 로 변환
+ * - 퍼스널 컬러 라벨은 반복되므로 파서 버퍼와 직접 비교해 같은 String 인스턴스 재사용
+ * - 대표 색상 hex 값은 String 을 만들지 않고 파서 버퍼에서 바로 0xRRGGBB 정수로 변환
+ * - 모르는 필드(비전 모델이 추가한 값 등)는 통째로 건너뜀
+ * 스레드 안전 (JsonFactory 공유, 파서는 호출마다 생성)
+ */
+final class AIResponseDecoder {
+
+    static final String UNKNOWN_COLOR = "알 수 없음";
+    static final String NO_REASON = "분석 결과 없음";
+
+    private static final int[] NO_COLORS = new int[0];
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final Interner labels = new Interner(64);
+
+    /**
+     * 단건 응답 (/analyze-color) 디코딩
+     */
+    AIColorService.ColorAnalysisResult decode(InputStream body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            return readResult(parser);
+        }
+    }
+
+    AIColorService.ColorAnalysisResult decode(String json) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            return readResult(parser);
+        }
+    }
+
+    /**
+     * 일괄 응답 (/analyze-colors) 디코딩
+     * results 배열 순서 = 요청 순서, error 가 있거나 빠진 항목은 null
+     */
+    List<AIColorService.ColorAnalysisResult> decodeBatch(InputStream body, int expected) throws IOException {
+        List<AIColorService.ColorAnalysisResult> results = new ArrayList<>(expected);
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if ("results".equals(field) && value == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        if (parser.currentToken() == JsonToken.START_OBJECT) {
+                            results.add(readResult(parser));
+                        } else {
+                            parser.skipChildren();
+                            results.add(null);
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        while (results.size() < expected) {
+            results.add(null);
+        }
+        return results;
+    }
+
+    /**
+     * START_OBJECT 다음부터 END_OBJECT 까지 읽어 결과 생성 (error 필드가 있으면 null)
+     */
+    private AIColorService.ColorAnalysisResult readResult(JsonParser parser) throws IOException {
+        String personalColor = UNKNOWN_COLOR;
+        int confidence = 0;
+        String reason = NO_REASON;
+        int[] dominantRgb = NO_COLORS;
+        boolean error = false;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "personal_color":
+                    personalColor = value.isScalarValue() ? labels.intern(parser) : skip(parser);
+                    break;
+                case "confidence":
+                    if (value.isNumeric()) {
+                        confidence = parser.getValueAsInt();
+                    } else {
+                        confidence = value.isScalarValue() ? parseInt(parser.getText()) : 0;
+                        parser.skipChildren();
+                    }
+                    break;
+                case "reason":
+                    reason = value.isScalarValue() ? parser.getText() : skip(parser);
+                    break;
+                case "dominant_colors":
+                    if (value == JsonToken.START_ARRAY) {
+                        dominantRgb = readColors(parser);
+                    } else {
+                        parser.skipChildren();
+                    }
+                    break;
+                case "error":
+                    error = true;
+                    parser.skipChildren();
+                    break;
+                default:
+                    // 모르는 필드 / 중첩 값은 통째로 건너뜀
+                    parser.skipChildren();
+            }
+        }
+        if (error) {
+            return null;
+        }
+        return new AIColorService.ColorAnalysisResult(personalColor, confidence, reason, dominantRgb);
+    }
+
+    /**
+     * dominant_colors 배열을 0xRRGGBB 정수 배열로 (해석할 수 없는 값은 제외)
+     */
+    private static int[] readColors(JsonParser parser) throws IOException {
+        int[] colors = new int[8];
+        int count = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() != JsonToken.VALUE_STRING) {
+                parser.skipChildren();
+                continue;
+            }
+            int rgb = AIColorService.ColorAnalysisResult.parseHex(
+                    CharBuffer.wrap(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength()),
+                    0, parser.getTextLength());
+            if (rgb >= 0) {
+                if (count == colors.length) {
+                    colors = Arrays.copyOf(colors, count * 2);
+                }
+                colors[count++] = rgb;
+            }
+        }
+        return count == 0 ? NO_COLORS : Arrays.copyOf(colors, count);
+    }
+
+    /**
+     * 객체 / 배열 값은 건너뛰고 빈 문자열로 취급 (JsonNode.asText() 와 같은 결과)
+     */
+    private static String skip(JsonParser parser) throws IOException {
+        parser.skipChildren();
+        return "";
+    }
+
+    private static int parseInt(String text) {
+        if (text == null) {
+            return 0;
+        }
+        try {
+            return (int) Double.parseDouble(text.trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new JsonParseException(null, "AI 응답 형식 오류: " + expected + " 필요, " + actual + " 수신");
+        }
+    }
+
+    /**
+     * 파서의 현재 문자열 토큰을 고정 크기 테이블에서 찾아 같은 String 인스턴스 반환
+     * - 적중시 문자열을 새로 만들지 않음, 충돌시 마지막 값으로 교체 (동시 접근시 최악의 경우 중복 생성일 뿐)
+     */
+    static final class Interner {
+        private final Entry[] table;
+        private final int mask;
+
+        Interner(int capacity) {
+            int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+            this.table = new Entry[size];
+            this.mask = size - 1;
+        }
+
+        String intern(JsonParser parser) throws IOException {
+            char[] chars = parser.getTextCharacters();
+            int offset = parser.getTextOffset();
+            int length = parser.getTextLength();
+            int hash = 0;
+            for (int i = 0; i < length; i++) {
+                hash = 31 * hash + chars[offset + i];
+            }
+            int slot = (hash ^ (hash >>> 16)) & mask;
+            Entry entry = table[slot];
+            if (entry != null && entry.hash == hash && entry.matches(chars, offset, length)) {
+                return entry.value;
+            }
+            String value = new String(chars, offset, length);
+            table[slot] = new Entry(hash, value);
+            return value;
+        }
+
+        private static final class Entry {
+            final int hash;
+            final String value;
+
+            Entry(int hash, String value) {
+                this.hash = hash;
+                this.value = value;
+            }
+
+            boolean matches(char[] chars, int offset, int length) {
+                if (value.length() != length) {
+                    return false;
+                }
+                for (int i = 0; i < length; i++) {
+                    if (value.charAt(i) != chars[offset + i]) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.mywork.recom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AI 서버 회로 차단기
+ * - 최근 N회 호출(슬라이딩 윈도우)의 실패율 / 느린 호출 비율이 기준을 넘으면 OPEN
+ * - OPEN 동안에는 AI 호출 없이 바로 거절 → 호출 측은 캐시 / 로컬 추정으로 대체
+ * - 대기 시간이 지나면 HALF_OPEN 으로 전환해 소수의 시험 호출만 허용, 결과에 따라 CLOSED / OPEN
+ */
+@Component
+public class AIServerCircuitBreaker {
+
+    private static final Logger log = LoggerFactory.getLogger(AIServerCircuitBreaker.class);
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    // 윈도우 기록 값
+    private static final byte OK = 0;
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    private final int windowSize;
+    private final int minCalls;
+    private final int failureRateThreshold;
+    private final long slowCallNanos;
+    private final int slowCallRateThreshold;
+    private final long openNanos;
+    private final int halfOpenPermits;
+
+    // 호출 결과 링 버퍼 (모든 접근은 this 동기화)
+    private final byte[] window;
+    private int windowPos = 0;
+    private int recorded = 0;
+    private int failures = 0;
+    private int slowCalls = 0;
+
+    private volatile State state = State.CLOSED;
+    private long stateChangedAt = System.nanoTime();
+    private int halfOpenIssued = 0;
+    private int halfOpenCompleted = 0;
+    private int halfOpenFailures = 0;
+
+    private long rejected = 0;
+
+    public AIServerCircuitBreaker(@Value("${ai.circuit.window-size:20}") int windowSize,
+                                  @Value("${ai.circuit.min-calls:10}") int minCalls,
+                                  @Value("${ai.circuit.failure-rate-threshold:50}") int failureRateThreshold,
+                                  @Value("${ai.circuit.slow-call-ms:10000}") long slowCallMillis,
+                                  @Value("${ai.circuit.slow-call-rate-threshold:80}") int slowCallRateThreshold,
+                                  @Value("${ai.circuit.open-ms:30000}") long openMillis,
+                                  @Value("${ai.circuit.half-open-permits:3}") int halfOpenPermits) {
+        this.windowSize = Math.max(1, windowSize);
+        this.minCalls = Math.max(1, Math.min(minCalls, this.windowSize));
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMillis);
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+        this.halfOpenPermits = Math.max(1, halfOpenPermits);
+        this.window = new byte[this.windowSize];
+    }
+
+    /**
+     * AI 호출 허용 여부 (false 면 호출하지 말고 대체 결과 사용)
+     */
+    public synchronized boolean tryAcquirePermission() {
+        long now = System.nanoTime();
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (now - stateChangedAt >= openNanos) {
+                    transition(State.HALF_OPEN, now);
+                    halfOpenIssued++;
+                    return true;
+                }
+                rejected++;
+                return false;
+            default:
+                if (halfOpenIssued < halfOpenPermits) {
+                    halfOpenIssued++;
+                    return true;
+                }
+                // 시험 호출 결과가 오지 않은 채 오래 지났으면 다시 시험
+                if (now - stateChangedAt >= openNanos) {
+                    transition(State.HALF_OPEN, now);
+                    halfOpenIssued++;
+                    return true;
+                }
+                rejected++;
+                return false;
+        }
+    }
+
+    public void onSuccess(long durationNanos) {
+        record(false, durationNanos);
+    }
+
+    public void onError(long durationNanos) {
+        record(true, durationNanos);
+    }
+
+    private synchronized void record(boolean failed, long durationNanos) {
+        boolean slow = durationNanos >= slowCallNanos;
+        long now = System.nanoTime();
+
+        if (state == State.HALF_OPEN) {
+            halfOpenCompleted++;
+            if (failed || slow) {
+                halfOpenFailures++;
+            }
+            if (halfOpenFailures > 0) {
+                log.warn("AI 서버 시험 호출 실패 - 회로 다시 차단");
+                transition(State.OPEN, now);
+            } else if (halfOpenCompleted >= halfOpenPermits) {
+                log.info("AI 서버 시험 호출 성공 - 회로 복구");
+                transition(State.CLOSED, now);
+            }
+            return;
+        }
+
+        // OPEN 중에 뒤늦게 끝난 호출도 윈도우에는 반영
+        byte outcome = (byte) ((failed ? FAILED : OK) | (slow ? SLOW : OK));
+        if (recorded == windowSize) {
+            byte evicted = window[windowPos];
+            if ((evicted & FAILED) != 0) failures--;
+            if ((evicted & SLOW) != 0) slowCalls--;
+        } else {
+            recorded++;
+        }
+        window[windowPos] = outcome;
+        windowPos = (windowPos + 1) % windowSize;
+        if ((outcome & FAILED) != 0) failures++;
+        if ((outcome & SLOW) != 0) slowCalls++;
+
+        if (state == State.CLOSED && recorded >= minCalls) {
+            int failureRate = failures * 100 / recorded;
+            int slowRate = slowCalls * 100 / recorded;
+            if (failureRate >= failureRateThreshold || slowRate >= slowCallRateThreshold) {
+                log.warn("AI 서버 회로 차단 - 실패율 {}%, 느린 호출 {}% (최근 {}회)", failureRate, slowRate, recorded);
+                transition(State.OPEN, now);
+            }
+        }
+    }
+
+    private void transition(State next, long now) {
+        state = next;
+        stateChangedAt = now;
+        halfOpenIssued = 0;
+        halfOpenCompleted = 0;
+        halfOpenFailures = 0;
+        if (next == State.CLOSED) {
+            // 복구 후에는 과거 실패 기록으로 다시 차단되지 않도록 초기화
+            recorded = 0;
+            windowPos = 0;
+            failures = 0;
+            slowCalls = 0;
+        }
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * 회로가 열려 있어 AI 호출을 거절 중인지 (상태 전환 없이 조회만)
+     */
+    public boolean isOpen() {
+        return state == State.OPEN;
+    }
+
+    public synchronized long getRejectedCount() {
+        return rejected;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%s (최근 %d회: 실패 %d, 느린 호출 %d, 거절 누적 %d)",
+                state, recorded, failures, slowCalls, rejected);
+    }
+
+    /**
+     * 회로가 열려 있어 AI 호출을 생략했음을 나타내는 예외
+     */
+    public static class OpenException extends IllegalStateException {
+        private static final long serialVersionUID = 1L;
+
+        public OpenException() {
+            super("AI 서버 회로 차단 중");
+        }
+    }
+}
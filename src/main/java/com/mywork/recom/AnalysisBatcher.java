@@ -0,0 +1,142 @@
+package com.mywork.recom;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 이미지 분석 요청 묶음 처리기
+ * - 여러 사용자/스레드에서 들어온 요청을 모아 한 번의 일괄 호출로 전송
+ * - batchSize 만큼 모이면 즉시, 아니면 flushIntervalMillis 후 전송
+ * - 일괄 호출 결과 중 null 인 항목만 실패 처리 (나머지 항목은 정상 완료)
+ */
+public class AnalysisBatcher<R> implements AutoCloseable {
+
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final Function<List<String>, List<R>> batchCall;
+
+    private final ScheduledExecutorService timer;
+    private final ExecutorService sender;
+
+    // this 모니터로 보호
+    private List<Pending<R>> pending = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    public AnalysisBatcher(int batchSize, long flushIntervalMillis, int maxInFlightBatches,
+                           Function<List<String>, List<R>> batchCall) {
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMillis = Math.max(0, flushIntervalMillis);
+        this.batchCall = batchCall;
+
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "analysis-batch-timer");
+            t.setDaemon(true);
+            return t;
+        });
+        AtomicInteger seq = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(Math.max(1, maxInFlightBatches), r -> {
+            Thread t = new Thread(r, "analysis-batch-sender-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * 분석 대상 등록 (결과는 일괄 호출 완료 후 전달)
+     */
+    public CompletableFuture<R> submit(String imageUrl) {
+        Pending<R> item = new Pending<>(imageUrl);
+        List<Pending<R>> ready = null;
+        synchronized (this) {
+            pending.add(item);
+            if (pending.size() >= batchSize) {
+                ready = drain();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = timer.schedule(this::flush, flushIntervalMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (ready != null) {
+            send(ready);
+        }
+        return item.future;
+    }
+
+    /**
+     * 대기 중인 요청을 즉시 전송
+     */
+    public void flush() {
+        List<Pending<R>> ready;
+        synchronized (this) {
+            ready = drain();
+        }
+        if (!ready.isEmpty()) {
+            send(ready);
+        }
+    }
+
+    private List<Pending<R>> drain() {
+        List<Pending<R>> ready = pending;
+        pending = new ArrayList<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return ready;
+    }
+
+    private void send(List<Pending<R>> items) {
+        for (int from = 0; from < items.size(); from += batchSize) {
+            List<Pending<R>> chunk = items.subList(from, Math.min(from + batchSize, items.size()));
+            try {
+                sender.execute(() -> call(chunk));
+            } catch (RejectedExecutionException e) {
+                chunk.forEach(p -> p.future.completeExceptionally(e));
+            }
+        }
+    }
+
+    private void call(List<Pending<R>> chunk) {
+        List<String> urls = new ArrayList<>(chunk.size());
+        for (Pending<R> p : chunk) {
+            urls.add(p.imageUrl);
+        }
+
+        try {
+            List<R> results = batchCall.apply(urls);
+            for (int i = 0; i < chunk.size(); i++) {
+                R result = i < results.size() ? results.get(i) : null;
+                if (result != null) {
+                    chunk.get(i).future.complete(result);
+                } else {
+                    chunk.get(i).future.completeExceptionally(
+                            new IllegalStateException("일괄 분석 항목 실패: " + chunk.get(i).imageUrl));
+                }
+            }
+        } catch (Throwable e) {
+            // 일괄 호출 자체가 실패하면 묶음 전체 실패 (이미 완료된 항목은 그대로)
+            // Error 도 전달해야 대기 중인 호출자가 타임아웃까지 기다리지 않음
+            chunk.forEach(p -> p.future.completeExceptionally(e));
+            if (e instanceof Error) {
+                throw (Error) e;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+        sender.shutdownNow();
+    }
+
+    private static final class Pending<R> {
+        final String imageUrl;
+        final CompletableFuture<R> future = new CompletableFuture<>();
+
+        Pending(String imageUrl) {
+            this.imageUrl = imageUrl;
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.mywork.recom;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 색상 분석 결과 캐시
+ * - 항목 수 상한 + LRU 제거
+ * - TTL 만료 항목은 백그라운드에서 주기적으로 정리
+ * - 같은 키에 대한 동시 로딩은 한 번만 수행 (single-flight)
+ * - 적중/미스/제거 통계 제공
+ */
+public class AnalysisCache<V> implements AutoCloseable {
+
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    // 접근 순서 LinkedHashMap (LRU), 모든 접근은 map 모니터로 동기화
+    private final LinkedHashMap<String, Entry<V>> map;
+    private final ConcurrentHashMap<String, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService sweeper;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+
+    public AnalysisCache(int maxEntries, long ttlMillis) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.ttlMillis = ttlMillis;
+        this.map = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+                if (size() > AnalysisCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "analysis-cache-sweeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, Math.min(ttlMillis, TimeUnit.MINUTES.toMillis(1)));
+        sweeper.scheduleWithFixedDelay(this::removeExpired, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 캐시 조회 (없거나 만료되었으면 null)
+     */
+    public V get(String key) {
+        long now = System.currentTimeMillis();
+        synchronized (map) {
+            Entry<V> entry = map.get(key);
+            if (entry != null && entry.expiresAt > now) {
+                hits.incrementAndGet();
+                return entry.value;
+            }
+            if (entry != null) {
+                map.remove(key);
+                expirations.incrementAndGet();
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * 캐시에 저장
+     */
+    public void put(String key, V value) {
+        Entry<V> entry = new Entry<>(value, System.currentTimeMillis() + ttlMillis);
+        synchronized (map) {
+            map.put(key, entry);
+        }
+    }
+
+    /**
+     * 캐시에서 제거
+     */
+    public void remove(String key) {
+        synchronized (map) {
+            map.remove(key);
+        }
+    }
+
+    /**
+     * 캐시 조회 후 없으면 로딩 (같은 키의 동시 요청은 하나의 로딩 결과를 공유)
+     * 로더가 예외를 던지면 캐시하지 않고 대기 중인 모든 호출자에게 예외 전달
+     */
+    public V getOrLoad(String key, Callable<V> loader) throws Exception {
+        V cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            // 대기 중에 다른 로더가 막 끝났을 수 있으므로 한번 더 확인
+            V value = peek(key);
+            if (value == null) {
+                loads.incrementAndGet();
+                value = loader.call();
+                if (value != null) {
+                    put(key, value);
+                }
+            }
+            future.complete(value);
+            return value;
+        } catch (Throwable e) {
+            // Error 도 전달해야 대기 중인 호출자가 영원히 기다리지 않음
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * 비동기 버전의 getOrLoad (일괄 분석 등 결과가 나중에 도착하는 로더용)
+     * 로더는 같은 키에 대해 동시에 한 번만 호출됨
+     */
+    public CompletableFuture<V> getOrLoadAsync(String key, Function<String, CompletableFuture<V>> loader) {
+        V cached = get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return existing;
+        }
+
+        // get 과 putIfAbsent 사이에 다른 로딩이 끝나 캐시에 들어갔을 수 있으므로 한번 더 확인
+        V loaded = peek(key);
+        if (loaded != null) {
+            inFlight.remove(key, future);
+            future.complete(loaded);
+            return future;
+        }
+
+        loads.incrementAndGet();
+        CompletableFuture<V> loading;
+        try {
+            loading = loader.apply(key);
+        } catch (Throwable e) {
+            loading = CompletableFuture.failedFuture(e);
+        }
+
+        loading.whenComplete((value, error) -> {
+            // 캐시에 먼저 넣은 뒤 inFlight 에서 제거해야 중복 로딩 틈이 생기지 않음
+            if (error == null && value != null) {
+                put(key, value);
+            }
+            inFlight.remove(key, future);
+            if (error != null) {
+                future.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error);
+            } else {
+                future.complete(value);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * 통계 / 만료 처리 없이 유효한 값만 확인 (로딩 직전 재확인용)
+     */
+    private V peek(String key) {
+        synchronized (map) {
+            Entry<V> entry = map.get(key);
+            return entry != null && entry.expiresAt > System.currentTimeMillis() ? entry.value : null;
+        }
+    }
+
+    private V await(CompletableFuture<V> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 만료된 항목 정리 (백그라운드 주기 실행)
+     */
+    void removeExpired() {
+        long now = System.currentTimeMillis();
+        synchronized (map) {
+            Iterator<Entry<V>> it = map.values().iterator();
+            while (it.hasNext()) {
+                if (it.next().expiresAt <= now) {
+                    it.remove();
+                    expirations.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (map) {
+            return map.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (map) {
+            map.clear();
+        }
+    }
+
+    public Stats getStats() {
+        return new Stats(hits.get(), misses.get(), evictions.get(), expirations.get(), loads.get(), size(), maxEntries);
+    }
+
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+    }
+
+    private static final class Entry<V> {
+        final V value;
+        final long expiresAt;
+
+        Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * 캐시 통계 스냅샷
+     */
+    public static class Stats {
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long expirations;
+        private final long loads;
+        private final int size;
+        private final int maxEntries;
+
+        public Stats(long hits, long misses, long evictions, long expirations, long loads, int size, int maxEntries) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.expirations = expirations;
+            this.loads = loads;
+            this.size = size;
+            this.maxEntries = maxEntries;
+        }
+
+        public double getHitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+
+        // Getters
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getEvictions() { return evictions; }
+        public long getExpirations() { return expirations; }
+        public long getLoads() { return loads; }
+        public int getSize() { return size; }
+        public int getMaxEntries() { return maxEntries; }
+
+        @Override
+        public String toString() {
+            return "size=" + size + "/" + maxEntries
+                    + ", hits=" + hits
+                    + ", misses=" + misses
+                    + ", hitRate=" + String.format("%.1f", getHitRate() * 100) + "%"
+                    + ", evictions=" + evictions
+                    + ", expirations=" + expirations
+                    + ", loads=" + loads;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.mywork.recom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 카테고리 상품 백그라운드 크롤러
+ * - 설정된 카테고리를 주기적으로 수집
+ * - 새로 추가되었거나 이미지가 바뀐 상품만 AI 분석
+ * - 분석 결과로 퍼스널 컬러별 추천 색인(ProductColorIndex)과 대표 색상 색인(PaletteIndex)을 갱신
+ */
+@Component
+public class CatalogCrawler implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogCrawler.class);
+
+    private final HomeService homeService;
+    private final ColorAnalysisExecutor colorAnalysisExecutor;
+    private final ProductColorIndex productColorIndex;
+    private final PaletteIndex paletteIndex;
+
+    private final List<String> categoryUrls;
+    private final int productLimit;
+    private final boolean enabled;
+
+    // 카테고리 URL → (상품 링크 → 마지막 분석 결과)
+    private final Map<String, Map<String, AnalyzedProduct>> analyzed = new ConcurrentHashMap<>();
+    // 카테고리 URL → 마지막으로 수집한 상품 목록 (카탈로그 순서, 스냅샷용)
+    private final Map<String, List<ProductDTO>> crawledProducts = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    public CatalogCrawler(HomeService homeService,
+                          ColorAnalysisExecutor colorAnalysisExecutor,
+                          ProductColorIndex productColorIndex,
+                          PaletteIndex paletteIndex,
+                          @Value("${crawler.enabled:true}") boolean enabled,
+                          @Value("${crawler.category-urls:" + HomeService.DEFAULT_CATEGORY_URL + "}") String categoryUrls,
+                          @Value("${crawler.product-limit:60}") int productLimit,
+                          @Value("${crawler.initial-delay-seconds:10}") long initialDelaySeconds,
+                          @Value("${crawler.interval-minutes:30}") long intervalMinutes) {
+        this.homeService = homeService;
+        this.colorAnalysisExecutor = colorAnalysisExecutor;
+        this.productColorIndex = productColorIndex;
+        this.paletteIndex = paletteIndex;
+        this.productLimit = productLimit;
+        this.enabled = enabled;
+
+        List<String> urls = new ArrayList<>();
+        for (String url : categoryUrls.split(",")) {
+            if (!url.isBlank()) {
+                urls.add(url.trim());
+            }
+        }
+        this.categoryUrls = Collections.unmodifiableList(urls);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "catalog-crawler");
+            t.setDaemon(true);
+            return t;
+        });
+        if (enabled) {
+            scheduler.scheduleWithFixedDelay(this::crawlAll,
+                    initialDelaySeconds, TimeUnit.MINUTES.toSeconds(intervalMinutes), TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * 크롤링 스레드에서 즉시 한 번 실행 (주기 실행과 겹치지 않음)
+     */
+    public Future<?> crawlNow() {
+        return scheduler.submit(this::crawlAll);
+    }
+
+    /**
+     * 설정된 모든 카테고리 크롤링
+     */
+    public void crawlAll() {
+        for (String categoryUrl : categoryUrls) {
+            try {
+                crawlCategory(categoryUrl);
+            } catch (Exception e) {
+                // 예외가 밖으로 나가면 스케줄이 중단되므로 여기서 처리
+                log.error("카테고리 크롤링 실패: {}", categoryUrl, e);
+            }
+        }
+    }
+
+    /**
+     * 카테고리 하나를 수집/분석 후 색인 갱신
+     */
+    public void crawlCategory(String categoryUrl) {
+        long startTime = System.currentTimeMillis();
+        List<ProductDTO> products = homeService.getProductListLimited(categoryUrl, productLimit);
+        if (products.isEmpty()) {
+            log.warn("크롤링 결과 없음, 기존 색인 유지: {}", categoryUrl);
+            return;
+        }
+
+        Map<String, AnalyzedProduct> previous = analyzed.getOrDefault(categoryUrl, Collections.emptyMap());
+        Map<String, AnalyzedProduct> current = new HashMap<>();
+
+        // 새 상품 / 이미지가 바뀐 상품만 분석 대상
+        List<ProductDTO> changed = new ArrayList<>();
+        for (ProductDTO product : products) {
+            AnalyzedProduct known = previous.get(product.getProductLink());
+            if (known != null && known.product.sameImage(product)) {
+                current.put(product.getProductLink(), known);
+            } else {
+                changed.add(product);
+            }
+        }
+
+        List<AIColorService.ColorAnalysisResult> results = colorAnalysisExecutor.analyzeAll(changed);
+        for (int i = 0; i < changed.size(); i++) {
+            AIColorService.ColorAnalysisResult result = results.get(i);
+            // 분석 실패 상품은 기록하지 않아 다음 주기에 다시 분석
+            if (result != null && !result.isFallback()) {
+                ProductDTO product = changed.get(i);
+                current.put(product.getProductLink(), new AnalyzedProduct(product, result));
+                paletteIndex.put(product, result.dominantRgbArray());
+            }
+        }
+        analyzed.put(categoryUrl, current);
+        removeDropped(categoryUrl, previous, current);
+        crawledProducts.put(categoryUrl, Collections.unmodifiableList(new ArrayList<>(products)));
+        publish(categoryUrl, products, current, System.currentTimeMillis());
+
+        log.info("카테고리 색인 갱신: {} (상품 {}개, 신규 분석 {}개, {}ms)",
+                categoryUrl, products.size(), changed.size(), System.currentTimeMillis() - startTime);
+    }
+
+    /**
+     * 스냅샷에서 복원한 카테고리 상태로 색인 구성 (다음 크롤링은 바뀐 상품만 분석)
+     */
+    public void restore(String categoryUrl, List<ProductDTO> products,
+                        Map<String, AIColorService.ColorAnalysisResult> resultsByLink, long updatedAt) {
+        Map<String, AnalyzedProduct> current = new HashMap<>();
+        for (ProductDTO product : products) {
+            AIColorService.ColorAnalysisResult result = resultsByLink.get(product.getProductLink());
+            if (result != null) {
+                current.put(product.getProductLink(), new AnalyzedProduct(product, result));
+                paletteIndex.put(product, result.dominantRgbArray());
+            }
+        }
+        analyzed.put(categoryUrl, current);
+        crawledProducts.put(categoryUrl, Collections.unmodifiableList(new ArrayList<>(products)));
+        publish(categoryUrl, products, current, updatedAt);
+    }
+
+    /**
+     * 카테고리에서 빠진 상품을 대표 색상 색인에서 제거 (다른 카테고리에 남아 있는 상품은 유지)
+     */
+    private void removeDropped(String categoryUrl, Map<String, AnalyzedProduct> previous, Map<String, AnalyzedProduct> current) {
+        for (String link : previous.keySet()) {
+            if (current.containsKey(link)) {
+                continue;
+            }
+            boolean elsewhere = false;
+            for (Map.Entry<String, Map<String, AnalyzedProduct>> other : analyzed.entrySet()) {
+                if (!other.getKey().equals(categoryUrl) && other.getValue().containsKey(link)) {
+                    elsewhere = true;
+                    break;
+                }
+            }
+            if (!elsewhere) {
+                paletteIndex.remove(link);
+            }
+        }
+    }
+
+    /**
+     * 사용자 퍼스널 컬러별 호환 상품 목록 (추천 점수 내림차순, 같은 점수는 카탈로그 순서)으로 색인 교체
+     */
+    private void publish(String categoryUrl, List<ProductDTO> products, Map<String, AnalyzedProduct> current, long updatedAt) {
+        List<AnalyzedProduct> known = new ArrayList<>(products.size());
+        for (ProductDTO product : products) {
+            AnalyzedProduct analyzedProduct = current.get(product.getProductLink());
+            if (analyzedProduct != null) {
+                known.add(analyzedProduct);
+            }
+        }
+        Map<String, List<ProductDTO>> byPersonalColor = new HashMap<>();
+        for (int personal = 1; personal <= PersonalColor.selectableCount(); personal++) {
+            String personalColor = PersonalColor.selectableLabel(personal);
+            ColorAffinity affinity = ColorAffinity.of(personalColor);
+            // 색인은 전체 순위가 필요하므로 (크기 제한 없는 힙 대신) 점수를 매긴 뒤 안정 정렬
+            List<ProductDTO> matches = new ArrayList<>();
+            List<Double> scores = new ArrayList<>();
+            for (AnalyzedProduct candidate : known) {
+                double score = affinity.score(candidate.result);
+                if (score != ColorAffinity.INCOMPATIBLE) {
+                    matches.add(candidate.product);
+                    scores.add(score);
+                }
+            }
+            Integer[] order = new Integer[matches.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(scores.get(b), scores.get(a)));
+            List<ProductDTO> ranked = new ArrayList<>(order.length);
+            for (Integer i : order) {
+                ranked.add(matches.get(i));
+            }
+            byPersonalColor.put(personalColor, Collections.unmodifiableList(ranked));
+        }
+        productColorIndex.update(categoryUrl, Collections.unmodifiableMap(byPersonalColor), products.size(), updatedAt);
+    }
+
+    /**
+     * 마지막으로 수집한 상품 목록 (아직 없으면 빈 목록)
+     */
+    public List<ProductDTO> getCrawledProducts(String categoryUrl) {
+        return crawledProducts.getOrDefault(categoryUrl, Collections.emptyList());
+    }
+
+    /**
+     * 상품의 마지막 분석 결과 (없으면 null)
+     */
+    public AIColorService.ColorAnalysisResult getAnalysis(String categoryUrl, String productLink) {
+        AnalyzedProduct known = analyzed.getOrDefault(categoryUrl, Collections.emptyMap()).get(productLink);
+        return known == null ? null : known.result;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public List<String> getCategoryUrls() {
+        return categoryUrls;
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * 색인에 보관하는 분석 결과 (상품 객체를 그대로 참조해 URL 을 중복 보관하지 않고, 근거 문장은 버림)
+     */
+    private static final class AnalyzedProduct {
+        final ProductDTO product;
+        final AIColorService.ColorAnalysisResult result;
+
+        AnalyzedProduct(ProductDTO product, AIColorService.ColorAnalysisResult result) {
+            this.product = product;
+            this.result = result.withoutReason();
+        }
+    }
+}
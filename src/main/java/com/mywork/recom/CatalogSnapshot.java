@@ -0,0 +1,285 @@
+package com.mywork.recom;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 카탈로그 스냅샷 저장 / 복원 + 시작 워밍업
+ * - 시작하면 마지막 스냅샷(크롤링한 상품 + 분석 결과 + 분석 키)으로 추천 색인과 분석 캐시를 바로 채움
+ * - 스냅샷이 없으면 설정된 카테고리를 한 번 크롤링한 뒤에 준비 완료로 전환
+ * - 준비 완료 전에는 /health/ready 가 503 → 로드밸런서가 트래픽을 보내지 않음
+ * - 주기적으로, 그리고 종료시에 gzip JSON 스냅샷 기록 (공유 경로를 쓰면 새 노드도 따뜻하게 시작)
+ */
+@Component
+public class CatalogSnapshot implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSnapshot.class);
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final CatalogCrawler catalogCrawler;
+    private final AIColorService aiColorService;
+    private final ColorAnalysisStore store;
+    private final ProductColorIndex productColorIndex;
+
+    private final boolean enabled;
+    private final Path snapshotPath;
+    private final boolean precompute;
+    private final long warmUpTimeoutSeconds;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ScheduledExecutorService scheduler;
+
+    private volatile boolean ready = false;
+    private volatile int restoredProducts = 0;
+    private volatile long lastWrittenAt = 0;
+
+    public CatalogSnapshot(CatalogCrawler catalogCrawler,
+                           AIColorService aiColorService,
+                           ColorAnalysisStore store,
+                           ProductColorIndex productColorIndex,
+                           @Value("${snapshot.enabled:true}") boolean enabled,
+                           @Value("${snapshot.path:${user.home}/.recom/catalog-snapshot.json.gz}") String path,
+                           @Value("${snapshot.interval-minutes:10}") long intervalMinutes,
+                           @Value("${warmup.precompute:true}") boolean precompute,
+                           @Value("${warmup.timeout-seconds:300}") long warmUpTimeoutSeconds) {
+        this.catalogCrawler = catalogCrawler;
+        this.aiColorService = aiColorService;
+        this.store = store;
+        this.productColorIndex = productColorIndex;
+        this.enabled = enabled;
+        this.snapshotPath = Paths.get(path);
+        this.precompute = precompute;
+        this.warmUpTimeoutSeconds = warmUpTimeoutSeconds;
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "catalog-snapshot");
+            t.setDaemon(true);
+            return t;
+        });
+        // 애플리케이션 시작을 막지 않도록 백그라운드에서 워밍업 (준비 여부는 isReady 로 노출)
+        scheduler.execute(this::warmUp);
+        if (enabled) {
+            scheduler.scheduleWithFixedDelay(this::writeQuietly, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * 스냅샷 복원 → (없으면) 크롤링 → 준비 완료
+     */
+    void warmUp() {
+        long start = System.currentTimeMillis();
+        try {
+            store.preload();
+            int restored = enabled ? restore() : 0;
+            if (restored == 0 && precompute && catalogCrawler.isEnabled()) {
+                log.info("스냅샷 없음 - 카탈로그를 미리 크롤링합니다.");
+                catalogCrawler.crawlNow().get(warmUpTimeoutSeconds, TimeUnit.SECONDS);
+            }
+        } catch (TimeoutException e) {
+            log.warn("워밍업 크롤링이 {}초 안에 끝나지 않아 준비 완료로 전환합니다.", warmUpTimeoutSeconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("워밍업 실패, 빈 상태로 시작합니다: {}", e.getMessage());
+        } finally {
+            ready = true;
+            log.info("워밍업 완료 - 복원 상품 {}개 ({}ms)", restoredProducts, System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * 스냅샷 파일에서 크롤러 상태 / 추천 색인 / 분석 캐시 복원
+     *
+     * @return 복원한 상품 수
+     */
+    int restore() throws IOException {
+        if (!Files.exists(snapshotPath)) {
+            return 0;
+        }
+        JsonNode root;
+        try (InputStream in = new GZIPInputStream(new BufferedInputStream(Files.newInputStream(snapshotPath)))) {
+            root = objectMapper.readTree(in);
+        }
+        if (root.path("v").asInt() != FORMAT_VERSION) {
+            log.warn("지원하지 않는 스냅샷 형식 무시: {}", snapshotPath);
+            return 0;
+        }
+
+        int restored = 0;
+        for (JsonNode category : root.path("categories")) {
+            String url = category.path("url").asText();
+            long updatedAt = category.path("at").asLong();
+            if (productColorIndex.getUpdatedAt(url) >= updatedAt) {
+                // 그 사이 크롤링이 먼저 끝난 카테고리는 더 최신 상태 유지
+                continue;
+            }
+            List<ProductDTO> products = new ArrayList<>();
+            Map<String, AIColorService.ColorAnalysisResult> results = new HashMap<>();
+            for (JsonNode item : category.path("products")) {
+                ProductDTO product = new ProductDTO(item.path("n").asText(), item.path("i").asText(), item.path("l").asText());
+                products.add(product);
+                JsonNode analysis = item.get("a");
+                if (analysis != null) {
+                    AIColorService.ColorAnalysisResult result = fromJson(analysis);
+                    results.put(product.getProductLink(), result);
+                    String key = analysis.path("k").asText(null);
+                    if (key != null) {
+                        aiColorService.preload(product.getImageUrl(), key, result);
+                    }
+                }
+            }
+            catalogCrawler.restore(url, products, results, updatedAt);
+            restored += products.size();
+        }
+        restoredProducts = restored;
+        log.info("스냅샷 복원: 상품 {}개 ({}에 기록) - {}", restored,
+                Instant.ofEpochMilli(root.path("at").asLong()), snapshotPath);
+        return restored;
+    }
+
+    /**
+     * 현재 크롤러 상태를 스냅샷으로 기록 (임시 파일에 쓴 뒤 원자적으로 교체)
+     */
+    public synchronized void write() throws IOException {
+        List<String> urls = new ArrayList<>();
+        for (String url : catalogCrawler.getCategoryUrls()) {
+            if (!catalogCrawler.getCrawledProducts(url).isEmpty()) {
+                urls.add(url);
+            }
+        }
+        if (urls.isEmpty()) {
+            // 아직 수집 전이면 기존 스냅샷을 빈 내용으로 덮어쓰지 않음
+            return;
+        }
+
+        Path parent = snapshotPath.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path tmp = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        int count = 0;
+        try (OutputStream out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)));
+             JsonGenerator gen = new JsonFactory().createGenerator(out)) {
+            gen.writeStartObject();
+            gen.writeNumberField("v", FORMAT_VERSION);
+            gen.writeNumberField("at", System.currentTimeMillis());
+            gen.writeArrayFieldStart("categories");
+            for (String url : urls) {
+                gen.writeStartObject();
+                gen.writeStringField("url", url);
+                gen.writeNumberField("at", productColorIndex.getUpdatedAt(url));
+                gen.writeArrayFieldStart("products");
+                for (ProductDTO product : catalogCrawler.getCrawledProducts(url)) {
+                    String imageUrl = product.getImageUrl();
+                    String link = product.getProductLink();
+                    gen.writeStartObject();
+                    gen.writeStringField("n", product.getName());
+                    gen.writeStringField("i", imageUrl);
+                    gen.writeStringField("l", link);
+                    AIColorService.ColorAnalysisResult result = catalogCrawler.getAnalysis(url, link);
+                    if (result != null) {
+                        writeAnalysis(gen, aiColorService.peekAnalysisKey(imageUrl), result);
+                    }
+                    gen.writeEndObject();
+                    count++;
+                }
+                gen.writeEndArray();
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+            gen.writeEndObject();
+        }
+        Files.move(tmp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        lastWrittenAt = System.currentTimeMillis();
+        log.info("스냅샷 기록: 카테고리 {}개, 상품 {}개 ({} bytes) - {}", urls.size(), count, Files.size(snapshotPath), snapshotPath);
+    }
+
+    private void writeQuietly() {
+        try {
+            write();
+        } catch (Exception e) {
+            log.warn("스냅샷 기록 실패: {}", e.getMessage());
+        }
+    }
+
+    private static void writeAnalysis(JsonGenerator gen, String key, AIColorService.ColorAnalysisResult result) throws IOException {
+        gen.writeObjectFieldStart("a");
+        if (key != null) {
+            gen.writeStringField("k", key);
+        }
+        gen.writeStringField("c", result.getPersonalColor());
+        gen.writeNumberField("s", result.getConfidence());
+        if (!result.getReason().isEmpty()) {
+            gen.writeStringField("r", result.getReason());
+        }
+        gen.writeArrayFieldStart("d");
+        for (String color : result.getDominantColors()) {
+            gen.writeString(color);
+        }
+        gen.writeEndArray();
+        gen.writeEndObject();
+    }
+
+    private static AIColorService.ColorAnalysisResult fromJson(JsonNode node) {
+        List<String> colors = new ArrayList<>();
+        node.path("d").forEach(c -> colors.add(c.asText()));
+        return new AIColorService.ColorAnalysisResult(
+                node.path("c").asText("알 수 없음"),
+                node.path("s").asInt(0),
+                node.path("r").asText(""),
+                colors);
+    }
+
+    /**
+     * 워밍업이 끝나 트래픽을 받을 준비가 되었는지
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int getRestoredProducts() {
+        return restoredProducts;
+    }
+
+    public long getLastWrittenAt() {
+        return lastWrittenAt;
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        if (enabled) {
+            // 다음 시작(또는 새 노드)이 바로 따뜻한 상태가 되도록 종료 직전 상태 기록
+            writeQuietly();
+        }
+    }
+}
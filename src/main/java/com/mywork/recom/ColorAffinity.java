@@ -0,0 +1,165 @@
+package com.mywork.recom;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자 퍼스널 컬러 기준 상품 추천 점수 (0 ~ 1, 높을수록 잘 어울림)
+ * - 호환성 규칙(PersonalColor.isCompatible)을 통과한 상품만 점수를 받음 (나머지는 INCOMPATIBLE)
+ * - 점수 = 계절·톤 근접도 × 0.45 + 신뢰도 × 0.25 + 대표 색상과 사용자 팔레트의 Lab 근접도 × 0.30
+ * - 팔레트 Lab 값은 사용자 퍼스널 컬러별로 한 번만 계산해 캐시
+ * - AI 분석 전 상품의 엄밀한 점수 상한은 MAX_SCORE (로컬 추정 색상은 AI 가 뽑는 대표 색상과 달라 상한을 좁힐 수 없음)
+ */
+public final class ColorAffinity {
+
+    public static final double INCOMPATIBLE = -1;
+    public static final double MAX_SCORE = 1.0;
+
+    private static final double SEASON_WEIGHT = 0.45;
+    private static final double CONFIDENCE_WEIGHT = 0.25;
+    private static final double PALETTE_WEIGHT = 0.30;
+
+    // 팔레트와 평균 색차(ΔE76)가 이 값 이상이면 색상 점수 0
+    private static final double PALETTE_RANGE = 50.0;
+    // 대표 색상이 없을 때의 중립 색상 점수
+    private static final double NEUTRAL_PALETTE = 0.5;
+
+    // 톤 근접도 (같은 계절 안에서 명도 × 선명도 평면의 거리로 계산, Tone 순서)
+    private static final double[][] TONE_SIMILARITY;
+    static {
+        // BRIGHT, LIGHT, MUTE, DEEP, WARM, COOL, UNKNOWN 의 (명도, 선명도) 위치
+        double[][] position = {{0.6, 1.0}, {1.0, 0.5}, {0.5, 0.0}, {0.0, 0.5}, {0.5, 0.5}, {0.5, 0.5}, {0.5, 0.5}};
+        int tones = PersonalColor.Tone.values().length;
+        TONE_SIMILARITY = new double[tones][tones];
+        for (int i = 0; i < tones; i++) {
+            for (int j = 0; j < tones; j++) {
+                double distance = Math.hypot(position[i][0] - position[j][0], position[i][1] - position[j][1]);
+                TONE_SIMILARITY[i][j] = 1.0 - distance / Math.sqrt(2);
+            }
+        }
+    }
+
+    // 퍼스널 컬러별 대표 팔레트 (화면 선택값 기준)
+    private static final Map<String, int[]> PALETTES = new HashMap<>();
+    static {
+        PALETTES.put("봄 라이트", new int[]{0xFFD8B1, 0xFFE5A0, 0xB5E3C8, 0xF7B7A3, 0xC9E4F5});
+        PALETTES.put("봄 브라이트", new int[]{0xFF6F4F, 0xFFC20E, 0x33B864, 0x00A3E0, 0xFF8C42});
+        PALETTES.put("여름 라이트", new int[]{0xF4C2D7, 0xC9D6EA, 0xE0D4F0, 0xBFE3DA, 0xF5F5F0});
+        PALETTES.put("여름 브라이트", new int[]{0xFF5FA2, 0x5DA9E9, 0x9B72CF, 0x00B3B3, 0xE8E8F0});
+        PALETTES.put("여름 뮤트", new int[]{0xA7A8C2, 0xB8C4C2, 0xC9A9A6, 0x8E9AAF, 0x9C8F96});
+        PALETTES.put("가을 뮤트", new int[]{0xA68A64, 0xB5838D, 0x8A9A5B, 0xC2A47E, 0x7E6B5A});
+        PALETTES.put("가을 스트롱", new int[]{0xB7410E, 0xC68E17, 0x556B2F, 0x8B4513, 0xD2691E});
+        PALETTES.put("가을 딥", new int[]{0x5C3A21, 0x6B4226, 0x3E4A2E, 0x7B2D26, 0x8B6F3A});
+        PALETTES.put("겨울 브라이트", new int[]{0xE0115F, 0x0047AB, 0x00A86B, 0xFFFFFF, 0x000000});
+        PALETTES.put("겨울 딥", new int[]{0x2C1E3D, 0x0B1F3A, 0x4A0E1C, 0x1F3B2D, 0x000000});
+    }
+
+    // 사용자 퍼스널 컬러 → 점수 계산기 (자유 형식 입력 대비 상한)
+    private static final int MAX_CACHED = 256;
+    private static final ConcurrentHashMap<String, ColorAffinity> CACHE = new ConcurrentHashMap<>();
+
+    private final String personalColor;
+    private final int code;
+    private final PersonalColor.Tone tone;
+    private final float[] paletteLab;
+
+    private ColorAffinity(String personalColor) {
+        PersonalColor parsed = PersonalColor.of(personalColor);
+        this.personalColor = personalColor;
+        this.code = parsed.getCode();
+        this.tone = parsed.getTone();
+        this.paletteLab = toLab(paletteOf(personalColor, parsed.getSeason()));
+    }
+
+    /**
+     * 사용자 퍼스널 컬러의 점수 계산기
+     */
+    public static ColorAffinity of(String userPersonalColor) {
+        ColorAffinity cached = CACHE.get(userPersonalColor);
+        if (cached != null) {
+            return cached;
+        }
+        ColorAffinity affinity = new ColorAffinity(userPersonalColor);
+        if (CACHE.size() < MAX_CACHED) {
+            CACHE.putIfAbsent(userPersonalColor, affinity);
+        }
+        return affinity;
+    }
+
+    /**
+     * 분석 결과의 추천 점수 (호환되지 않으면 INCOMPATIBLE)
+     */
+    public double score(AIColorService.ColorAnalysisResult analysis) {
+        int confidence = analysis.getConfidence();
+        if (!PersonalColor.isCompatible(personalColor, code, analysis.getPersonalColor(),
+                analysis.getPersonalColorCode(), confidence)) {
+            return INCOMPATIBLE;
+        }
+        double season = personalColor.equals(analysis.getPersonalColor())
+                ? 1.0
+                : TONE_SIMILARITY[tone.ordinal()][PersonalColor.fromCode(analysis.getPersonalColorCode()).getTone().ordinal()];
+        return SEASON_WEIGHT * season
+                + CONFIDENCE_WEIGHT * Math.min(100, confidence) / 100.0
+                + PALETTE_WEIGHT * paletteSimilarity(analysis.dominantRgbArray());
+    }
+
+    /**
+     * 상품 대표 색상마다 팔레트에서 가장 가까운 색과의 ΔE76 평균 → 0 ~ 1
+     */
+    private double paletteSimilarity(int[] rgb) {
+        if (rgb.length == 0 || paletteLab.length == 0) {
+            return NEUTRAL_PALETTE;
+        }
+        float[] lab = new float[3];
+        double total = 0;
+        for (int color : rgb) {
+            DominantColorExtractor.rgbToLab(color, lab);
+            double nearest = Double.MAX_VALUE;
+            for (int i = 0; i < paletteLab.length; i += 3) {
+                double dl = lab[0] - paletteLab[i];
+                double da = lab[1] - paletteLab[i + 1];
+                double db = lab[2] - paletteLab[i + 2];
+                nearest = Math.min(nearest, dl * dl + da * da + db * db);
+            }
+            total += Math.sqrt(nearest);
+        }
+        return Math.max(0.0, 1.0 - total / rgb.length / PALETTE_RANGE);
+    }
+
+    /**
+     * 선택값 팔레트, 없으면 같은 계절 팔레트를 모두 합친 것 (계절도 모르면 빈 팔레트)
+     */
+    private static int[] paletteOf(String personalColor, PersonalColor.Season season) {
+        int[] palette = PALETTES.get(personalColor);
+        if (palette != null) {
+            return palette;
+        }
+        int[] merged = new int[0];
+        if (season.isKnown()) {
+            for (Map.Entry<String, int[]> entry : PALETTES.entrySet()) {
+                if (entry.getKey().startsWith(season.getLabel())) {
+                    int[] next = Arrays.copyOf(merged, merged.length + entry.getValue().length);
+                    System.arraycopy(entry.getValue(), 0, next, merged.length, entry.getValue().length);
+                    merged = next;
+                }
+            }
+        }
+        return merged;
+    }
+
+    private static float[] toLab(int[] palette) {
+        float[] lab = new float[palette.length * 3];
+        float[] one = new float[3];
+        for (int i = 0; i < palette.length; i++) {
+            DominantColorExtractor.rgbToLab(palette[i], one);
+            System.arraycopy(one, 0, lab, i * 3, 3);
+        }
+        return lab;
+    }
+
+    public String getPersonalColor() {
+        return personalColor;
+    }
+}
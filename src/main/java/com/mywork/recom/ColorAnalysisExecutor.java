@@ -0,0 +1,188 @@
+package com.mywork.recom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 상품 이미지 색상 분석 병렬 실행기
+ * - 사용자 요청(submit)과 백그라운드 크롤러(analyzeAll)는 서로 다른 풀 사용 → 크롤링 중에도 요청 분석 슬롯이 밀리지 않음
+ *   (동시 분석 개수는 analysis.parallelism / analysis.crawler-parallelism 으로 각각 제한)
+ * - 결과는 입력(카탈로그) 순서 그대로 반환
+ * - 상품별 타임아웃은 분석이 실제로 시작된 시점부터 계산, 타임아웃되면 결과 대기를 멈추고 슬롯 반환
+ *   (작업 스레드는 인터럽트하지 않음 - 이미지 해시 / 저장소 조회 중 인터럽트되면 공유 상태가 깨짐)
+ * - 사용자 요청은 슬롯을 기다리는 시간도 analysis.queue-timeout-ms 로 제한 (넘으면 시작하지 않고 타임아웃)
+ * - 실패/타임아웃 상품은 결과 목록에서 null (부분 결과 반환)
+ */
+@Component
+public class ColorAnalysisExecutor implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ColorAnalysisExecutor.class);
+
+    private final AIColorService aiColorService;
+    private final ThreadPoolExecutor executor;
+    private final ThreadPoolExecutor crawlerExecutor;
+    private final ScheduledThreadPoolExecutor queueTimer;
+    private final int parallelism;
+    private final long timeoutMillis;
+    private final long queueTimeoutMillis;
+
+    // 현재 진행 중인 분석 수 (메트릭 게이지)
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    @Autowired
+    public ColorAnalysisExecutor(AIColorService aiColorService,
+                                 RecommendMetrics metrics,
+                                 @Value("${analysis.parallelism:4}") int parallelism,
+                                 @Value("${analysis.crawler-parallelism:2}") int crawlerParallelism,
+                                 @Value("${analysis.timeout-ms:20000}") long timeoutMillis,
+                                 @Value("${analysis.queue-timeout-ms:10000}") long queueTimeoutMillis) {
+        this.aiColorService = aiColorService;
+        this.parallelism = Math.max(1, parallelism);
+        this.timeoutMillis = timeoutMillis;
+        this.queueTimeoutMillis = queueTimeoutMillis;
+
+        // JDK 17 에는 가상 스레드가 없으므로 고정 크기 풀이 세마포어 역할을 대신함
+        this.executor = newPool(this.parallelism, "color-analysis-");
+        this.crawlerExecutor = newPool(Math.max(1, crawlerParallelism), "color-analysis-crawler-");
+
+        this.queueTimer = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "color-analysis-queue-timer");
+            t.setDaemon(true);
+            return t;
+        });
+        // 제때 시작한 작업의 대기 마감은 취소 즉시 큐에서 제거
+        queueTimer.setRemoveOnCancelPolicy(true);
+        metrics.gauge("recommend.analysis.in_flight", "진행 중인 색상 분석 수", inFlight, AtomicInteger::get);
+        metrics.gauge("recommend.analysis.queued", "분석 슬롯을 기다리는 사용자 요청 상품 수", executor, e -> e.getQueue().size());
+    }
+
+    private static ThreadPoolExecutor newPool(int size, String namePrefix) {
+        AtomicInteger seq = new AtomicInteger();
+        return new ThreadPoolExecutor(size, size, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread t = new Thread(r, namePrefix + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * 상품 목록을 크롤러 전용 풀에서 병렬로 분석 (입력 순서 유지, 실패/타임아웃 항목은 null)
+     */
+    public List<AIColorService.ColorAnalysisResult> analyzeAll(List<ProductDTO> products) {
+        List<CompletableFuture<AIColorService.ColorAnalysisResult>> futures = new ArrayList<>(products.size());
+        for (ProductDTO product : products) {
+            // 크롤러는 목록 전체를 한 번에 맡기므로 대기 시간은 제한하지 않음 (전용 풀이라 사용자 요청을 막지 않음)
+            futures.add(submit(product.getImageUrl(), crawlerExecutor, 0));
+        }
+
+        List<AIColorService.ColorAnalysisResult> results = new ArrayList<>(products.size());
+        for (int i = 0; i < futures.size(); i++) {
+            results.add(await(products.get(i), futures.get(i)));
+        }
+        return results;
+    }
+
+    /**
+     * 상품 하나를 사용자 요청 분석 큐에 등록
+     */
+    public CompletableFuture<AIColorService.ColorAnalysisResult> submit(ProductDTO product) {
+        return submit(product.getImageUrl());
+    }
+
+    /**
+     * 이미지 하나를 사용자 요청 분석 큐에 등록 (호출 측이 이미 만든 이미지 URL 재사용)
+     */
+    public CompletableFuture<AIColorService.ColorAnalysisResult> submit(String imageUrl) {
+        return submit(imageUrl, executor, queueTimeoutMillis);
+    }
+
+    private CompletableFuture<AIColorService.ColorAnalysisResult> submit(String imageUrl, ThreadPoolExecutor pool,
+                                                                       long queueTimeout) {
+        CompletableFuture<AIColorService.ColorAnalysisResult> result = new CompletableFuture<>();
+        // 작업 시작과 대기 마감 중 먼저 온 쪽만 진행
+        AtomicBoolean started = new AtomicBoolean();
+        Future<?> task = pool.submit(() -> {
+            if (!started.compareAndSet(false, true) || result.isDone()) {
+                return;
+            }
+            // 타임아웃은 슬롯을 얻은 뒤부터 측정
+            result.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+            inFlight.incrementAndGet();
+            try {
+                aiColorService.analyzeProductColorAsync(imageUrl).thenAccept(result::complete);
+                // 결과가 나오거나 타임아웃 / 호출자 취소될 때까지만 슬롯 점유
+                // (늦게 끝난 분석도 공유 캐시 / 저장소에는 반영되어 다음 요청이 재사용)
+                result.handle((value, error) -> null).join();
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        });
+        // 타임아웃 / 호출자 취소시 아직 대기 중이면 큐에서 제거 (실행 중인 작업은 인터럽트하지 않음)
+        result.whenComplete((value, error) -> {
+            if (error != null && task.cancel(false)) {
+                pool.remove((Runnable) task);
+            }
+        });
+        if (queueTimeout > 0) {
+            ScheduledFuture<?> deadline = queueTimer.schedule(() -> {
+                if (started.compareAndSet(false, true)) {
+                    result.completeExceptionally(new TimeoutException("분석 대기 시간 초과 (" + queueTimeout + "ms)"));
+                }
+            }, queueTimeout, TimeUnit.MILLISECONDS);
+            result.whenComplete((value, error) -> deadline.cancel(false));
+        }
+        return result;
+    }
+
+    private AIColorService.ColorAnalysisResult await(ProductDTO product,
+                                                     CompletableFuture<AIColorService.ColorAnalysisResult> future) {
+        try {
+            return future.join();
+        } catch (Exception e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof TimeoutException) {
+                log.warn("상품 분석 타임아웃: {} ({}ms)", product.getName(), timeoutMillis);
+            } else {
+                log.warn("상품 분석 실패: {} - {}", product.getName(), cause.getMessage());
+            }
+            return null;
+        }
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * 대기 마감 스케줄러에 남아 있는 작업 수 (제때 시작한 작업은 남지 않아야 함)
+     */
+    int pendingQueueDeadlines() {
+        return queueTimer.getQueue().size();
+    }
+
+    @Override
+    public void destroy() {
+        queueTimer.shutdownNow();
+        executor.shutdownNow();
+        crawlerExecutor.shutdownNow();
+    }
+}
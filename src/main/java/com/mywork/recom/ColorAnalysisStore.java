@@ -0,0 +1,436 @@
+package com.mywork.recom;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * 색상 분석 결과 디스크 저장소 (재시작 후에도 유지)
+ * - 한 줄에 JSON 레코드 하나씩 추가만 하는 로그 파일 (append-only)
+ * - 최초 조회 시점에 파일을 훑어 키 → 레코드 위치 인덱스 구성 (지연 로딩)
+ * - 메모리에는 위치만 두고 결과는 조회할 때 파일에서 읽음 (메모리 계층은 AnalysisCache 가 크기 제한과 함께 담당)
+ * - 중복/덮어쓴 레코드나 더 이상 쓰이지 않는 키(정규화 전 URL 등)가 쌓이면 주기적으로 압축
+ * - 파일 채널은 인터럽트된 스레드가 쓰면 모든 스레드에 대해 닫히므로, 닫힌 채널은 새로 열어 다시 시도
+ */
+@Component
+public class ColorAnalysisStore implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ColorAnalysisStore.class);
+
+    // 레코드 위치 = 오프셋 << LENGTH_BITS | 길이 (줄바꿈 제외)
+    private static final int LENGTH_BITS = 24;
+    private static final int MAX_RECORD_BYTES = (1 << LENGTH_BITS) - 1;
+    // 닫힌 채널을 다시 열어 재시도하는 최대 횟수 (다른 스레드가 연달아 닫는 경우 대비)
+    private static final int MAX_REOPEN = 3;
+
+    private final boolean enabled;
+    private final Path logPath;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // 분석 키 → 레코드 위치
+    private final Map<String, Long> index = new ConcurrentHashMap<>();
+    // 조회 / 추가는 읽기 잠금, 압축(파일 교체)은 쓰기 잠금
+    private final ReadWriteLock fileLock = new ReentrantReadWriteLock();
+    private final Object appendLock = new Object();
+    private volatile boolean loaded = false;
+    private volatile FileChannel channel;
+    private volatile boolean destroyed = false;
+    private long logBytes = 0;
+    private long logLines = 0;
+    // 비정상 종료로 마지막 줄이 줄바꿈 없이 잘린 경우 다음 추가 전에 줄바꿈
+    private boolean needsNewline = false;
+
+    // 압축 시 남길 키 (분석 키 규칙이 바뀌어 다시 조회될 수 없는 키는 버림)
+    private volatile Predicate<String> reachable = key -> true;
+
+    private final ScheduledExecutorService compactor;
+
+    public ColorAnalysisStore(@Value("${store.enabled:true}") boolean enabled,
+                              @Value("${store.path:${user.home}/.recom/color-analysis.jsonl}") String path,
+                              @Value("${store.compact-interval-minutes:30}") long compactIntervalMinutes) {
+        this.enabled = enabled;
+        this.logPath = Paths.get(path);
+        this.compactor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "analysis-store-compactor");
+            t.setDaemon(true);
+            return t;
+        });
+        if (enabled) {
+            compactor.scheduleWithFixedDelay(this::compactIfNeeded,
+                    compactIntervalMinutes, compactIntervalMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * 압축 시 남길 키 판단 (분석 키를 만드는 쪽에서 등록)
+     */
+    public void setReachableKeys(Predicate<String> reachable) {
+        this.reachable = reachable;
+    }
+
+    /**
+     * 저장된 분석 결과 조회 (없으면 null)
+     */
+    public AIColorService.ColorAnalysisResult get(String key) {
+        if (!enabled) {
+            return null;
+        }
+        ensureLoaded();
+        fileLock.readLock().lock();
+        try {
+            Long location = index.get(key);
+            if (location == null) {
+                return null;
+            }
+            byte[] record = withChannel(current -> read(current, location));
+            JsonNode node = objectMapper.readTree(record);
+            if (!key.equals(node.path("key").asText())) {
+                log.warn("저장소 레코드 위치 불일치 무시: {}", key);
+                return null;
+            }
+            return fromJson(node);
+        } catch (IOException e) {
+            log.warn("분석 결과 읽기 실패: {} - {}", key, e.getMessage());
+            return null;
+        } finally {
+            fileLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 저장된 결과가 있는지 (파일을 읽지 않음)
+     */
+    public boolean contains(String key) {
+        if (!enabled) {
+            return false;
+        }
+        ensureLoaded();
+        return index.containsKey(key);
+    }
+
+    /**
+     * 분석 결과 저장 (로그 끝에 추가)
+     */
+    public void put(String key, AIColorService.ColorAnalysisResult result) {
+        if (!enabled) {
+            return;
+        }
+        ensureLoaded();
+        byte[] line;
+        try {
+            line = objectMapper.writeValueAsBytes(toJson(key, result));
+        } catch (IOException e) {
+            log.warn("분석 결과 저장 실패: {}", e.getMessage());
+            return;
+        }
+        if (line.length > MAX_RECORD_BYTES) {
+            log.warn("분석 결과 레코드가 너무 큼 ({} bytes): {}", line.length, key);
+            return;
+        }
+        fileLock.readLock().lock();
+        try {
+            synchronized (appendLock) {
+                if (needsNewline) {
+                    long position = logBytes;
+                    logBytes += withChannel(out -> writeFully(out, ByteBuffer.wrap(new byte[]{'\n'}), position));
+                    needsNewline = false;
+                }
+                byte[] record = Arrays.copyOf(line, line.length + 1);
+                record[line.length] = '\n';
+                long offset = logBytes;
+                // 위치 지정 쓰기라 재시도하면 같은 자리에 다시 씀
+                logBytes += withChannel(out -> writeFully(out, ByteBuffer.wrap(record), offset));
+                logLines++;
+                index.put(key, offset << LENGTH_BITS | line.length);
+            }
+        } catch (IOException e) {
+            log.warn("분석 결과 저장 실패: {}", e.getMessage());
+        } finally {
+            fileLock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * 첫 요청이 파일 로딩을 기다리지 않도록 미리 인덱스 구성 (시작 시 워밍업용)
+     */
+    public void preload() {
+        if (enabled) {
+            ensureLoaded();
+        }
+    }
+
+    /**
+     * 최초 접근 시 로그 파일을 훑어 키별 마지막 레코드 위치로 인덱스 구성
+     */
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            long start = System.currentTimeMillis();
+            if (Files.exists(logPath)) {
+                try (InputStream in = new BufferedInputStream(Files.newInputStream(logPath), 1 << 16)) {
+                    byte[] line = new byte[1024];
+                    int length = 0;
+                    long offset = 0;
+                    int b;
+                    while ((b = in.read()) != -1) {
+                        if (b != '\n') {
+                            if (length == line.length) {
+                                line = Arrays.copyOf(line, length * 2);
+                            }
+                            line[length++] = (byte) b;
+                            continue;
+                        }
+                        indexLine(line, length, offset);
+                        offset += length + 1;
+                        length = 0;
+                    }
+                    if (length > 0) {
+                        // 줄바꿈 없이 끝난 마지막 줄 (비정상 종료로 잘렸을 수 있음)
+                        indexLine(line, length, offset);
+                        needsNewline = true;
+                    }
+                    logBytes = offset + length;
+                } catch (IOException e) {
+                    log.error("분석 결과 저장소 로딩 실패: {}", logPath, e);
+                }
+            }
+            loaded = true;
+            log.info("분석 결과 저장소 로딩: {}개 ({}ms) - {}", index.size(), System.currentTimeMillis() - start, logPath);
+        }
+    }
+
+    private void indexLine(byte[] line, int length, long offset) {
+        logLines++;
+        if (length == 0 || length > MAX_RECORD_BYTES) {
+            return;
+        }
+        try {
+            JsonNode key = objectMapper.readTree(line, 0, length).get("key");
+            if (key != null) {
+                index.put(key.asText(), offset << LENGTH_BITS | length);
+            }
+        } catch (Exception e) {
+            // 비정상 종료로 잘린 마지막 줄 등은 무시
+            log.warn("손상된 저장소 레코드 무시: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 로그 줄 수가 실제 항목 수의 두 배를 넘거나, 다시 조회될 수 없는 키가 있으면 압축
+     */
+    void compactIfNeeded() {
+        if (!loaded) {
+            return;
+        }
+        fileLock.writeLock().lock();
+        try {
+            if (logLines <= index.size() * 2L && index.keySet().stream().allMatch(reachable)) {
+                return;
+            }
+            compact();
+        } finally {
+            fileLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 남길 키의 최신 레코드만 임시 파일에 다시 쓴 뒤 원자적으로 교체 (쓰기 잠금 안에서 호출)
+     */
+    private void compact() {
+        Path tmp = logPath.resolveSibling(logPath.getFileName() + ".compact");
+        try {
+            Map<String, Long> compacted = new HashMap<>();
+            long offset = 0;
+            int dropped = 0;
+            try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (Map.Entry<String, Long> entry : index.entrySet()) {
+                    if (!reachable.test(entry.getKey())) {
+                        dropped++;
+                        continue;
+                    }
+                    long location = entry.getValue();
+                    byte[] record = withChannel(current -> read(current, location));
+                    byte[] line = Arrays.copyOf(record, record.length + 1);
+                    line[record.length] = '\n';
+                    writeFully(out, ByteBuffer.wrap(line), offset);
+                    compacted.put(entry.getKey(), offset << LENGTH_BITS | record.length);
+                    offset += line.length;
+                }
+                out.force(false);
+            }
+            // 교체 전 파일을 가리키는 채널은 닫고, 다음 조회 / 추가 때 새 파일로 다시 염
+            synchronized (appendLock) {
+                if (channel != null) {
+                    channel.close();
+                    channel = null;
+                }
+            }
+            Files.move(tmp, logPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("분석 결과 저장소 압축: {}줄 → {}줄 (버린 키 {}개)", logLines, compacted.size(), dropped);
+            index.keySet().retainAll(compacted.keySet());
+            index.putAll(compacted);
+            logLines = compacted.size();
+            logBytes = offset;
+            needsNewline = false;
+        } catch (IOException e) {
+            log.error("분석 결과 저장소 압축 실패: {}", logPath, e);
+        }
+    }
+
+    /**
+     * 조회 / 추가에 함께 쓰는 파일 채널 (위치 지정 읽기·쓰기라 스레드 간 공유 가능)
+     */
+    private FileChannel openChannel() throws IOException {
+        FileChannel current = channel;
+        if (current != null) {
+            return current;
+        }
+        synchronized (appendLock) {
+            if (destroyed) {
+                throw new ClosedChannelException();
+            }
+            if (channel == null) {
+                Path parent = logPath.toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                channel = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
+            return channel;
+        }
+    }
+
+    /**
+     * 공유 채널로 읽기·쓰기 실행
+     * - 인터럽트된 스레드가 채널을 쓰면 JVM 이 채널을 닫으므로 (다른 스레드가 닫은 경우 포함)
+     *   닫힌 채널을 버리고 새로 열어 재시도, 재시도 동안 인터럽트 상태는 잠시 지웠다가 복원
+     */
+    private <T> T withChannel(ChannelAction<T> action) throws IOException {
+        boolean interrupted = false;
+        try {
+            for (int attempt = 0; ; attempt++) {
+                FileChannel current = openChannel();
+                try {
+                    return action.apply(current);
+                } catch (ClosedChannelException e) {
+                    if (destroyed || attempt >= MAX_REOPEN) {
+                        throw e;
+                    }
+                    interrupted |= Thread.interrupted();
+                    synchronized (appendLock) {
+                        if (channel == current) {
+                            channel = null;
+                        }
+                    }
+                    log.debug("닫힌 저장소 채널 다시 열기: {}", logPath);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private interface ChannelAction<T> {
+        T apply(FileChannel channel) throws IOException;
+    }
+
+    private static byte[] read(FileChannel source, long location) throws IOException {
+        long offset = location >>> LENGTH_BITS;
+        ByteBuffer buffer = ByteBuffer.allocate((int) (location & MAX_RECORD_BYTES));
+        while (buffer.hasRemaining()) {
+            if (source.read(buffer, offset + buffer.position()) < 0) {
+                throw new IOException("저장소 파일이 레코드보다 짧음");
+            }
+        }
+        return buffer.array();
+    }
+
+    private static int writeFully(FileChannel out, ByteBuffer buffer, long position) throws IOException {
+        int length = buffer.remaining();
+        while (buffer.hasRemaining()) {
+            out.write(buffer, position + buffer.position());
+        }
+        return length;
+    }
+
+    private ObjectNode toJson(String key, AIColorService.ColorAnalysisResult result) {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("key", key);
+        node.put("personal_color", result.getPersonalColor());
+        node.put("confidence", result.getConfidence());
+        node.put("reason", result.getReason());
+        ArrayNode colors = node.putArray("dominant_colors");
+        result.getDominantColors().forEach(colors::add);
+        return node;
+    }
+
+    private AIColorService.ColorAnalysisResult fromJson(JsonNode node) {
+        List<String> colors = new ArrayList<>();
+        node.path("dominant_colors").forEach(c -> colors.add(c.asText()));
+        return new AIColorService.ColorAnalysisResult(
+                node.path("personal_color").asText("알 수 없음"),
+                node.path("confidence").asInt(0),
+                node.path("reason").asText(""),
+                colors);
+    }
+
+    @Override
+    public void destroy() {
+        compactor.shutdownNow();
+        fileLock.writeLock().lock();
+        try {
+            synchronized (appendLock) {
+                destroyed = true;
+                if (channel != null) {
+                    channel.close();
+                    channel = null;
+                }
+            }
+        } catch (IOException ignored) {
+        } finally {
+            fileLock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.mywork.recom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * 설정으로 고르는 상품 공급원 (scrape.source = http | selenium)
+ * - http: 브라우저 없이 HTML 을 받아 파싱, 첫 페이지에서 상품을 하나도 못 찾으면 Selenium 으로 대체
+ *   (스크립트로만 목록을 그리는 페이지 / 요청 차단 대응)
+ * - selenium: 항상 브라우저로 수집
+ */
+@Primary
+@Component
+public class ConfiguredProductSource implements ProductSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ConfiguredProductSource.class);
+
+    private final HttpProductSource httpSource;
+    private final SeleniumProductSource seleniumSource;
+    private final RecommendMetrics metrics;
+    private final boolean useHttp;
+
+    public ConfiguredProductSource(HttpProductSource httpSource,
+                                   SeleniumProductSource seleniumSource,
+                                   RecommendMetrics metrics,
+                                   @Value("${scrape.source:http}") String source) {
+        this.httpSource = httpSource;
+        this.seleniumSource = seleniumSource;
+        this.metrics = metrics;
+        this.useHttp = !"selenium".equals(source.trim().toLowerCase(Locale.ROOT));
+        log.info("상품 공급원: {}", useHttp ? "http (Selenium 대체)" : "selenium");
+    }
+
+    @Override
+    public ProductCursor open(String categoryUrl) {
+        return useHttp ? new FallbackCursor(categoryUrl) : seleniumSource.open(categoryUrl);
+    }
+
+    /**
+     * HTTP 로 시작해 첫 상품을 얻지 못한 경우에만 Selenium 커서로 바꿈
+     */
+    private final class FallbackCursor implements ProductCursor {
+        private final String url;
+        private ProductCursor delegate;
+        private boolean decided = false;
+
+        FallbackCursor(String url) {
+            this.url = url;
+            this.delegate = httpSource.open(url);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!decided) {
+                decided = true;
+                if (!delegate.hasNext()) {
+                    log.info("HTTP 수집 결과 없음 - Selenium 으로 대체: {}", url);
+                    metrics.getScrapeFallbacks().increment();
+                    delegate.close();
+                    delegate = seleniumSource.open(url);
+                }
+            }
+            return delegate.hasNext();
+        }
+
+        @Override
+        public ProductDTO next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return delegate.next();
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,363 @@
+package com.mywork.recom;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * JVM 내 대표 색상 추출기 (AI 호출 전 사전 필터용)
+ * - 긴 변이 maxSide 이하가 되도록 축소해서 디코딩 (서브샘플링 읽기)
+ * - Lab 색공간에서 k-means 군집화, 흰 배경 픽셀은 제외
+ * - 픽셀 단위 객체 생성 없이 스레드별로 재사용하는 기본형 배열만 사용
+ * - 군집 결과로 대표 색상 / 웜·쿨 언더톤 / 대략적인 계절 추정
+ */
+public class DominantColorExtractor {
+
+    // 스튜디오 촬영 흰 배경 (밝고 채도가 거의 없는 픽셀)
+    private static final float BACKGROUND_L = 92f;
+    private static final float BACKGROUND_CHROMA = 6f;
+    // 이보다 채도가 낮은 군집(흰/검/회색)은 언더톤 판단에서 제외
+    private static final float NEUTRAL_CHROMA = 8f;
+    // 언더톤 기준 색상각 (Lab 에서 노랑-주황 방향)
+    private static final double WARM_HUE = Math.toRadians(70);
+    private static final int MAX_ITERATIONS = 8;
+
+    // sRGB 감마 → 선형 변환표
+    private static final float[] LINEAR = new float[256];
+    static {
+        for (int i = 0; i < 256; i++) {
+            double c = i / 255.0;
+            LINEAR[i] = (float) (c <= 0.04045 ? c / 12.92 : Math.pow((c + 0.055) / 1.055, 2.4));
+        }
+    }
+
+    private final int maxSide;
+    private final int k;
+    private final ThreadLocal<Workspace> workspaces;
+
+    public DominantColorExtractor(int maxSide, int k) {
+        this.maxSide = Math.max(8, maxSide);
+        this.k = Math.max(2, k);
+        this.workspaces = ThreadLocal.withInitial(() -> new Workspace(this.maxSide * this.maxSide, this.k));
+    }
+
+    /**
+     * 이미지 바이트에서 대표 색상 추출 (디코딩할 수 없는 형식이면 null)
+     */
+    public Estimate extract(byte[] imageBytes) throws IOException {
+        BufferedImage image = decodeDownscaled(imageBytes);
+        if (image == null) {
+            return null;
+        }
+        int width = image.getWidth();
+        int height = image.getHeight();
+        Workspace ws = workspaces.get();
+        int pixels = width * height;
+        if (pixels > ws.capacity) {
+            ws.resize(pixels);
+        }
+        image.getRGB(0, 0, width, height, ws.argb, 0, width);
+        int n = toLab(ws, pixels);
+        if (n < k) {
+            return Estimate.UNKNOWN;
+        }
+        cluster(ws, n);
+        return summarize(ws, n);
+    }
+
+    private BufferedImage decodeDownscaled(byte[] imageBytes) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(imageBytes))) {
+            if (in == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int step = Math.max(1, (longest + maxSide - 1) / maxSide);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * ARGB → Lab (D65), 투명/배경 픽셀 제외 후 남은 픽셀 수 반환
+     */
+    private int toLab(Workspace ws, int pixels) {
+        int n = 0;
+        for (int i = 0; i < pixels; i++) {
+            int argb = ws.argb[i];
+            if ((argb >>> 24) < 128) {
+                continue;
+            }
+            int r = (argb >> 16) & 0xFF;
+            int g = (argb >> 8) & 0xFF;
+            int b = argb & 0xFF;
+            float lr = LINEAR[r];
+            float lg = LINEAR[g];
+            float lb = LINEAR[b];
+            float x = (0.4124f * lr + 0.3576f * lg + 0.1805f * lb) / 0.95047f;
+            float y = 0.2126f * lr + 0.7152f * lg + 0.0722f * lb;
+            float z = (0.0193f * lr + 0.1192f * lg + 0.9505f * lb) / 1.08883f;
+            float fx = labF(x);
+            float fy = labF(y);
+            float fz = labF(z);
+            float l = 116f * fy - 16f;
+            float a = 500f * (fx - fy);
+            float bb = 200f * (fy - fz);
+            if (l > BACKGROUND_L && a * a + bb * bb < BACKGROUND_CHROMA * BACKGROUND_CHROMA) {
+                continue;
+            }
+            ws.l[n] = l;
+            ws.a[n] = a;
+            ws.b[n] = bb;
+            ws.rgb[n] = argb & 0xFFFFFF;
+            n++;
+        }
+        return n;
+    }
+
+    private static float labF(float t) {
+        return t > 0.008856f ? (float) Math.cbrt(t) : 7.787f * t + 16f / 116f;
+    }
+
+    /**
+     * 0xRRGGBB 한 색 → Lab (D65), out = {L, a, b} (추천 점수 계산용)
+     */
+    static void rgbToLab(int rgb, float[] out) {
+        float lr = LINEAR[(rgb >> 16) & 0xFF];
+        float lg = LINEAR[(rgb >> 8) & 0xFF];
+        float lb = LINEAR[rgb & 0xFF];
+        float fx = labF((0.4124f * lr + 0.3576f * lg + 0.1805f * lb) / 0.95047f);
+        float fy = labF(0.2126f * lr + 0.7152f * lg + 0.0722f * lb);
+        float fz = labF((0.0193f * lr + 0.1192f * lg + 0.9505f * lb) / 1.08883f);
+        out[0] = 116f * fy - 16f;
+        out[1] = 500f * (fx - fy);
+        out[2] = 200f * (fy - fz);
+    }
+
+    /**
+     * k-means (초기 중심은 밝기 범위에 고르게 분포된 픽셀, 결과가 항상 같도록 난수 미사용)
+     */
+    private void cluster(Workspace ws, int n) {
+        float minL = Float.MAX_VALUE;
+        float maxL = -Float.MAX_VALUE;
+        int minIdx = 0;
+        int maxIdx = 0;
+        for (int i = 0; i < n; i++) {
+            if (ws.l[i] < minL) { minL = ws.l[i]; minIdx = i; }
+            if (ws.l[i] > maxL) { maxL = ws.l[i]; maxIdx = i; }
+        }
+        for (int c = 0; c < k; c++) {
+            int idx = c == 0 ? minIdx : c == k - 1 ? maxIdx : (int) ((long) c * (n - 1) / (k - 1));
+            ws.cl[c] = ws.l[idx];
+            ws.ca[c] = ws.a[idx];
+            ws.cb[c] = ws.b[idx];
+        }
+
+        for (int iter = 0; iter < MAX_ITERATIONS; iter++) {
+            boolean changed = false;
+            for (int i = 0; i < n; i++) {
+                int best = 0;
+                float bestDist = Float.MAX_VALUE;
+                for (int c = 0; c < k; c++) {
+                    float dl = ws.l[i] - ws.cl[c];
+                    float da = ws.a[i] - ws.ca[c];
+                    float db = ws.b[i] - ws.cb[c];
+                    float dist = dl * dl + da * da + db * db;
+                    if (dist < bestDist) {
+                        bestDist = dist;
+                        best = c;
+                    }
+                }
+                if (iter == 0 || ws.assign[i] != best) {
+                    ws.assign[i] = best;
+                    changed = true;
+                }
+            }
+            if (!changed) {
+                break;
+            }
+            for (int c = 0; c < k; c++) {
+                ws.sumL[c] = 0; ws.sumA[c] = 0; ws.sumB[c] = 0; ws.count[c] = 0;
+            }
+            for (int i = 0; i < n; i++) {
+                int c = ws.assign[i];
+                ws.sumL[c] += ws.l[i];
+                ws.sumA[c] += ws.a[i];
+                ws.sumB[c] += ws.b[i];
+                ws.count[c]++;
+            }
+            for (int c = 0; c < k; c++) {
+                if (ws.count[c] > 0) {
+                    ws.cl[c] = (float) (ws.sumL[c] / ws.count[c]);
+                    ws.ca[c] = (float) (ws.sumA[c] / ws.count[c]);
+                    ws.cb[c] = (float) (ws.sumB[c] / ws.count[c]);
+                }
+            }
+        }
+    }
+
+    /**
+     * 군집별 비중으로 대표 색상 / 언더톤 / 밝기 / 채도 계산
+     */
+    private Estimate summarize(Workspace ws, int n) {
+        for (int c = 0; c < k; c++) {
+            ws.count[c] = 0; ws.sumR[c] = 0; ws.sumG[c] = 0; ws.sumBl[c] = 0;
+        }
+        for (int i = 0; i < n; i++) {
+            int c = ws.assign[i];
+            int rgb = ws.rgb[i];
+            ws.count[c]++;
+            ws.sumR[c] += (rgb >> 16) & 0xFF;
+            ws.sumG[c] += (rgb >> 8) & 0xFF;
+            ws.sumBl[c] += rgb & 0xFF;
+        }
+
+        List<int[]> order = new ArrayList<>(k);
+        double warmth = 0;
+        double chromaticWeight = 0;
+        double lightness = 0;
+        double chroma = 0;
+        for (int c = 0; c < k; c++) {
+            if (ws.count[c] == 0) {
+                continue;
+            }
+            double weight = (double) ws.count[c] / n;
+            double clusterChroma = Math.sqrt(ws.ca[c] * ws.ca[c] + ws.cb[c] * ws.cb[c]);
+            lightness += weight * ws.cl[c];
+            chroma += weight * clusterChroma;
+            if (clusterChroma >= NEUTRAL_CHROMA) {
+                double hue = Math.atan2(ws.cb[c], ws.ca[c]);
+                warmth += weight * Math.cos(hue - WARM_HUE);
+                chromaticWeight += weight;
+            }
+            order.add(new int[]{c, ws.count[c]});
+        }
+        order.sort((x, y) -> Integer.compare(y[1], x[1]));
+
+        List<String> dominantColors = new ArrayList<>(order.size());
+        for (int[] entry : order) {
+            int c = entry[0];
+            dominantColors.add(String.format("#%02X%02X%02X",
+                    ws.sumR[c] / ws.count[c], ws.sumG[c] / ws.count[c], ws.sumBl[c] / ws.count[c]));
+        }
+
+        // 무채색 위주 이미지는 언더톤을 판단하지 않음
+        if (chromaticWeight < 0.2) {
+            return new Estimate(Collections.unmodifiableList(dominantColors), PersonalColor.Season.UNKNOWN,
+                    0, lightness, chroma, 0);
+        }
+        double undertone = warmth / chromaticWeight;
+        int confidence = (int) Math.round(Math.min(1.0, Math.abs(undertone)) * Math.min(1.0, chromaticWeight) * 100);
+        return new Estimate(Collections.unmodifiableList(dominantColors), estimateSeason(undertone, lightness, chroma),
+                undertone, lightness, chroma, confidence);
+    }
+
+    /**
+     * 언더톤 + 밝기 + 채도로 대략적인 계절 추정
+     * 웜: 밝으면 봄, 어두우면 가을 / 쿨: 밝고 부드러우면 여름, 그 외 겨울
+     */
+    private static PersonalColor.Season estimateSeason(double undertone, double lightness, double chroma) {
+        if (undertone > 0) {
+            return lightness >= 60 ? PersonalColor.Season.SPRING : PersonalColor.Season.AUTUMN;
+        }
+        return lightness >= 60 && chroma < 30 ? PersonalColor.Season.SUMMER : PersonalColor.Season.WINTER;
+    }
+
+    /**
+     * 추정 결과
+     */
+    public static class Estimate {
+        static final Estimate UNKNOWN = new Estimate(Collections.emptyList(), PersonalColor.Season.UNKNOWN, 0, 0, 0, 0);
+
+        private final List<String> dominantColors;
+        private final PersonalColor.Season season;
+        private final double undertone;
+        private final double lightness;
+        private final double chroma;
+        private final int confidence;
+
+        public Estimate(List<String> dominantColors, PersonalColor.Season season,
+                        double undertone, double lightness, double chroma, int confidence) {
+            this.dominantColors = dominantColors;
+            this.season = season;
+            this.undertone = undertone;
+            this.lightness = lightness;
+            this.chroma = chroma;
+            this.confidence = confidence;
+        }
+
+        public List<String> getDominantColors() { return dominantColors; }
+        public PersonalColor.Season getSeason() { return season; }
+        /** 웜(+1) ~ 쿨(-1) */
+        public double getUndertone() { return undertone; }
+        public double getLightness() { return lightness; }
+        public double getChroma() { return chroma; }
+        public int getConfidence() { return confidence; }
+
+        @Override
+        public String toString() {
+            return String.format("%s undertone=%.2f L=%.1f C=%.1f (%d%%) %s",
+                    season.getLabel(), undertone, lightness, chroma, confidence, dominantColors);
+        }
+    }
+
+    /**
+     * 스레드별 작업 배열 (이미지마다 새로 만들지 않음)
+     */
+    private static final class Workspace {
+        int capacity;
+        int[] argb;
+        int[] rgb;
+        float[] l;
+        float[] a;
+        float[] b;
+        int[] assign;
+
+        final float[] cl;
+        final float[] ca;
+        final float[] cb;
+        final double[] sumL;
+        final double[] sumA;
+        final double[] sumB;
+        final int[] count;
+        final int[] sumR;
+        final int[] sumG;
+        final int[] sumBl;
+
+        Workspace(int capacity, int k) {
+            resize(capacity);
+            cl = new float[k]; ca = new float[k]; cb = new float[k];
+            sumL = new double[k]; sumA = new double[k]; sumB = new double[k];
+            count = new int[k];
+            sumR = new int[k]; sumG = new int[k]; sumBl = new int[k];
+        }
+
+        void resize(int capacity) {
+            this.capacity = capacity;
+            argb = new int[capacity];
+            rgb = new int[capacity];
+            l = new float[capacity];
+            a = new float[capacity];
+            b = new float[capacity];
+            assign = new int[capacity];
+        }
+    }
+}
@@ -1,18 +1,57 @@
 package com.mywork.recom;
 
+import org.apache.http.pool.PoolStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import javax.servlet.http.HttpServletResponse;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Controller
 public class HomeController {
 
+    private static final Logger log = LoggerFactory.getLogger(HomeController.class);
+
     private final HomeService homeService;
+    private final PooledHttpClient pooledHttpClient;
+    private final RecommendMetrics metrics;
+    private final RecommendStreamService recommendStreamService;
+    private final ImageDeduplicator imageDeduplicator;
+    private final CatalogSnapshot catalogSnapshot;
+    private final MultiCategoryRecommendService multiCategoryRecommendService;
+    private final PaletteIndex paletteIndex;
+    private final RecommendPageCache recommendPageCache;
+
+    // 비슷한 색상 검색 결과 개수 상한 / k 생략시 가까운 순 검색 개수
+    private static final int MAX_SIMILAR = 200;
+    private static final int DEFAULT_SIMILAR = 20;
+    // 비슷한 색상 검색 반경 상한 (Lab 공간 대각선 약 375 보다 큼)
+    private static final float MAX_RADIUS = 400f;
 
-    public HomeController(HomeService homeService) {
+    public HomeController(HomeService homeService, PooledHttpClient pooledHttpClient, RecommendMetrics metrics,
+                          RecommendStreamService recommendStreamService, ImageDeduplicator imageDeduplicator,
+                          CatalogSnapshot catalogSnapshot, MultiCategoryRecommendService multiCategoryRecommendService,
+                          PaletteIndex paletteIndex, RecommendPageCache recommendPageCache) {
         this.homeService = homeService;
+        this.pooledHttpClient = pooledHttpClient;
+        this.metrics = metrics;
+        this.recommendStreamService = recommendStreamService;
+        this.imageDeduplicator = imageDeduplicator;
+        this.catalogSnapshot = catalogSnapshot;
+        this.multiCategoryRecommendService = multiCategoryRecommendService;
+        this.paletteIndex = paletteIndex;
+        this.recommendPageCache = recommendPageCache;
     }
 
     @GetMapping("/")
@@ -20,53 +59,167 @@ public class HomeController {
         return "main/index";
     }
 
+    /**
+     * 추천 결과 페이지 (새로고침 / 뒤로 가기로 같은 퍼스널 컬러를 다시 보는 경우가 많음)
+     * - 색인이 준비된 카테고리는 카탈로그 버전별로 캐시한 결과를 쓰고 ETag / Last-Modified 를 붙임
+     * - 브라우저나 리버스 프록시의 조건부 GET 은 카탈로그가 바뀌지 않았으면 304 (HomeService 호출 없음)
+     */
+    @GetMapping("/recommend")
+    public String recommendPage(@RequestParam("personal") int personal, WebRequest request,
+                                HttpServletResponse response, Model model) {
+        if (personal < 1 || personal > PersonalColor.selectableCount()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "알 수 없는 퍼스널 컬러: " + personal);
+        }
+        long startTime = System.currentTimeMillis();
+        RecommendPageCache.Page page;
+        try {
+            page = recommendPageCache.lookup(HomeService.DEFAULT_CATEGORY_URL, personal);
+        } catch (Exception e) {
+            log.error("상품 추천 중 오류 발생", e);
+            return renderError(personal, model);
+        }
+        if (page == null) {
+            return recommendLive(personal, model);
+        }
+        // 캐시는 해도 매번 재검증 (카탈로그가 갱신되면 바로 새 결과)
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        if (request.checkNotModified(page.getETag(), page.getLastModified())) {
+            metrics.getNotModified().increment();
+            return null;
+        }
+        long totalTime = System.currentTimeMillis() - startTime;
+        metrics.getRequestTimer().record(totalTime, TimeUnit.MILLISECONDS);
+        return render(page.getPersonalColor(), page.getItems(), totalTime, model);
+    }
+
+    /**
+     * 이전 폼(POST) 호환 - 결과 페이지 GET 으로 보내 새로고침해도 다시 전송되지 않게 함
+     */
     @PostMapping("/recommend")
-    public String recommendClothes(@RequestParam("personal") int personal, Model model) {
+    public String recommendClothes(@RequestParam("personal") int personal) {
+        return "redirect:/recommend?personal=" + personal;
+    }
+
+    /**
+     * 색인 준비 전 실시간 분석 추천 (카탈로그 버전이 없으므로 검증자 없이 응답)
+     */
+    private String recommendLive(int personal, Model model) {
         try {
             // 퍼스널 컬러 가져오기
             String personalColor = homeService.getPersonalColor(personal);
-            model.addAttribute("personalColor", personalColor);
 
-            System.out.println("사용자 선택: " + personalColor);
+            log.info("사용자 선택: {}", personalColor);
             long startTime = System.currentTimeMillis();
 
             // AI 기반 퍼스널 컬러 추천
-            String categoryUrl = "https://www.kolonmall.com/Category/List/133010071000?sort=newProduct-desc";
-            List<ProductDTO> recommendedItems = homeService.getRecommendedProducts(categoryUrl, personalColor);
+            String categoryUrl = HomeService.DEFAULT_CATEGORY_URL;
+            List<ProductDTO> recommendedItems = homeService.findRecommendedProducts(categoryUrl, personalColor);
 
             long endTime = System.currentTimeMillis();
             long totalTime = endTime - startTime;
+            metrics.getRequestTimer().record(totalTime, TimeUnit.MILLISECONDS);
 
-            // 결과 정보
-            model.addAttribute("items", recommendedItems);
-            model.addAttribute("totalCount", recommendedItems.size());
-            model.addAttribute("processingTime", totalTime / 1000); // 초 단위
+            return render(personalColor, recommendedItems, totalTime, model);
 
-            System.out.println("추천 완료: " + recommendedItems.size() + "개 상품 (처리시간: " + totalTime / 1000 + "초)");
+        } catch (Exception e) {
+            log.error("상품 추천 중 오류 발생", e);
+            return renderError(personal, model);
+        }
+    }
 
-            // 추천 결과에 따른 메시지 설정
-            if (recommendedItems.size() > 0) {
-                model.addAttribute("successMessage", personalColor + " 톤에 완벽하게 어울리는 상품들을 찾았습니다!");
-            } else {
-                model.addAttribute("infoMessage", "현재 " + personalColor + " 톤에 맞는 상품이 없습니다. 더 많은 상품을 분석해보세요.");
-            }
+    private String render(String personalColor, List<ProductDTO> recommendedItems, long totalTime, Model model) {
+        model.addAttribute("personalColor", personalColor);
 
-            return "recommend/recommend";
+        // 결과 정보
+        model.addAttribute("items", recommendedItems);
+        model.addAttribute("totalCount", recommendedItems.size());
+        model.addAttribute("processingTime", String.format("%.1f", totalTime / 1000.0)); // 초 단위 (소수점 한 자리)
 
-        } catch (Exception e) {
-            System.err.println("❌ 상품 추천 중 오류 발생: " + e.getMessage());
-            e.printStackTrace();
+        log.info("추천 완료: {}개 상품 (처리시간: {}ms)", recommendedItems.size(), totalTime);
 
-            // 오류 발생시 기본값 설정
-            String personalColor = homeService.getPersonalColor(personal);
-            model.addAttribute("personalColor", personalColor);
-            model.addAttribute("items", List.of());
-            model.addAttribute("totalCount", 0);
-            model.addAttribute("processingTime", 0);
-            model.addAttribute("errorMessage", "상품 추천 중 오류가 발생했습니다. AI 서버 상태를 확인해주세요.");
+        // 추천 결과에 따른 메시지 설정
+        if (recommendedItems.size() > 0) {
+            model.addAttribute("successMessage", personalColor + " 톤에 완벽하게 어울리는 상품들을 찾았습니다!");
+        } else {
+            model.addAttribute("infoMessage", "현재 " + personalColor + " 톤에 맞는 상품이 없습니다. 더 많은 상품을 분석해보세요.");
+        }
+
+        return "recommend/recommend";
+    }
+
+    private String renderError(int personal, Model model) {
+        // 오류 발생시 기본값 설정
+        String personalColor = homeService.getPersonalColor(personal);
+        model.addAttribute("personalColor", personalColor);
+        model.addAttribute("items", List.of());
+        model.addAttribute("totalCount", 0);
+        model.addAttribute("processingTime", 0);
+        model.addAttribute("errorMessage", "상품 추천 중 오류가 발생했습니다. AI 서버 상태를 확인해주세요.");
+
+        return "recommend/recommend";
+    }
+
+    /**
+     * 스트리밍 추천 (Server-Sent Events)
+     * 매칭 상품을 분석이 끝나는 대로 하나씩 전송 - EventSource 로 구독
+     */
+    @GetMapping(value = "/recommend/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter recommendStream(@RequestParam("personal") int personal) {
+        if (personal < 1 || personal > PersonalColor.selectableCount()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "알 수 없는 퍼스널 컬러: " + personal);
+        }
+        String personalColor = homeService.getPersonalColor(personal);
+        log.info("스트리밍 추천 요청: {}", personalColor);
+        return recommendStreamService.open(HomeService.DEFAULT_CATEGORY_URL, personalColor);
+    }
 
-            return "recommend/recommend";
+    /**
+     * 여러 카테고리 추천 (JSON, 마감 시간 안에 끝난 카테고리만 포함)
+     */
+    @GetMapping(value = "/api/recommend/multi", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public MultiCategoryRecommendService.Result recommendMulti(@RequestParam("personal") int personal) {
+        if (personal < 1 || personal > PersonalColor.selectableCount()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "알 수 없는 퍼스널 컬러: " + personal);
         }
+        String personalColor = homeService.getPersonalColor(personal);
+        log.info("다중 카테고리 추천 요청: {}", personalColor);
+        long startTime = System.currentTimeMillis();
+        MultiCategoryRecommendService.Result result = multiCategoryRecommendService.recommend(personalColor);
+        metrics.getRequestTimer().record(System.currentTimeMillis() - startTime, TimeUnit.MILLISECONDS);
+        return result;
+    }
+
+    /**
+     * 대표 색상이 검색 팔레트와 비슷한 상품 (JSON, 분석이 끝난 상품만 대상)
+     * - colors: 쉼표로 구분한 hex 색상 (예: 8C8C9A,B4A8B8)
+     * - radius 가 있으면 그 ΔE 이내를 가까운 순서로 최대 k 개 (k 생략시 200개), 없으면 가까운 순서로 k 개 (생략시 20개)
+     */
+    @GetMapping(value = "/api/similar-colors", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public List<PaletteIndex.Match> similarColors(@RequestParam("colors") String colors,
+                                                  @RequestParam(value = "k", required = false) Integer k,
+                                                  @RequestParam(value = "radius", required = false) Float radius) {
+        String[] values = colors.split(",");
+        int[] palette = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            palette[i] = AIColorService.ColorAnalysisResult.parseHex(values[i], 0, values[i].length());
+            if (palette[i] < 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "잘못된 색상 값: " + values[i]);
+            }
+        }
+        int limit = k != null ? k : radius != null ? MAX_SIMILAR : DEFAULT_SIMILAR;
+        if (limit < 1 || limit > MAX_SIMILAR) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "k 는 1~" + MAX_SIMILAR + " 사이여야 합니다: " + limit);
+        }
+        if (radius != null) {
+            if (!(radius >= 0 && radius <= MAX_RADIUS)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "radius 는 0~" + (int) MAX_RADIUS + " 사이여야 합니다: " + radius);
+            }
+            return paletteIndex.withinRadius(palette, radius, limit);
+        }
+        return paletteIndex.nearest(palette, limit);
     }
 
     // 테스트용 API 엔드포인트들
@@ -74,13 +227,56 @@ public class HomeController {
     @ResponseBody
     public String testAIServer() {
         try {
-            // AI 서버 상태 확인 (이 기능은 AIColorService에 추가 필요)
-            return "🟢 AI 서버 연결 정상";
+            // 직접 상태 확인 + 회로 차단기 상태 (추천 요청은 회로 상태만 사용)
+            AIColorService aiColorService = homeService.getAIColorService();
+            String circuit = " / 회로: " + aiColorService.getCircuitBreaker();
+            return aiColorService.isAIServerHealthy()
+                    ? "🟢 AI 서버 연결 정상" + circuit
+                    : "🔴 AI 서버 응답 없음" + circuit;
         } catch (Exception e) {
             return "🔴 AI 서버 연결 실패: " + e.getMessage();
         }
     }
 
+    @GetMapping("/api/cache-stats")
+    @ResponseBody
+    public String cacheStats() {
+        return "분석 캐시: " + homeService.getAIColorService().getCacheStats()
+                + String.format(" / 이미지 중복 제거: %d/%d (%.1f%%)", imageDeduplicator.getHits(),
+                imageDeduplicator.getLookups(), imageDeduplicator.getHitRate() * 100);
+    }
+
+    @GetMapping("/api/http-pool-stats")
+    @ResponseBody
+    public String httpPoolStats() {
+        PoolStats stats = pooledHttpClient.getPoolStats();
+        return "HTTP 커넥션 풀: leased=" + stats.getLeased()
+                + ", idle=" + stats.getAvailable()
+                + ", pending=" + stats.getPending()
+                + ", max=" + stats.getMax();
+    }
+
+    /**
+     * 준비 상태 확인 (워밍업 전에는 503 → 로드밸런서 / 쿠버네티스 readiness probe 용)
+     */
+    @GetMapping("/health/ready")
+    @ResponseBody
+    public ResponseEntity<String> ready() {
+        if (!catalogSnapshot.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("WARMING_UP");
+        }
+        return ResponseEntity.ok("READY (복원 상품 " + catalogSnapshot.getRestoredProducts() + "개)");
+    }
+
+    /**
+     * Prometheus 수집용 메트릭 (텍스트 포맷)
+     */
+    @GetMapping(value = "/metrics", produces = "text/plain; version=0.0.4; charset=utf-8")
+    @ResponseBody
+    public String metrics() {
+        return metrics.scrape();
+    }
+
     @GetMapping("/api/analyze-sample")
     @ResponseBody
     public String analyzeSampleProduct() {
@@ -1,199 +1,288 @@
-
 package com.mywork.recom;
 
-import org.openqa.selenium.By;
-import org.openqa.selenium.JavascriptExecutor;
-import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 @Service
-public class HomeService {
+public class HomeService implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(HomeService.class);
 
     @Autowired
     private AIColorService aiColorService;
 
-    // 테스트용 상품 개수 제한
-    private static final int TEST_PRODUCT_LIMIT = 6;
+    @Autowired
+    private ColorAnalysisExecutor colorAnalysisExecutor;
 
-    public String getPersonalColor(int personal) {
-        String[] color = {"", "봄 라이트", "봄 브라이트", "여름 라이트", "여름 브라이트", "여름 뮤트", "가을 뮤트", "가을 스트롱", "가을 딥", "겨울 브라이트", "겨울 딥"};
-        return color[personal];
-    }
+    @Autowired
+    private ProductSource productSource;
 
-    /**
-     * 퍼스널 컬러 기반 상품 추천 (디버깅 강화)
-     */
-    public List<ProductDTO> getRecommendedProducts(String url, String userPersonalColor) {
-        System.out.println("=== 상품 추천 시작 ===");
-        System.out.println("사용자 퍼스널 컬러: " + userPersonalColor);
-        System.out.println("테스트 모드: 최신 상품 " + TEST_PRODUCT_LIMIT + "개 분석");
+    @Autowired
+    private ProductColorIndex productColorIndex;
 
-        // AI 서버 상태 확인
-        boolean aiServerHealthy = aiColorService.isAIServerHealthy();
-        System.out.println("AI 서버 상태: " + (aiServerHealthy ? "정상" : "비정상"));
+    @Autowired
+    private RecommendMetrics metrics;
 
-        if (!aiServerHealthy) {
-            System.err.println("AI 서버가 응답하지 않습니다. 기본 상품 리스트를 반환합니다.");
-            return getProductListLimited(url, TEST_PRODUCT_LIMIT);
-        }
+    @Autowired
+    private LocalColorPreFilter localColorPreFilter;
 
-        long startTime = System.currentTimeMillis();
+    // 추천 상품 개수 (점수 상위 K개)
+    @Value("${recommend.match-limit:10}")
+    private int matchLimit;
 
-        // 1단계: 최신 상품 수집
-        System.out.println("\n=== 1단계: 상품 수집 ===");
-        List<ProductDTO> limitedProducts = getProductListLimited(url, TEST_PRODUCT_LIMIT);
-        System.out.println("수집된 상품 수: " + limitedProducts.size());
+    // 상위 K개가 충분히 좋지 않아도 이 개수까지만 상품을 훑음
+    @Value("${recommend.max-scan:60}")
+    private int maxScan;
 
-        if (limitedProducts.isEmpty()) {
-            System.err.println("상품 데이터를 가져올 수 없습니다.");
-            return limitedProducts;
-        }
+    // 상위 K개가 모두 이 점수 이상이면 더 훑지 않음 (1 이상이면 max-scan 범위의 정확한 상위 K개, 0 이면 K개가 모이는 즉시 중단)
+    @Value("${recommend.score.stop-score:0.75}")
+    private double stopScore;
 
-        // 수집된 상품 목록 출력
-        System.out.println("\n=== 수집된 상품 목록 ===");
-        for (int i = 0; i < limitedProducts.size(); i++) {
-            ProductDTO product = limitedProducts.get(i);
-            System.out.println((i + 1) + ". " + product.getName());
-            System.out.println("   이미지: " + product.getImageUrl());
-        }
+    // 한 번에 분석을 맡기는 상품 수
+    @Value("${recommend.scan-batch:8}")
+    private int scanBatch;
 
-        // 2단계: AI 색상 분석 및 필터링
-        System.out.println("\n=== 2단계: AI 색상 분석 ===");
-        List<ProductDTO> recommendedProducts = new ArrayList<>();
-
-        int analyzedCount = 0;
-        int matchedCount = 0;
-
-        for (ProductDTO product : limitedProducts) {
-            try {
-                System.out.println("\n--- 분석 중 [" + (analyzedCount + 1) + "/" + limitedProducts.size() + "] ---");
-                System.out.println("상품명: " + product.getName());
-                System.out.println("이미지 URL: " + product.getImageUrl());
-
-                // AI 색상 분석
-                AIColorService.ColorAnalysisResult analysis = aiColorService.analyzeProductColor(product.getImageUrl());
-                analyzedCount++;
-
-                System.out.println("AI 분석 결과:");
-                System.out.println("  - 퍼스널 컬러: " + analysis.getPersonalColor());
-                System.out.println("  - 신뢰도: " + analysis.getConfidence() + "%");
-                System.out.println("  - 분석 근거: " + analysis.getReason());
-
-                // 디버깅: 호환성 확인 과정
-                System.out.println("\n호환성 확인:");
-                System.out.println("  - 사용자 컬러: " + userPersonalColor);
-                System.out.println("  - 상품 컬러: " + analysis.getPersonalColor());
-                System.out.println("  - 신뢰도: " + analysis.getConfidence() + "%");
-
-                boolean isCompatible = aiColorService.isCompatibleColor(userPersonalColor, analysis.getPersonalColor(), analysis.getConfidence());
-                System.out.println("  - 호환성 결과: " + (isCompatible ? "매칭됨" : "매칭 안됨"));
-
-                if (isCompatible) {
-                    recommendedProducts.add(product);
-                    matchedCount++;
-                    System.out.println("✅ 매칭 성공!");
-                } else {
-                    System.out.println("❌ 매칭 실패");
-
-                    // 매칭 실패 이유 상세 분석
-                    debugMatchingFailure(userPersonalColor, analysis);
-                }
+    // 동일 요청 합치기 (진행 중인 계산 공유 + 짧은 기간 결과 재사용)
+    @Value("${recommend.coalesce.ttl-ms:15000}")
+    private long coalesceTtlMillis;
 
-                // 짧은 대기 시간
-                Thread.sleep(500);
+    @Value("${recommend.coalesce.max-entries:256}")
+    private int coalesceMaxEntries;
 
-            } catch (Exception e) {
-                System.err.println("상품 분석 실패: " + product.getName() + " - " + e.getMessage());
-                e.printStackTrace();
-            }
-        }
+    // (카테고리 URL, 퍼스널 컬러, 목표 개수) → 추천 결과
+    private AnalysisCache<List<ProductDTO>> recommendations;
+
+    // 기본 추천 카테고리 (신상품순)
+    public static final String DEFAULT_CATEGORY_URL = "https://www.kolonmall.com/Category/List/133010071000?sort=newProduct-desc";
+
+    @Override
+    public void afterPropertiesSet() {
+        recommendations = new AnalysisCache<>(coalesceMaxEntries, coalesceTtlMillis);
+        matchLimit = Math.max(1, matchLimit);
+        maxScan = Math.max(matchLimit, maxScan);
+        scanBatch = Math.max(1, scanBatch);
+    }
+
+    public String getPersonalColor(int personal) {
+        return PersonalColor.selectableLabel(personal);
+    }
 
-        long endTime = System.currentTimeMillis();
-        long duration = endTime - startTime;
-
-        // 최종 결과 출력
-        System.out.println("\n=== 최종 결과 ===");
-        System.out.println("테스트 상품: " + limitedProducts.size() + "개");
-        System.out.println("분석 완료: " + analyzedCount + "개");
-        System.out.println("매칭된 상품: " + matchedCount + "개");
-        System.out.println("처리 시간: " + (duration / 1000) + "초");
-        if (analyzedCount > 0) {
-            System.out.println("매칭률: " + String.format("%.1f", (double) matchedCount / analyzedCount * 100) + "%");
+    /**
+     * 추천 상품 조회
+     * 백그라운드 크롤러가 만든 색인이 있으면 바로 반환, 아직 없으면 실시간 분석
+     */
+    public List<ProductDTO> findRecommendedProducts(String url, String userPersonalColor) {
+        List<ProductDTO> indexed = productColorIndex.lookup(url, userPersonalColor);
+        if (indexed != null) {
+            log.info("색인에서 추천 상품 반환: {}개 ({})", Math.min(indexed.size(), matchLimit), userPersonalColor);
+            return indexed.size() > matchLimit ? indexed.subList(0, matchLimit) : indexed;
         }
+        log.info("색인 준비 전 - 실시간 분석으로 추천 ({})", userPersonalColor);
+        return getRecommendedProducts(url, userPersonalColor);
+    }
 
-        if (recommendedProducts.isEmpty()) {
-            System.out.println("\n⚠️ 매칭된 상품이 없습니다!");
-        } else {
-            System.out.println("\n✅ 추천 상품 목록:");
-            for (int i = 0; i < recommendedProducts.size(); i++) {
-                System.out.println((i + 1) + ". " + recommendedProducts.get(i).getName());
+    /**
+     * 퍼스널 컬러 기반 상품 추천
+     * 같은 (카테고리, 퍼스널 컬러, 목표 개수) 요청이 동시에 들어오면 한 번만 계산해 결과를 공유하고,
+     * 계산이 끝난 결과도 recommend.coalesce.ttl-ms 동안 재사용
+     */
+    public List<ProductDTO> getRecommendedProducts(String url, String userPersonalColor) {
+        String key = url + '|' + userPersonalColor + '|' + matchLimit + '|' + maxScan;
+        return coalesce(recommendations, key, () -> computeRecommendedProducts(url, userPersonalColor));
+    }
+
+    private List<ProductDTO> coalesce(AnalysisCache<List<ProductDTO>> cache, String key, Callable<List<ProductDTO>> loader) {
+        boolean[] computed = {false};
+        try {
+            List<ProductDTO> result = cache.getOrLoad(key, () -> {
+                computed[0] = true;
+                // 여러 요청이 같은 목록을 받으므로 변경 불가로 공유
+                return Collections.unmodifiableList(loader.call());
+            });
+            if (!computed[0]) {
+                metrics.getCoalesced().increment();
+                log.debug("동일 요청 결과 공유: {}", key);
             }
+            return result;
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
         }
-
-        return recommendedProducts;
     }
 
     /**
-     * 매칭 실패 이유 상세 분석
+     * 퍼스널 컬러 기반 상품 추천 계산 (디버깅 강화)
      */
-    private void debugMatchingFailure(String userPersonalColor, AIColorService.ColorAnalysisResult analysis) {
-        System.out.println("\n--- 매칭 실패 상세 분석 ---");
+    private List<ProductDTO> computeRecommendedProducts(String url, String userPersonalColor) {
+        log.info("상품 추천 시작 - 사용자 퍼스널 컬러: {}, 매칭 {}개 목표 (최대 {}개 탐색)", userPersonalColor, matchLimit, maxScan);
 
-        // 신뢰도 체크
-        if (analysis.getConfidence() < 60) {
-            System.out.println("실패 이유: 신뢰도 부족 (" + analysis.getConfidence() + "% < 60%)");
-            return;
+        // AI 서버 장애는 회로 차단기가 판단 (차단 중이면 분석 단계에서 캐시 / 로컬 추정으로 즉시 대체)
+        if (aiColorService.getCircuitBreaker().isOpen()) {
+            log.warn("AI 서버 회로 차단 중 - 캐시 및 로컬 색상 추정으로 추천합니다.");
         }
 
-        // 정확한 일치 체크
-        if (userPersonalColor.equals(analysis.getPersonalColor())) {
-            System.out.println("이상함: 정확히 일치하는데 매칭 실패");
-            return;
+        long startTime = System.currentTimeMillis();
+        ScanResult result = scanForMatches(url, userPersonalColor, null);
+        long duration = System.currentTimeMillis() - startTime;
+
+        // 최종 결과
+        log.info("상품 추천 완료 - 탐색 {}개, 분석 {}개, 순위에 들 수 없어 생략 {}개, 추천 {}개, 처리 시간 {}ms",
+                result.scanned, result.analyzed, result.pruned, result.matched.size(), duration);
+        if (result.scanned == 0) {
+            log.warn("상품 데이터를 가져올 수 없습니다. ({})", url);
+        } else if (result.matched.isEmpty()) {
+            log.info("매칭된 상품이 없습니다. ({})", userPersonalColor);
         }
+        return result.matched;
+    }
 
-        // 계절별 호환성 체크
-        String userSeason = extractSeason(userPersonalColor);
-        String productSeason = extractSeason(analysis.getPersonalColor());
-        System.out.println("사용자 계절: " + userSeason);
-        System.out.println("상품 계절: " + productSeason);
+    /**
+     * 카탈로그 순서대로 상품을 묶음 단위로 분석하며 점수 상위 recommend.match-limit 개를 유지
+     * - 상품은 커서에서 필요한 만큼만 꺼내므로 다음 페이지 / 무한 스크롤은 더 훑을 때만 로딩
+     * - 묶음마다 로컬 사전 필터 → 병렬 AI 분석
+     * - 분석 전 상품의 점수 상한은 MAX_SCORE 이므로, K번째 점수가 MAX_SCORE 에 닿으면 남은 상품은 순위에 들 수 없어 중단
+     *   (같은 점수는 카탈로그 순서가 빠른 쪽이 앞서므로 뒤 상품은 밀어낼 수 없음)
+     * - 그 전이라도 상위 K개가 모두 recommend.score.stop-score 이상이 되면 "충분히 좋음" 으로 보고 중단 (설정값 기준, 최적 보장 아님)
+     * - recommend.max-scan 개를 훑으면 중단
+     * - onMatch 는 분석이 끝나는 순서대로 그 시점 상위 K개에 든 상품을 받음 (나중에 밀려날 수 있음, 스트리밍용 / null 가능)
+     * 실시간 추천과 스트리밍 추천이 함께 사용
+     */
+    ScanResult scanForMatches(String url, String userPersonalColor, Consumer<ProductDTO> onMatch) {
+        ColorAffinity affinity = ColorAffinity.of(userPersonalColor);
+        TopK<ProductDTO> top = new TopK<>(matchLimit);
+        int scanned = 0;
+        int analyzed = 0;
+        int pruned = 0;
+
+        try (ProductSource.ProductCursor cursor = productSource.open(url)) {
+            while (scanned < maxScan && !goodEnough(top) && cursor.hasNext()) {
+                // 1단계: 다음 묶음 수집 (필요할 때만 다음 페이지 로딩)
+                int chunkSize = Math.min(scanBatch, maxScan - scanned);
+                List<ProductDTO> chunk = new ArrayList<>(chunkSize);
+                while (chunk.size() < chunkSize && cursor.hasNext()) {
+                    chunk.add(cursor.next());
+                }
+                int offset = scanned;
+                scanned += chunk.size();
+                log.debug("상품 묶음 수집: {}~{}번째", offset + 1, scanned);
+
+                // 이미지 URL 은 상품마다 한 번만 조립해 사전 필터 / 상한 추정 / AI 분석에서 함께 사용
+                List<String> imageUrls = new ArrayList<>(chunk.size());
+                for (ProductDTO product : chunk) {
+                    imageUrls.add(product.getImageUrl());
+                }
 
-        if (userSeason.equals(productSeason)) {
-            System.out.println("이상함: 같은 계절인데 매칭 실패");
-            return;
-        }
+                // 2단계: 로컬 색상 추정으로 확실히 안 맞는 상품 제외
+                boolean[] excluded = localColorPreFilter.ruleOut(imageUrls, userPersonalColor);
 
-        // 보색 관계 체크
-        boolean isComplementary = (userSeason.equals("봄") && productSeason.equals("가을")) ||
-                (userSeason.equals("가을") && productSeason.equals("봄")) ||
-                (userSeason.equals("여름") && productSeason.equals("겨울")) ||
-                (userSeason.equals("겨울") && productSeason.equals("여름"));
+                // 3단계: 상위 K개에 들 수 있는 상품만 AI 색상 분석 → 점수 계산
+                List<CompletableFuture<Double>> scores = new ArrayList<>(chunk.size());
+                for (int i = 0; i < chunk.size(); i++) {
+                    if (excluded[i]) {
+                        continue;
+                    }
+                    ProductDTO product = chunk.get(i);
+                    String imageUrl = imageUrls.get(i);
+                    int position = offset + i + 1;
+                    double threshold;
+                    synchronized (top) {
+                        threshold = top.threshold();
+                    }
+                    // 묶음 안에서 K번째 점수가 이미 최대가 되었으면 뒤 상품은 순위에 들 수 없음
+                    if (threshold >= ColorAffinity.MAX_SCORE) {
+                        pruned++;
+                        metrics.getScorePruned().increment();
+                        log.debug("순위에 들 수 없어 분석 생략 [{}] {} - K번째 점수 {}", position, product.getName(), threshold);
+                        continue;
+                    }
+                    scores.add(colorAnalysisExecutor.submit(imageUrl).handle((analysis, error) -> {
+                        // 타임아웃/실패 상품은 건너뛰고 나머지 결과로 추천 진행
+                        if (error != null) {
+                            Throwable cause = error.getCause() != null ? error.getCause() : error;
+                            if (cause instanceof TimeoutException) {
+                                log.warn("상품 분석 타임아웃: {}", product.getName());
+                            } else {
+                                log.warn("상품 분석 실패: {} - {}", product.getName(), cause.getMessage());
+                            }
+                            return null;
+                        }
+                        if (analysis == null) {
+                            return null;
+                        }
+                        double score = score(affinity, product, analysis, position, maxScan);
+                        if (score != ColorAffinity.INCOMPATIBLE) {
+                            boolean entered;
+                            synchronized (top) {
+                                entered = top.offer(product, score, position);
+                            }
+                            if (entered && onMatch != null) {
+                                onMatch.accept(product);
+                            }
+                        }
+                        return score;
+                    }));
+                }
 
-        if (isComplementary) {
-            System.out.println("보색 관계이지만 신뢰도 부족 (" + analysis.getConfidence() + "% <= 80%)");
-        } else {
-            System.out.println("다른 계열의 색상이므로 매칭 제외");
+                // 4단계: 묶음 분석이 모두 끝난 뒤 다음 묶음 여부 판단
+                for (CompletableFuture<Double> score : scores) {
+                    if (score.join() != null) {
+                        analyzed++;
+                    }
+                }
+            }
+        }
+        List<ProductDTO> ranked;
+        synchronized (top) {
+            ranked = top.toSortedList();
+        }
+        return new ScanResult(ranked, scanned, analyzed, pruned);
+    }
+
+    private boolean goodEnough(TopK<ProductDTO> top) {
+        synchronized (top) {
+            return top.isFull() && top.threshold() >= Math.min(stopScore, ColorAffinity.MAX_SCORE);
         }
     }
 
     /**
-     * 계절 추출 (디버깅용)
+     * 분석 결과의 추천 점수 계산 (호환되지 않으면 ColorAffinity.INCOMPATIBLE, 메트릭 / 진단 로그 포함)
+     * 실시간 추천과 스트리밍 추천이 함께 사용
      */
-    private String extractSeason(String personalColor) {
-        if (personalColor.startsWith("봄")) return "봄";
-        if (personalColor.startsWith("여름")) return "여름";
-        if (personalColor.startsWith("가을")) return "가을";
-        if (personalColor.startsWith("겨울")) return "겨울";
-        return "알 수 없음";
+    double score(ColorAffinity affinity, ProductDTO product, AIColorService.ColorAnalysisResult analysis,
+                 int position, int total) {
+        long checkStart = System.nanoTime();
+        double score = affinity.score(analysis);
+        metrics.getCompatibilityTimer().record(System.nanoTime() - checkStart, TimeUnit.NANOSECONDS);
+        if (score != ColorAffinity.INCOMPATIBLE) {
+            metrics.getMatches().increment();
+            log.debug("매칭 성공 [{}/{}] {} - {} ({}%, 점수 {})", position, total,
+                    product.getName(), analysis.getPersonalColor(), analysis.getConfidence(), score);
+        } else {
+            metrics.getMisses().increment();
+            if (log.isDebugEnabled()) {
+                // 매칭 실패 이유 상세 분석 (디버그 로그가 켜진 경우에만 생성)
+                log.debug("매칭 실패 [{}/{}] {}", position, total,
+                        MatchFailureDiagnostics.diagnose(product.getName(), affinity.getPersonalColor(), analysis));
+            }
+        }
+        log.trace("분석 근거 [{}]: {}", product.getName(), analysis.getReason());
+        return score;
     }
 
     /**
@@ -203,94 +292,48 @@ public class HomeService {
         return aiColorService;
     }
 
-    /**
-     * 제한된 개수의 상품만 스크래핑 (로깅 개선)
-     */
-    public static List<ProductDTO> getProductListLimited(String url, int limit) {
-        System.out.println("제한된 상품 스크래핑 시작 (최대 " + limit + "개)");
+    public int getMatchLimit() {
+        return matchLimit;
+    }
 
-        System.setProperty("webdriver.chrome.driver", "C:\\chromedriver\\chromedriver.exe");
+    public int getMaxScan() {
+        return maxScan;
+    }
 
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--headless=new");
-        options.addArguments("--disable-popup-blocking");
-        options.addArguments("--disable-notifications");
-        options.addArguments("--no-sandbox");
-        options.addArguments("--disable-dev-shm-usage");
-        options.addArguments("--window-size=1920,1080");
+    @Override
+    public void destroy() {
+        recommendations.close();
+    }
 
-        WebDriver driver = new ChromeDriver(options);
+    /**
+     * 카탈로그 앞쪽부터 상품을 최대 limit 개 수집 (백그라운드 크롤러용)
+     */
+    public List<ProductDTO> getProductListLimited(String url, int limit) {
+        log.info("제한된 상품 스크래핑 시작 (최대 {}개)", limit);
         List<ProductDTO> products = new ArrayList<>();
-
-        try {
-            driver.get(url);
-
-            // 로딩 메시지
-            JavascriptExecutor js = (JavascriptExecutor) driver;
-            js.executeScript("document.body.insertAdjacentHTML('afterbegin', '<div id=\"loadingMsg\" style=\"position:fixed;top:20px;left:20px;padding:10px;background:#000;color:#fff;z-index:9999;border-radius:5px\">최신 상품 " + limit + "개 수집 중...</div>');");
-
-            // 팝업 닫기
-            try {
-                WebDriverWait popupWait = new WebDriverWait(driver, Duration.ofSeconds(3));
-                WebElement closeBtn = popupWait.until(ExpectedConditions.elementToBeClickable(By.cssSelector(".popup-close")));
-                closeBtn.click();
-            } catch (Exception ignored) {
+        try (ProductSource.ProductCursor cursor = productSource.open(url)) {
+            while (products.size() < limit && cursor.hasNext()) {
+                products.add(cursor.next());
             }
-
-            // 상품 영역 대기
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-            wait.until(ExpectedConditions.presenceOfElementLocated(By.cssSelector("a[href*='/Product/']")));
-
-            List<WebElement> productElements = driver.findElements(By.cssSelector("a[href*='/Product/']"));
-            System.out.println("전체 상품 요소 수: " + productElements.size());
-
-            // 제한된 개수만 처리
-            int processedCount = 0;
-            for (WebElement el : productElements) {
-                if (processedCount >= limit) {
-                    System.out.println("제한된 개수 도달: " + limit + "개");
-                    break;
-                }
-
-                // 상품 정보 추출
-                String name = "";
-                try {
-                    name = el.findElement(By.cssSelector("div.textStyle_Body-14-M")).getText();
-                } catch (Exception ignored) {
-                }
-
-                String imageUrl = "";
-                try {
-                    WebElement imgEl = el.findElement(By.cssSelector("img"));
-                    imageUrl = imgEl.getAttribute("src");
-                    if (imageUrl == null || imageUrl.isEmpty()) {
-                        imageUrl = imgEl.getAttribute("data-src");
-                    }
-                } catch (Exception ignored) {
-                }
-
-                String productLink = el.getAttribute("href");
-                if (!productLink.startsWith("http")) {
-                    productLink = "https://www.kolonmall.com" + productLink;
-                }
-
-                if (!name.isEmpty() && !imageUrl.isEmpty()) {
-                    products.add(new ProductDTO(name, imageUrl, productLink));
-                    processedCount++;
-                    System.out.println("상품 추가 [" + processedCount + "/" + limit + "]: " + name);
-                }
-            }
-
-            // 메시지 제거
-            js.executeScript("const msg = document.getElementById('loadingMsg'); if (msg) msg.remove();");
-
-        } catch (Exception e) {
-            e.printStackTrace();
-        } finally {
-            driver.quit();
         }
-
-        System.out.println("최종 수집된 상품 수: " + products.size());
+        log.info("최종 수집된 상품 수: {}", products.size());
         return products;
     }
-}
\ No newline at end of file
+
+    /**
+     * 매칭 탐색 결과 (매칭 상품은 점수 내림차순, 같은 점수는 카탈로그 순서)
+     */
+    static final class ScanResult {
+        final List<ProductDTO> matched;
+        final int scanned;
+        final int analyzed;
+        final int pruned;
+
+        ScanResult(List<ProductDTO> matched, int scanned, int analyzed, int pruned) {
+            this.matched = matched;
+            this.scanned = scanned;
+            this.analyzed = analyzed;
+            this.pruned = pruned;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.mywork.recom;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.entity.ContentType;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 브라우저 없이 HTTP 로 상품 목록 페이지를 받아오는 상품 공급원
+ * - 서버가 렌더링한 HTML 을 ProductHtmlScanner 로 스트리밍 파싱 (문서 전체를 메모리에 올리지 않음)
+ * - 다음 페이지는 소비자가 더 요청할 때만 ?{page-param}=N 으로 요청
+ * - 새 상품이 없는 페이지를 만나면 끝으로 판단
+ */
+@Component
+public class HttpProductSource implements ProductSource {
+
+    private static final Logger log = LoggerFactory.getLogger(HttpProductSource.class);
+
+    private final CloseableHttpClient httpClient;
+    private final RecommendMetrics metrics;
+
+    private final String userAgent;
+    private final String pageParam;
+    private final int maxPages;
+    private final long maxPageBytes;
+
+    public HttpProductSource(PooledHttpClient pooledHttpClient,
+                             RecommendMetrics metrics,
+                             @Value("${scrape.http.user-agent:Mozilla/5.0 (X11; Linux x86_64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0 Safari/537.36}") String userAgent,
+                             @Value("${scrape.http.page-param:page}") String pageParam,
+                             @Value("${scrape.http.max-pages:10}") int maxPages,
+                             @Value("${scrape.http.max-page-bytes:5242880}") long maxPageBytes) {
+        this.httpClient = pooledHttpClient.getHttpClient();
+        this.metrics = metrics;
+        this.userAgent = userAgent;
+        this.pageParam = pageParam;
+        this.maxPages = Math.max(1, maxPages);
+        this.maxPageBytes = maxPageBytes;
+    }
+
+    @Override
+    public ProductCursor open(String categoryUrl) {
+        return new HttpCursor(categoryUrl);
+    }
+
+    /**
+     * 페이지 번호를 붙인 목록 URL (1페이지는 원래 URL)
+     */
+    String pageUrl(String categoryUrl, int page) {
+        if (page <= 1) {
+            return categoryUrl;
+        }
+        return categoryUrl + (categoryUrl.indexOf('?') >= 0 ? '&' : '?') + pageParam + '=' + page;
+    }
+
+    private static String siteUrl(String categoryUrl) {
+        try {
+            URI uri = new URI(categoryUrl);
+            if (uri.getScheme() != null && uri.getRawAuthority() != null) {
+                return uri.getScheme() + "://" + uri.getRawAuthority();
+            }
+        } catch (URISyntaxException ignored) {
+        }
+        return "https://www.kolonmall.com";
+    }
+
+    private final class HttpCursor implements ProductCursor {
+        private final String url;
+        private final ProductHtmlScanner scanner;
+        private final ArrayDeque<ProductDTO> buffer = new ArrayDeque<>();
+        private final Set<String> seenLinks = new HashSet<>();
+
+        private int page = 0;
+        private boolean exhausted = false;
+
+        HttpCursor(String url) {
+            this.url = url;
+            this.scanner = new ProductHtmlScanner(siteUrl(url));
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (buffer.isEmpty() && !exhausted) {
+                fetchMore();
+            }
+            return !buffer.isEmpty();
+        }
+
+        @Override
+        public ProductDTO next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return buffer.poll();
+        }
+
+        private void fetchMore() {
+            if (page >= maxPages) {
+                exhausted = true;
+                return;
+            }
+            page++;
+            String target = pageUrl(url, page);
+            long start = System.nanoTime();
+            HttpGet get = new HttpGet(target);
+            get.setHeader("User-Agent", userAgent);
+            get.setHeader("Accept", "text/html,application/xhtml+xml");
+            try (CloseableHttpResponse response = httpClient.execute(get)) {
+                int status = response.getStatusLine().getStatusCode();
+                HttpEntity entity = response.getEntity();
+                if (status / 100 != 2 || entity == null) {
+                    throw new IOException("HTTP " + status);
+                }
+                Charset charset = charsetOf(entity);
+                int added;
+                try (Reader reader = new InputStreamReader(new BoundedInputStream(entity.getContent(), maxPageBytes), charset)) {
+                    int before = buffer.size();
+                    scanner.scan(reader, product -> {
+                        if (seenLinks.add(product.getProductLink())) {
+                            buffer.add(product);
+                        }
+                    });
+                    added = buffer.size() - before;
+                }
+                log.debug("상품 페이지 수집: {} (새 상품 {}개)", target, added);
+                if (added == 0) {
+                    // 마지막 페이지 이후이거나 클라이언트 렌더링 페이지
+                    exhausted = true;
+                }
+            } catch (IOException e) {
+                get.abort();
+                log.warn("상품 페이지 요청 실패: {} - {}", target, e.getMessage());
+                exhausted = true;
+            } finally {
+                metrics.getScrapeTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        @Override
+        public void close() {
+            exhausted = true;
+            buffer.clear();
+        }
+    }
+
+    private static Charset charsetOf(HttpEntity entity) {
+        try {
+            ContentType contentType = ContentType.get(entity);
+            if (contentType != null && contentType.getCharset() != null) {
+                return contentType.getCharset();
+            }
+        } catch (RuntimeException ignored) {
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    /**
+     * 지정한 바이트 수를 넘으면 읽기를 중단하는 스트림
+     */
+    private static final class BoundedInputStream extends FilterInputStream {
+        private final long max;
+        private long count;
+
+        BoundedInputStream(InputStream in, long max) {
+            super(in);
+            this.max = max;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                check(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                check(n);
+            }
+            return n;
+        }
+
+        private void check(int n) throws IOException {
+            count += n;
+            if (count > max) {
+                throw new IOException("페이지 크기 제한 초과 (" + max + " bytes)");
+            }
+        }
+    }
+}
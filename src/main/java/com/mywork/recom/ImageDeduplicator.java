@@ -0,0 +1,286 @@
+package com.mywork.recom;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 분석 전 이미지 중복 제거
+ * - URL 정규화: 스킴/호스트 소문자, 쿼리·프래그먼트 제거, 썸네일 크기 변형(.../LS1/XXX_LS1.jpg) 통일
+ * - 내용 해시: 정규화 URL 별로 이미지를 한 번 내려받아 SHA-256 계산 (색상 옵션끼리 같은 사진 공유 대응)
+ * - 반환한 키로 분석 캐시/저장소를 조회하므로 같은 이미지는 한 번만 AI 분석
+ * - 다운로드 실패시 정규화 URL 을 키로 사용 (분석 자체는 막지 않음), 실패는 짧게 기억해 곧바로 다시 내려받지 않음
+ * - 사전 필터가 이미 내려받은 이미지는 그 바이트로 해시 (같은 이미지를 두 번 내려받지 않음)
+ */
+@Component
+public class ImageDeduplicator implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageDeduplicator.class);
+
+    // 콜론몰 썸네일 경로: /Prod_Img/{브랜드}/{연도}/{크기}/{상품코드}_{크기}.jpg
+    private static final Pattern SIZE_VARIANT = Pattern.compile("^(.*)/([A-Z]{2}\\d)/([^/]+)_\\2(\\.[A-Za-z]+)$");
+
+    private final CloseableHttpClient httpClient;
+    private final RecommendMetrics metrics;
+
+    private final boolean enabled;
+    private final boolean contentHash;
+    private final boolean stripQuery;
+    private final long maxImageBytes;
+
+    // 정규화 URL → 분석 키 (내용 해시)
+    private final AnalysisCache<String> keyByUrl;
+    // 분석 키 → 처음 본 원본 URL (다른 URL 로 같은 이미지가 들어왔는지 판단)
+    private final AnalysisCache<String> firstUrlByKey;
+    // 다운로드 / 해시 실패한 정규화 URL (짧은 TTL 동안 다시 시도하지 않음)
+    private final AnalysisCache<Boolean> failedUrls;
+
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+
+    public ImageDeduplicator(PooledHttpClient pooledHttpClient,
+                             RecommendMetrics metrics,
+                             @Value("${dedup.enabled:true}") boolean enabled,
+                             @Value("${dedup.content-hash:true}") boolean contentHash,
+                             @Value("${dedup.strip-query:true}") boolean stripQuery,
+                             @Value("${dedup.max-image-bytes:5242880}") long maxImageBytes,
+                             @Value("${dedup.cache-max-entries:20000}") int cacheMaxEntries,
+                             @Value("${dedup.ttl-minutes:60}") long ttlMinutes,
+                             @Value("${dedup.failure-ttl-seconds:60}") long failureTtlSeconds) {
+        this.httpClient = pooledHttpClient.getHttpClient();
+        this.metrics = metrics;
+        this.enabled = enabled;
+        this.contentHash = contentHash;
+        this.stripQuery = stripQuery;
+        this.maxImageBytes = maxImageBytes;
+        this.keyByUrl = new AnalysisCache<>(cacheMaxEntries, TimeUnit.MINUTES.toMillis(ttlMinutes));
+        this.firstUrlByKey = new AnalysisCache<>(cacheMaxEntries, TimeUnit.MINUTES.toMillis(ttlMinutes));
+        this.failedUrls = new AnalysisCache<>(cacheMaxEntries, TimeUnit.SECONDS.toMillis(failureTtlSeconds));
+    }
+
+    /**
+     * 이미지 URL 의 분석 키 (같은 이미지면 URL 이 달라도 같은 키)
+     * 해시를 기다리는 중 인터럽트되면 인터럽트 상태를 유지한 채 CancellationException
+     */
+    public String resolve(String imageUrl) {
+        if (!enabled) {
+            return imageUrl;
+        }
+        lookups.incrementAndGet();
+        metrics.getDedupLookups().increment();
+
+        String normalized = normalizeUrl(imageUrl);
+        String key = normalized;
+        if (contentHash && failedUrls.get(normalized) == null) {
+            try {
+                key = keyByUrl.getOrLoad(normalized, () -> hashContent(imageUrl));
+            } catch (InterruptedException e) {
+                // 다른 스레드의 해시를 기다리다 인터럽트됨: 이미지 문제가 아니므로 실패로 기록하지 않고,
+                // 정규화 URL 키로 따로 분석되지 않도록 이 조회를 중단
+                Thread.currentThread().interrupt();
+                throw new CancellationException("이미지 해시 대기 중 인터럽트: " + imageUrl);
+            } catch (IOException e) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException("이미지 다운로드 중 인터럽트: " + imageUrl);
+                }
+                // 다운로드 / 해시 I/O 오류만 기억 (다른 스레드가 인터럽트되어 실패한 해시는 다음 조회에서 다시 시도)
+                if (!(e.getCause() instanceof InterruptedException)) {
+                    failedUrls.put(normalized, Boolean.TRUE);
+                }
+                log.debug("이미지 해시 실패, 정규화 URL 사용: {} - {}", imageUrl, e.getMessage());
+            } catch (Exception e) {
+                // 잘못된 URL 등 내려받기 전 오류는 이번 조회만 정규화 URL 사용
+                log.debug("이미지 해시 불가, 정규화 URL 사용: {} - {}", imageUrl, e.getMessage());
+            }
+        }
+
+        String first = firstUrlByKey.get(key);
+        if (first == null) {
+            firstUrlByKey.put(key, imageUrl);
+        } else if (!first.equals(imageUrl)) {
+            // 정규화 또는 내용 해시로 다른 URL 과 합쳐진 경우
+            hits.incrementAndGet();
+            metrics.getDedupHits().increment();
+        }
+        return key;
+    }
+
+    /**
+     * 이미 계산된 분석 키 조회 (내려받지 않음, 모르면 null)
+     */
+    public String peekKey(String imageUrl) {
+        if (!enabled) {
+            return imageUrl;
+        }
+        String normalized = normalizeUrl(imageUrl);
+        return contentHash ? keyByUrl.get(normalized) : normalized;
+    }
+
+    /**
+     * 다른 노드가 계산한 분석 키 등록 (스냅샷 복원시 다시 내려받아 해시하지 않도록)
+     */
+    public void seed(String imageUrl, String key) {
+        if (enabled && contentHash) {
+            keyByUrl.put(normalizeUrl(imageUrl), key);
+        }
+    }
+
+    /**
+     * 다른 곳에서 이미 내려받은 이미지 바이트로 분석 키 등록 (내용 해시를 쓰지 않거나 이미 알면 무시)
+     */
+    public void seedContent(String imageUrl, byte[] content) {
+        if (!enabled || !contentHash || content.length > maxImageBytes) {
+            return;
+        }
+        String normalized = normalizeUrl(imageUrl);
+        if (keyByUrl.get(normalized) == null) {
+            keyByUrl.put(normalized, "sha256:" + toHex(sha256().digest(content)));
+            failedUrls.remove(normalized);
+        }
+    }
+
+    /**
+     * 최근 다운로드에 실패한 이미지인지 (사전 필터도 같은 URL 을 곧바로 다시 내려받지 않도록 공유)
+     */
+    public boolean recentlyFailed(String imageUrl) {
+        return enabled && failedUrls.get(normalizeUrl(imageUrl)) != null;
+    }
+
+    /**
+     * 다운로드 실패 기록 (dedup.failure-ttl-seconds 동안 내용 해시 생략)
+     */
+    public void recordFailure(String imageUrl) {
+        if (enabled) {
+            failedUrls.put(normalizeUrl(imageUrl), Boolean.TRUE);
+        }
+    }
+
+    /**
+     * 현재 규칙으로 만들어질 수 있는 분석 키인지 (정규화 도입 전의 원본 URL 키 등은 다시 조회되지 않음)
+     */
+    public boolean isCurrentKey(String key) {
+        if (!enabled || key.startsWith("sha256:")) {
+            return true;
+        }
+        return key.equals(normalizeUrl(key));
+    }
+
+    /**
+     * 분석 키 관점의 URL 정규화 (파싱할 수 없는 URL 은 그대로)
+     */
+    String normalizeUrl(String imageUrl) {
+        try {
+            URI uri = new URI(imageUrl.trim());
+            if (uri.getHost() == null) {
+                return imageUrl;
+            }
+            String path = uri.getRawPath() == null ? "" : uri.getRawPath();
+            Matcher m = SIZE_VARIANT.matcher(path);
+            if (m.matches()) {
+                path = m.group(1) + "/" + m.group(3) + m.group(4);
+            }
+            // http / https 는 같은 이미지로 취급
+            StringBuilder sb = new StringBuilder("https://").append(uri.getHost().toLowerCase(Locale.ROOT));
+            if (uri.getPort() != -1 && uri.getPort() != 80 && uri.getPort() != 443) {
+                sb.append(':').append(uri.getPort());
+            }
+            sb.append(path);
+            if (!stripQuery && uri.getRawQuery() != null) {
+                sb.append('?').append(uri.getRawQuery());
+            }
+            return sb.toString();
+        } catch (URISyntaxException e) {
+            return imageUrl;
+        }
+    }
+
+    /**
+     * 이미지를 내려받으며 SHA-256 계산 (바이트 전체를 메모리에 올리지 않음)
+     */
+    private String hashContent(String imageUrl) throws IOException {
+        long start = System.nanoTime();
+        HttpGet get = new HttpGet(imageUrl);
+        try (CloseableHttpResponse response = httpClient.execute(get)) {
+            int status = response.getStatusLine().getStatusCode();
+            HttpEntity entity = response.getEntity();
+            if (status / 100 != 2 || entity == null) {
+                throw new IOException("이미지 다운로드 실패: HTTP " + status);
+            }
+            MessageDigest digest = sha256();
+            long total = 0;
+            byte[] buffer = new byte[8192];
+            try (InputStream in = entity.getContent()) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    total += read;
+                    if (total > maxImageBytes) {
+                        get.abort();
+                        throw new IOException("이미지 크기 제한 초과 (" + maxImageBytes + " bytes)");
+                    }
+                    digest.update(buffer, 0, read);
+                }
+            }
+            return "sha256:" + toHex(digest.digest());
+        } finally {
+            metrics.getImageHashTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 중복 제거 적중률 (다른 URL 로 들어온 같은 이미지 비율)
+     */
+    public double getHitRate() {
+        long total = lookups.get();
+        return total == 0 ? 0.0 : (double) hits.get() / total;
+    }
+
+    public long getLookups() {
+        return lookups.get();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    @Override
+    public void destroy() {
+        keyByUrl.close();
+        firstUrlByKey.close();
+        failedUrls.close();
+    }
+}
@@ -0,0 +1,186 @@
+package com.mywork.recom;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AI 호출 전 로컬 색상 사전 필터
+ * - 상품 이미지를 내려받아 JVM 안에서 대표 색상 / 언더톤 추정 (DominantColorExtractor)
+ * - 언더톤이 사용자 계절과 확실히 반대인 상품(웜 ↔ 쿨)만 AI 분석 대상에서 제외
+ * - 애매하거나 추정 실패한 상품은 그대로 AI 로 보냄 (추천 누락 방지)
+ * - 추정 결과는 사용자와 무관하므로 이미지 URL 기준으로 캐시
+ * - 내려받은 이미지는 ImageDeduplicator 내용 해시에도 넘기고, 최근 실패한 이미지는 다시 내려받지 않음 (실패 기록 공유)
+ */
+@Component
+public class LocalColorPreFilter implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalColorPreFilter.class);
+
+    private final CloseableHttpClient httpClient;
+    private final RecommendMetrics metrics;
+    private final ImageDeduplicator deduplicator;
+    private final DominantColorExtractor extractor;
+
+    private final boolean enabled;
+    private final int minConfidence;
+    private final long maxImageBytes;
+
+    private final AnalysisCache<DominantColorExtractor.Estimate> estimates;
+    private final ExecutorService executor;
+
+    public LocalColorPreFilter(PooledHttpClient pooledHttpClient,
+                               RecommendMetrics metrics,
+                               ImageDeduplicator deduplicator,
+                               @Value("${prefilter.enabled:true}") boolean enabled,
+                               @Value("${prefilter.min-confidence:60}") int minConfidence,
+                               @Value("${prefilter.max-side:64}") int maxSide,
+                               @Value("${prefilter.clusters:5}") int clusters,
+                               @Value("${prefilter.parallelism:4}") int parallelism,
+                               @Value("${prefilter.max-image-bytes:5242880}") long maxImageBytes,
+                               @Value("${prefilter.cache-max-entries:20000}") int cacheMaxEntries) {
+        this.httpClient = pooledHttpClient.getHttpClient();
+        this.metrics = metrics;
+        this.deduplicator = deduplicator;
+        this.extractor = new DominantColorExtractor(maxSide, clusters);
+        this.enabled = enabled;
+        this.minConfidence = minConfidence;
+        this.maxImageBytes = maxImageBytes;
+        this.estimates = new AnalysisCache<>(cacheMaxEntries, TimeUnit.HOURS.toMillis(24));
+
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, parallelism), r -> {
+            Thread t = new Thread(r, "color-prefilter-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * 이미지별로 AI 분석을 생략해도 되는지 판정 (입력 순서 유지, true = 제외)
+     * - 호출 측이 묶음의 이미지 URL 을 한 번만 만들어 이후 단계에서도 재사용하도록 URL 목록을 받음
+     */
+    public boolean[] ruleOut(List<String> imageUrls, String userPersonalColor) {
+        boolean[] excluded = new boolean[imageUrls.size()];
+        PersonalColor.Season userSeason = PersonalColor.of(userPersonalColor).getSeason();
+        if (!enabled || !userSeason.isKnown() || imageUrls.isEmpty()) {
+            return excluded;
+        }
+
+        List<CompletableFuture<DominantColorExtractor.Estimate>> futures = new ArrayList<>(imageUrls.size());
+        for (String imageUrl : imageUrls) {
+            futures.add(CompletableFuture.supplyAsync(() -> estimate(imageUrl), executor));
+        }
+
+        int skipped = 0;
+        for (int i = 0; i < imageUrls.size(); i++) {
+            DominantColorExtractor.Estimate estimate = futures.get(i).join();
+            if (rulesOut(userSeason, estimate)) {
+                excluded[i] = true;
+                skipped++;
+                metrics.getPreFilterSkipped().increment();
+                log.debug("사전 필터 제외: {} - {}", imageUrls.get(i), estimate);
+            }
+        }
+        if (skipped > 0) {
+            log.info("로컬 색상 사전 필터: {}개 중 {}개 AI 분석 생략", imageUrls.size(), skipped);
+        }
+        return excluded;
+    }
+
+    /**
+     * 언더톤이 사용자 계절과 반대이고 추정 신뢰도가 충분할 때만 제외
+     */
+    boolean rulesOut(PersonalColor.Season userSeason, DominantColorExtractor.Estimate estimate) {
+        if (estimate == null || !estimate.getSeason().isKnown() || estimate.getConfidence() < minConfidence) {
+            return false;
+        }
+        return userSeason.isWarm() ? estimate.getUndertone() < 0 : estimate.getUndertone() > 0;
+    }
+
+    /**
+     * 이미지 URL 의 색상 추정 (실패시 null)
+     */
+    public DominantColorExtractor.Estimate estimate(String imageUrl) {
+        try {
+            return estimates.getOrLoad(imageUrl, () -> {
+                if (deduplicator.recentlyFailed(imageUrl)) {
+                    throw new IOException("최근 다운로드 실패 이미지");
+                }
+                long start = System.nanoTime();
+                try {
+                    byte[] image;
+                    try {
+                        image = download(imageUrl);
+                    } catch (IOException e) {
+                        // 인터럽트로 중단된 다운로드는 이미지 문제가 아니므로 기록하지 않음
+                        if (!Thread.currentThread().isInterrupted()) {
+                            deduplicator.recordFailure(imageUrl);
+                        }
+                        throw e;
+                    }
+                    deduplicator.seedContent(imageUrl, image);
+                    DominantColorExtractor.Estimate estimate = extractor.extract(image);
+                    return estimate != null ? estimate : DominantColorExtractor.Estimate.UNKNOWN;
+                } finally {
+                    metrics.getPreFilterTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (Exception e) {
+            log.debug("로컬 색상 추정 실패: {} - {}", imageUrl, e.getMessage());
+            return null;
+        }
+    }
+
+    private byte[] download(String imageUrl) throws IOException {
+        HttpGet get = new HttpGet(imageUrl);
+        try (CloseableHttpResponse response = httpClient.execute(get)) {
+            int status = response.getStatusLine().getStatusCode();
+            HttpEntity entity = response.getEntity();
+            if (status / 100 != 2 || entity == null) {
+                throw new IOException("이미지 다운로드 실패: HTTP " + status);
+            }
+            long length = entity.getContentLength();
+            if (length > maxImageBytes) {
+                get.abort();
+                throw new IOException("이미지 크기 제한 초과 (" + length + " bytes)");
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream(length > 0 ? (int) length : 64 * 1024);
+            byte[] buffer = new byte[8192];
+            try (InputStream in = entity.getContent()) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    if (out.size() + read > maxImageBytes) {
+                        get.abort();
+                        throw new IOException("이미지 크기 제한 초과 (" + maxImageBytes + " bytes)");
+                    }
+                    out.write(buffer, 0, read);
+                }
+            }
+            return out.toByteArray();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        estimates.close();
+    }
+}
@@ -0,0 +1,92 @@
+package com.mywork.recom;
+
+/**
+ * 매칭 실패 상세 분석 결과 (디버그 로그용 구조화 레코드)
+ * 디버그 로그가 켜져 있을 때만 생성
+ */
+public final class MatchFailureDiagnostics {
+
+    /**
+     * 실패 원인 분류
+     */
+    public enum Reason {
+        LOW_CONFIDENCE("신뢰도 부족"),
+        EXACT_MATCH_REJECTED("이상함: 정확히 일치하는데 매칭 실패"),
+        SAME_SEASON_REJECTED("이상함: 같은 계절인데 매칭 실패"),
+        COMPLEMENTARY_SEASON("보색 관계이지만 신뢰도 부족"),
+        DIFFERENT_SEASON("다른 계열의 색상이므로 매칭 제외");
+
+        private final String description;
+
+        Reason(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() { return description; }
+    }
+
+    private final String productName;
+    private final String userPersonalColor;
+    private final String productPersonalColor;
+    private final int confidence;
+    private final PersonalColor.Season userSeason;
+    private final PersonalColor.Season productSeason;
+    private final Reason reason;
+
+    private MatchFailureDiagnostics(String productName, String userPersonalColor, String productPersonalColor, int confidence,
+                                    PersonalColor.Season userSeason, PersonalColor.Season productSeason, Reason reason) {
+        this.productName = productName;
+        this.userPersonalColor = userPersonalColor;
+        this.productPersonalColor = productPersonalColor;
+        this.confidence = confidence;
+        this.userSeason = userSeason;
+        this.productSeason = productSeason;
+        this.reason = reason;
+    }
+
+    /**
+     * 매칭 실패 원인 분석
+     */
+    public static MatchFailureDiagnostics diagnose(String productName, String userPersonalColor,
+                                                   AIColorService.ColorAnalysisResult analysis) {
+        PersonalColor.Season userSeason = PersonalColor.of(userPersonalColor).getSeason();
+        PersonalColor.Season productSeason = PersonalColor.of(analysis.getPersonalColor()).getSeason();
+
+        Reason reason;
+        if (analysis.getConfidence() < 60) {
+            reason = Reason.LOW_CONFIDENCE;
+        } else if (userPersonalColor.equals(analysis.getPersonalColor())) {
+            reason = Reason.EXACT_MATCH_REJECTED;
+        } else if (userSeason == productSeason) {
+            reason = Reason.SAME_SEASON_REJECTED;
+        } else if (userSeason.isKnown() && userSeason.complement() == productSeason) {
+            reason = Reason.COMPLEMENTARY_SEASON;
+        } else {
+            reason = Reason.DIFFERENT_SEASON;
+        }
+
+        return new MatchFailureDiagnostics(productName, userPersonalColor, analysis.getPersonalColor(),
+                analysis.getConfidence(), userSeason, productSeason, reason);
+    }
+
+    // Getters
+    public String getProductName() { return productName; }
+    public String getUserPersonalColor() { return userPersonalColor; }
+    public String getProductPersonalColor() { return productPersonalColor; }
+    public int getConfidence() { return confidence; }
+    public PersonalColor.Season getUserSeason() { return userSeason; }
+    public PersonalColor.Season getProductSeason() { return productSeason; }
+    public Reason getReason() { return reason; }
+
+    @Override
+    public String toString() {
+        return "reason=" + reason
+                + " product=\"" + productName + "\""
+                + " user=\"" + userPersonalColor + "\""
+                + " productColor=\"" + productPersonalColor + "\""
+                + " confidence=" + confidence
+                + " userSeason=" + userSeason
+                + " productSeason=" + productSeason
+                + " (" + reason.getDescription() + ")";
+    }
+}
@@ -0,0 +1,258 @@
+package com.mywork.recom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 여러 카테고리 동시 추천 (상의 / 하의 / 아우터 / 액세서리 등)
+ * - 카테고리마다 HomeService 추천 경로(색인 → 실시간 분석)를 병렬 실행
+ * - 전체 마감 시간(recommend.fanout.deadline-ms)이 지나면 그때까지 끝난 카테고리만으로 응답
+ * - 늦은 카테고리도 계산은 계속되어 동일 요청 캐시 / 분석 캐시에 남으므로 다음 요청에서 바로 반환
+ * - 결과는 추천 점수 순으로 병합하고, 점수가 같으면 카테고리 내 순위가 높은 상품을 앞에 둠
+ */
+@Service
+public class MultiCategoryRecommendService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(MultiCategoryRecommendService.class);
+
+    private final HomeService homeService;
+    private final Map<String, String> categories;
+    private final long deadlineMillis;
+    private final ExecutorService executor;
+
+    public MultiCategoryRecommendService(HomeService homeService,
+                                         @Value("${recommend.categories:신상품=" + HomeService.DEFAULT_CATEGORY_URL + "}") String categories,
+                                         @Value("${recommend.fanout.deadline-ms:8000}") long deadlineMillis,
+                                         @Value("${recommend.fanout.parallelism:4}") int parallelism) {
+        this.homeService = homeService;
+        this.categories = parseCategories(categories);
+        this.deadlineMillis = deadlineMillis;
+        if (this.categories.size() < 2) {
+            // 쇼핑몰 카테고리 URL 은 운영자가 확인해 넣어야 하므로 기본값은 신상품 한 곳뿐
+            log.warn("다중 카테고리 추천에 카테고리가 {}개뿐입니다 - recommend.categories 에 상의 / 하의 / 아우터 / 액세서리 URL 을 추가하세요",
+                    this.categories.size());
+        }
+
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, parallelism), r -> {
+            Thread t = new Thread(r, "recommend-fanout-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * "이름=URL,이름=URL" 형식의 카테고리 설정 해석 (설정 순서 유지)
+     */
+    static Map<String, String> parseCategories(String value) {
+        Map<String, String> result = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            int eq = entry.indexOf('=');
+            if (eq <= 0 || eq == entry.length() - 1) {
+                continue;
+            }
+            result.put(entry.substring(0, eq).trim(), entry.substring(eq + 1).trim());
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * 모든 카테고리 추천 (마감 시간 안에 끝난 결과만 병합)
+     */
+    public Result recommend(String userPersonalColor) {
+        long start = System.currentTimeMillis();
+
+        Map<String, CompletableFuture<List<ProductDTO>>> futures = new LinkedHashMap<>();
+        for (Map.Entry<String, String> category : categories.entrySet()) {
+            String url = category.getValue();
+            futures.put(category.getKey(), CompletableFuture.supplyAsync(
+                    () -> homeService.findRecommendedProducts(url, userPersonalColor), executor));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0]))
+                    .get(deadlineMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("다중 카테고리 추천 마감 시간 초과 ({}ms) - 완료된 카테고리만 반환", deadlineMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // 개별 카테고리 실패는 아래에서 카테고리별로 기록
+        }
+
+        List<CategoryResult> results = new ArrayList<>(futures.size());
+        for (Map.Entry<String, CompletableFuture<List<ProductDTO>>> entry : futures.entrySet()) {
+            String label = entry.getKey();
+            CompletableFuture<List<ProductDTO>> future = entry.getValue();
+            String url = categories.get(label);
+            if (!future.isDone()) {
+                results.add(new CategoryResult(label, url, CategoryResult.TIMEOUT, Collections.emptyList()));
+            } else if (future.isCompletedExceptionally()) {
+                log.warn("카테고리 추천 실패: {}", label);
+                results.add(new CategoryResult(label, url, CategoryResult.ERROR, Collections.emptyList()));
+            } else {
+                results.add(new CategoryResult(label, url, CategoryResult.OK, future.join()));
+            }
+        }
+
+        ColorAffinity affinity = ColorAffinity.of(userPersonalColor);
+        AIColorService aiColorService = homeService.getAIColorService();
+        List<RankedProduct> items = merge(results, product -> {
+            AIColorService.ColorAnalysisResult analysis = aiColorService.peekAnalysis(product.getImageUrl());
+            return analysis == null ? null : affinity.score(analysis);
+        });
+        long elapsed = System.currentTimeMillis() - start;
+        log.info("다중 카테고리 추천 완료 - {} / 카테고리 {}개, 상품 {}개 ({}ms)",
+                userPersonalColor, results.size(), items.size(), elapsed);
+        return new Result(userPersonalColor, results, items, elapsed);
+    }
+
+    /**
+     * 카테고리별 추천 목록을 점수 내림차순으로 병합 (다른 카테고리에 이미 나온 상품은 제외)
+     * - 각 카테고리 목록은 이미 점수순이므로 카테고리 안의 순서는 유지하며 목록 머리끼리 비교 (k-way 병합)
+     * - 점수가 같으면 카테고리 내 순위, 그것도 같으면 설정 순서
+     * - 점수를 알 수 없는 상품(분석 결과가 캐시 / 저장소에서 밀려난 경우 등, scoreOf 가 null)은
+     *   같은 카테고리 바로 앞 상품의 점수로 취급해 카테고리 안의 순위를 유지 (첫 상품이면 최고 점수)
+     */
+    static List<RankedProduct> merge(List<CategoryResult> results, Function<ProductDTO, Double> scoreOf) {
+        int categoryCount = results.size();
+        double[][] scores = new double[categoryCount][];
+        int total = 0;
+        for (int c = 0; c < categoryCount; c++) {
+            List<ProductDTO> items = results.get(c).getItems();
+            scores[c] = new double[items.size()];
+            double previous = ColorAffinity.MAX_SCORE;
+            for (int i = 0; i < items.size(); i++) {
+                Double score = scoreOf.apply(items.get(i));
+                previous = score == null || score == ColorAffinity.INCOMPATIBLE ? previous : score;
+                scores[c][i] = previous;
+            }
+            total += items.size();
+        }
+
+        List<RankedProduct> merged = new ArrayList<>(total);
+        Set<String> seen = new HashSet<>();
+        int[] next = new int[categoryCount];
+        while (true) {
+            // 카테고리 수가 적으므로 머리 비교는 선형 탐색
+            int best = -1;
+            for (int c = 0; c < categoryCount; c++) {
+                if (next[c] >= scores[c].length) {
+                    continue;
+                }
+                if (best < 0 || scores[c][next[c]] > scores[best][next[best]]
+                        || (scores[c][next[c]] == scores[best][next[best]] && next[c] < next[best])) {
+                    best = c;
+                }
+            }
+            if (best < 0) {
+                return merged;
+            }
+            int rank = next[best]++;
+            CategoryResult result = results.get(best);
+            ProductDTO product = result.getItems().get(rank);
+            if (seen.add(product.getProductLink())) {
+                merged.add(new RankedProduct(merged.size() + 1, result.getLabel(), product, scores[best][rank]));
+            }
+        }
+    }
+
+    public Map<String, String> getCategories() {
+        return categories;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 다중 카테고리 추천 응답
+     */
+    public static final class Result {
+        private final String personalColor;
+        private final List<CategoryResult> categories;
+        private final List<RankedProduct> items;
+        private final long elapsedMillis;
+
+        Result(String personalColor, List<CategoryResult> categories, List<RankedProduct> items, long elapsedMillis) {
+            this.personalColor = personalColor;
+            this.categories = categories;
+            this.items = items;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public String getPersonalColor() { return personalColor; }
+        public List<CategoryResult> getCategories() { return categories; }
+        public List<RankedProduct> getItems() { return items; }
+        public long getElapsedMillis() { return elapsedMillis; }
+    }
+
+    /**
+     * 카테고리 하나의 결과 (status: ok / timeout / error)
+     */
+    public static final class CategoryResult {
+        static final String OK = "ok";
+        static final String TIMEOUT = "timeout";
+        static final String ERROR = "error";
+
+        private final String label;
+        private final String url;
+        private final String status;
+        private final List<ProductDTO> items;
+
+        CategoryResult(String label, String url, String status, List<ProductDTO> items) {
+            this.label = label;
+            this.url = url;
+            this.status = status;
+            this.items = items;
+        }
+
+        public String getLabel() { return label; }
+        public String getUrl() { return url; }
+        public String getStatus() { return status; }
+        public List<ProductDTO> getItems() { return items; }
+        public int getCount() { return items.size(); }
+    }
+
+    /**
+     * 병합 순위가 매겨진 상품 (score: 병합에 쓴 추천 점수)
+     */
+    public static final class RankedProduct {
+        private final int rank;
+        private final String category;
+        private final ProductDTO product;
+        private final double score;
+
+        RankedProduct(int rank, String category, ProductDTO product, double score) {
+            this.rank = rank;
+            this.category = category;
+            this.product = product;
+            this.score = score;
+        }
+
+        public int getRank() { return rank; }
+        public String getCategory() { return category; }
+        public ProductDTO getProduct() { return product; }
+        public double getScore() { return score; }
+    }
+}
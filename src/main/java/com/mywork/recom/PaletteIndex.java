@@ -0,0 +1,466 @@
+package com.mywork.recom;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 분석된 상품 대표 색상의 Lab 격자 역색인 (비슷한 색상 상품 검색용)
+ * - Lab 공간을 CELL 크기의 정육면체 격자로 나누고, 칸마다 그 안에 든 (상품, 색상) 목록 보관
+ * - 검색 색상에서 가까운 칸부터 한 겹씩 넓혀 가며, 더 바깥 칸이 현재 K번째 거리보다 멀면 중단
+ * - 상품과 검색 팔레트의 거리 = 두 팔레트 색상 쌍 중 가장 가까운 ΔE76
+ * - 크롤러가 상품을 분석 / 제거할 때마다 상품 단위로 추가·교체·삭제
+ */
+@Component
+public class PaletteIndex {
+
+    // 격자 한 칸 크기 (ΔE), L: 0~100, a/b: -130~130 (범위 밖은 가장자리 칸)
+    static final float CELL = 5f;
+    private static final int L_CELLS = 21;
+    private static final int AB_CELLS = 52;
+    private static final int AB_OFFSET = 26;
+    // 어느 칸에서 시작해도 이만큼 넓히면 격자 전체
+    private static final int MAX_RING = Math.max(L_CELLS, AB_CELLS);
+
+    private final Cell[] grid = new Cell[L_CELLS * AB_CELLS * AB_CELLS];
+    private final Map<String, Integer> idsByLink = new HashMap<>();
+    private final List<Entry> entries = new ArrayList<>();
+    private final ArrayDeque<Integer> freeIds = new ArrayDeque<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // 검색마다 상품별 최단 거리를 기록하는 작업 공간 (읽기 잠금 아래에서 스레드별로 사용)
+    private final ThreadLocal<Scratch> scratches = ThreadLocal.withInitial(Scratch::new);
+
+    /**
+     * 상품 대표 색상 등록 (같은 링크가 있으면 교체, 색상이 없으면 삭제)
+     */
+    public void put(ProductDTO product, int[] dominantRgb) {
+        String link = product.getProductLink();
+        float[] lab = toLab(dominantRgb);
+        lock.writeLock().lock();
+        try {
+            removeLocked(link);
+            if (lab.length == 0) {
+                return;
+            }
+            int id = freeIds.isEmpty() ? entries.size() : freeIds.pop();
+            int[] cells = new int[lab.length / 3];
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = cellOf(lab[i * 3], lab[i * 3 + 1], lab[i * 3 + 2]);
+                Cell cell = grid[cells[i]];
+                if (cell == null) {
+                    cell = grid[cells[i]] = new Cell();
+                }
+                cell.add(id, lab, i * 3);
+            }
+            Entry entry = new Entry(product, cells);
+            if (id == entries.size()) {
+                entries.add(entry);
+            } else {
+                entries.set(id, entry);
+            }
+            idsByLink.put(link, id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 상품 삭제 (없으면 무시)
+     */
+    public void remove(String productLink) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(productLink);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(String productLink) {
+        Integer id = idsByLink.remove(productLink);
+        if (id == null) {
+            return;
+        }
+        for (int cell : entries.get(id).cells) {
+            grid[cell].removeAll(id);
+        }
+        entries.set(id, null);
+        freeIds.push(id);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return idsByLink.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 검색 팔레트와 가장 가까운 상품 k개 (거리 오름차순)
+     */
+    public List<Match> nearest(int[] paletteRgb, int k) {
+        float[] query = toLab(paletteRgb);
+        if (query.length == 0 || k <= 0) {
+            return new ArrayList<>();
+        }
+        lock.readLock().lock();
+        try {
+            Scratch scratch = scratches.get();
+            scratch.begin();
+            int[] center = centers(query);
+            float margin = margin(query, center);
+            float kth = Float.MAX_VALUE;
+            for (int ring = 0; ring <= MAX_RING; ring++) {
+                for (int q = 0; q < query.length; q += 3) {
+                    visitRing(center, q, ring, query, scratch);
+                }
+                // ring 겹까지 모두 봤으므로 남은 칸의 점은 적어도 ring × CELL + (칸 경계까지 거리) 만큼 떨어져 있음
+                float reach = ring * CELL + margin;
+                if (scratch.count >= k) {
+                    kth = scratch.kthSquared(k);
+                    if (kth <= reach * reach) {
+                        break;
+                    }
+                }
+            }
+            try {
+                return toMatches(scratch, k, kth);
+            } finally {
+                scratch.end();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 검색 팔레트에서 radius(ΔE) 이내인 상품 중 가까운 순서로 최대 limit 개
+     * - 격자 전체보다 큰 반경은 격자 전체를 보는 것과 같음
+     */
+    public List<Match> withinRadius(int[] paletteRgb, float radius, int limit) {
+        float[] query = toLab(paletteRgb);
+        if (query.length == 0 || !(radius >= 0) || limit <= 0) {
+            return new ArrayList<>();
+        }
+        lock.readLock().lock();
+        try {
+            Scratch scratch = scratches.get();
+            scratch.begin();
+            int[] center = centers(query);
+            int rings = (int) Math.min(MAX_RING, Math.ceil(radius / CELL));
+            for (int ring = 0; ring <= rings; ring++) {
+                for (int q = 0; q < query.length; q += 3) {
+                    visitRing(center, q, ring, query, scratch);
+                }
+            }
+            try {
+                return toMatches(scratch, limit, radius * radius);
+            } finally {
+                scratch.end();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * q번째 검색 색상 칸에서 체비셰프 거리 ring 인 칸(정육면체 껍질)만 방문
+     */
+    private void visitRing(int[] center, int q, int ring, float[] query, Scratch scratch) {
+        int cl = center[q];
+        int ca = center[q + 1];
+        int cb = center[q + 2];
+        for (int dl = -ring; dl <= ring; dl++) {
+            int l = cl + dl;
+            if (l < 0 || l >= L_CELLS) {
+                continue;
+            }
+            for (int da = -ring; da <= ring; da++) {
+                int a = ca + da;
+                if (a < 0 || a >= AB_CELLS) {
+                    continue;
+                }
+                boolean onFace = Math.abs(dl) == ring || Math.abs(da) == ring;
+                int step = onFace ? 1 : Math.max(1, 2 * ring);
+                for (int db = -ring; db <= ring; db += step) {
+                    int b = cb + db;
+                    if (b < 0 || b >= AB_CELLS) {
+                        continue;
+                    }
+                    Cell cell = grid[(l * AB_CELLS + a) * AB_CELLS + b];
+                    if (cell != null) {
+                        cell.scan(query, q, scratch);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * maxSquared 이내에서 가까운 순서로 k개 - k번째 거리 이내인 상품만 결과 객체로 만듦
+     * (같은 거리가 여럿이면 정렬 후 k개로 자름)
+     */
+    private List<Match> toMatches(Scratch scratch, int k, float maxSquared) {
+        float limit = scratch.kthSquared(k, maxSquared);
+        List<Match> matches = new ArrayList<>(Math.min(k, scratch.count));
+        for (int i = 0; i < scratch.count; i++) {
+            float squared = scratch.distance[i];
+            if (squared <= limit) {
+                matches.add(new Match(entries.get(scratch.ids[i]).product, Math.sqrt(squared)));
+            }
+        }
+        matches.sort((x, y) -> Double.compare(x.distance, y.distance));
+        return matches.size() > k ? new ArrayList<>(matches.subList(0, k)) : matches;
+    }
+
+    private static int[] centers(float[] query) {
+        int[] center = new int[query.length];
+        for (int i = 0; i < query.length; i += 3) {
+            center[i] = cellIndex(query[i], 0, L_CELLS);
+            center[i + 1] = cellIndex(query[i + 1], AB_OFFSET, AB_CELLS);
+            center[i + 2] = cellIndex(query[i + 2], AB_OFFSET, AB_CELLS);
+        }
+        return center;
+    }
+
+    /**
+     * 모든 검색 색상 중 자기 칸 경계까지의 최소 거리 (칸 밖으로 잘린 좌표는 0)
+     */
+    private static float margin(float[] query, int[] center) {
+        float margin = CELL;
+        for (int i = 0; i < query.length; i += 3) {
+            margin = Math.min(margin, faceDistance(query[i], center[i], 0));
+            margin = Math.min(margin, faceDistance(query[i + 1], center[i + 1], AB_OFFSET));
+            margin = Math.min(margin, faceDistance(query[i + 2], center[i + 2], AB_OFFSET));
+        }
+        return margin;
+    }
+
+    private static float faceDistance(float value, int index, int offset) {
+        float low = (index - offset) * CELL;
+        return Math.max(0f, Math.min(value - low, low + CELL - value));
+    }
+
+    private static int cellOf(float l, float a, float b) {
+        return (cellIndex(l, 0, L_CELLS) * AB_CELLS + cellIndex(a, AB_OFFSET, AB_CELLS)) * AB_CELLS
+                + cellIndex(b, AB_OFFSET, AB_CELLS);
+    }
+
+    private static int cellIndex(float value, int offset, int size) {
+        int index = (int) Math.floor(value / CELL) + offset;
+        return index < 0 ? 0 : Math.min(index, size - 1);
+    }
+
+    private static float[] toLab(int[] rgb) {
+        float[] lab = new float[rgb.length * 3];
+        float[] one = new float[3];
+        for (int i = 0; i < rgb.length; i++) {
+            DominantColorExtractor.rgbToLab(rgb[i], one);
+            System.arraycopy(one, 0, lab, i * 3, 3);
+        }
+        return lab;
+    }
+
+    /**
+     * 격자 한 칸 (상품 번호 + Lab 값을 병렬 배열로 보관)
+     */
+    private static final class Cell {
+        int[] ids = new int[4];
+        float[] lab = new float[12];
+        int size;
+
+        void add(int id, float[] source, int offset) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                lab = Arrays.copyOf(lab, size * 6);
+            }
+            ids[size] = id;
+            System.arraycopy(source, offset, lab, size * 3, 3);
+            size++;
+        }
+
+        // 마지막 원소로 덮어쓰는 방식이라 칸 안 순서는 유지하지 않음
+        void removeAll(int id) {
+            for (int i = size - 1; i >= 0; i--) {
+                if (ids[i] == id) {
+                    size--;
+                    ids[i] = ids[size];
+                    System.arraycopy(lab, size * 3, lab, i * 3, 3);
+                }
+            }
+        }
+
+        void scan(float[] query, int q, Scratch scratch) {
+            float ql = query[q];
+            float qa = query[q + 1];
+            float qb = query[q + 2];
+            for (int i = 0; i < size; i++) {
+                float dl = lab[i * 3] - ql;
+                float da = lab[i * 3 + 1] - qa;
+                float db = lab[i * 3 + 2] - qb;
+                scratch.offer(ids[i], dl * dl + da * da + db * db);
+            }
+        }
+    }
+
+    /**
+     * 검색 중 만난 상품별 최단 거리(제곱) 기록
+     * - 상품 번호 → 위치 개방 주소 해시 + 만난 순서대로의 (번호, 거리) 배열 → 크기는 전체 상품 수가 아니라 만난 상품 수에 비례
+     * - 스레드마다 재사용하되 큰 반경 검색으로 커진 배열은 검색이 끝나면 버림
+     */
+    private static final class Scratch {
+        // 검색이 끝난 뒤 스레드에 남겨 두는 해시 표 크기 상한 (칸 수)
+        static final int RETAINED_SLOTS = 1 << 13;
+        private static final int INITIAL_SLOTS = 1 << 10;
+
+        int[] slots = new int[INITIAL_SLOTS];   // 위치 + 1 (0 = 빈 칸)
+        int[] ids = new int[INITIAL_SLOTS / 2];
+        float[] distance = new float[INITIAL_SLOTS / 2];
+        float[] values = new float[INITIAL_SLOTS / 2];
+        int count;
+
+        void begin() {
+            Arrays.fill(slots, 0);
+            count = 0;
+        }
+
+        void end() {
+            if (slots.length > RETAINED_SLOTS) {
+                slots = new int[INITIAL_SLOTS];
+                ids = new int[INITIAL_SLOTS / 2];
+                distance = new float[INITIAL_SLOTS / 2];
+                values = new float[INITIAL_SLOTS / 2];
+            }
+        }
+
+        void offer(int id, float squared) {
+            int mask = slots.length - 1;
+            int slot = hash(id) & mask;
+            while (true) {
+                int position = slots[slot] - 1;
+                if (position < 0) {
+                    break;
+                }
+                if (ids[position] == id) {
+                    if (squared < distance[position]) {
+                        distance[position] = squared;
+                    }
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            ids[count] = id;
+            distance[count] = squared;
+            slots[slot] = ++count;
+            // 부하율 1/2 을 넘지 않게 유지 (ids / distance 는 칸 수의 절반 크기)
+            if (count == ids.length) {
+                grow();
+            }
+        }
+
+        private void grow() {
+            slots = new int[slots.length * 2];
+            ids = Arrays.copyOf(ids, slots.length / 2);
+            distance = Arrays.copyOf(distance, slots.length / 2);
+            int mask = slots.length - 1;
+            for (int position = 0; position < count; position++) {
+                int slot = hash(ids[position]) & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = position + 1;
+            }
+        }
+
+        private static int hash(int id) {
+            int h = id * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+
+        /**
+         * 지금까지 본 상품 중 k번째로 가까운 거리(제곱)
+         */
+        float kthSquared(int k) {
+            return kthSquared(k, Float.MAX_VALUE);
+        }
+
+        /**
+         * maxSquared 이내인 상품 중 k번째로 가까운 거리(제곱), 그런 상품이 k개 미만이면 maxSquared
+         * - 전체 정렬 대신 quickselect
+         */
+        float kthSquared(int k, float maxSquared) {
+            if (values.length < count) {
+                values = new float[ids.length];
+            }
+            int n = 0;
+            for (int i = 0; i < count; i++) {
+                if (distance[i] <= maxSquared) {
+                    values[n++] = distance[i];
+                }
+            }
+            if (n < k) {
+                return maxSquared;
+            }
+            int lo = 0;
+            int hi = n - 1;
+            int target = k - 1;
+            while (lo < hi) {
+                float pivot = values[(lo + hi) >>> 1];
+                int i = lo;
+                int j = hi;
+                while (i <= j) {
+                    while (values[i] < pivot) i++;
+                    while (values[j] > pivot) j--;
+                    if (i <= j) {
+                        float t = values[i];
+                        values[i++] = values[j];
+                        values[j--] = t;
+                    }
+                }
+                if (target <= j) {
+                    hi = j;
+                } else if (target >= i) {
+                    lo = i;
+                } else {
+                    break;
+                }
+            }
+            return values[target];
+        }
+    }
+
+    private static final class Entry {
+        final ProductDTO product;
+        final int[] cells;
+
+        Entry(ProductDTO product, int[] cells) {
+            this.product = product;
+            this.cells = cells;
+        }
+    }
+
+    /**
+     * 검색 결과 (상품 + 검색 팔레트와의 ΔE)
+     */
+    public static final class Match {
+        private final ProductDTO product;
+        private final double distance;
+
+        Match(ProductDTO product, double distance) {
+            this.product = product;
+            this.distance = distance;
+        }
+
+        public ProductDTO getProduct() { return product; }
+        public double getDistance() { return distance; }
+    }
+}
@@ -0,0 +1,234 @@
+package com.mywork.recom;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 퍼스널 컬러 모델 (계절 × 톤)
+ * - 문자열은 한 번만 파싱해 작은 정수 코드로 변환 (결과는 캐시)
+ * - 호환성 판단은 (사용자 코드, 상품 코드, 신뢰도 구간) 으로 미리 계산한 표에서 조회
+ */
+public final class PersonalColor {
+
+    /**
+     * 계절
+     */
+    public enum Season {
+        SPRING("봄"), SUMMER("여름"), AUTUMN("가을"), WINTER("겨울"), UNKNOWN("알 수 없음");
+
+        private final String label;
+
+        Season(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() { return label; }
+
+        public boolean isKnown() {
+            return this != UNKNOWN;
+        }
+
+        /**
+         * 웜톤 계절 여부 (봄, 가을)
+         */
+        public boolean isWarm() {
+            return this == SPRING || this == AUTUMN;
+        }
+
+        /**
+         * 보색 관계 계절 (봄↔가을, 여름↔겨울)
+         */
+        public Season complement() {
+            switch (this) {
+                case SPRING: return AUTUMN;
+                case AUTUMN: return SPRING;
+                case SUMMER: return WINTER;
+                case WINTER: return SUMMER;
+                default: return UNKNOWN;
+            }
+        }
+    }
+
+    /**
+     * 분류 톤 (브라이트, 라이트, 뮤트, 딥 등)
+     */
+    public enum Tone {
+        BRIGHT("브라이트"), LIGHT("라이트"), MUTE("뮤트"), DEEP("딥"), WARM("웜"), COOL("쿨"), UNKNOWN("알 수 없음");
+
+        private final String label;
+
+        Tone(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() { return label; }
+    }
+
+    // 신뢰도 구간: 0 = 30% 미만, 1 = 30~39%, 2 = 40% 이상
+    private static final int MIN_CONFIDENCE = 30;
+    private static final int SAME_SEASON_CONFIDENCE = 40;
+    private static final int BUCKETS = 3;
+
+    private static final int TONES = Tone.values().length;
+    private static final int CODES = Season.values().length * TONES;
+
+    private static final PersonalColor[] BY_CODE = new PersonalColor[CODES];
+    private static final boolean[] COMPATIBLE = new boolean[CODES * CODES * BUCKETS];
+
+    // 화면에서 선택 가능한 퍼스널 컬러 (인덱스 = personal 값)
+    private static final String[] SELECTABLE = {"", "봄 라이트", "봄 브라이트", "여름 라이트", "여름 브라이트", "여름 뮤트", "가을 뮤트", "가을 스트롱", "가을 딥", "겨울 브라이트", "겨울 딥"};
+
+    // 파싱 캐시 (AI 응답이 자유 형식이라 상한을 둠)
+    private static final int MAX_PARSE_CACHE = 1024;
+    private static final ConcurrentHashMap<String, PersonalColor> PARSED = new ConcurrentHashMap<>();
+
+    static {
+        for (Season season : Season.values()) {
+            for (Tone tone : Tone.values()) {
+                int code = season.ordinal() * TONES + tone.ordinal();
+                BY_CODE[code] = new PersonalColor(season, tone, code);
+            }
+        }
+        for (PersonalColor user : BY_CODE) {
+            for (PersonalColor product : BY_CODE) {
+                for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                    COMPATIBLE[index(user.code, product.code, bucket)] = decide(user, product, bucket);
+                }
+            }
+        }
+    }
+
+    private final Season season;
+    private final Tone tone;
+    private final int code;
+
+    private PersonalColor(Season season, Tone tone, int code) {
+        this.season = season;
+        this.tone = tone;
+        this.code = code;
+    }
+
+    public Season getSeason() { return season; }
+    public Tone getTone() { return tone; }
+    public int getCode() { return code; }
+
+    public static PersonalColor fromCode(int code) {
+        return BY_CODE[code];
+    }
+
+    /**
+     * 문자열 퍼스널 컬러 파싱 ("봄 라이트", "겨울 deep" 등)
+     */
+    public static PersonalColor of(String personalColor) {
+        PersonalColor cached = PARSED.get(personalColor);
+        if (cached != null) {
+            return cached;
+        }
+        PersonalColor parsed = BY_CODE[parseSeason(personalColor).ordinal() * TONES + parseTone(personalColor).ordinal()];
+        if (PARSED.size() < MAX_PARSE_CACHE) {
+            PARSED.put(personalColor, parsed);
+        }
+        return parsed;
+    }
+
+    /**
+     * 화면 선택값(1~10)에 해당하는 퍼스널 컬러 이름
+     */
+    public static String selectableLabel(int personal) {
+        return SELECTABLE[personal];
+    }
+
+    public static int selectableCount() {
+        return SELECTABLE.length - 1;
+    }
+
+    /**
+     * 퍼스널 컬러 호환성 판단
+     * - 신뢰도 30% 미만 제외
+     * - 이름이 정확히 같으면 매칭
+     * - 같은 계절 + 같은 톤이면 매칭, 같은 계절 + 다른 톤이면 신뢰도 40% 이상일 때만 매칭
+     * - 그 외(다른 계절, 알 수 없는 계절)는 매칭 안함
+     */
+    public static boolean isCompatible(String userPersonalColor, String productPersonalColor, int confidence) {
+        if (confidence < MIN_CONFIDENCE) {
+            return false;
+        }
+        // 알 수 없는 계절끼리도 이름이 완전히 같으면 매칭되므로 코드 비교 전에 확인
+        if (userPersonalColor.equals(productPersonalColor)) {
+            return true;
+        }
+        return isCompatible(of(userPersonalColor).code, of(productPersonalColor).code, confidence);
+    }
+
+    /**
+     * 이미 파싱해 둔 코드를 함께 받는 호환성 판단 (색인 구축 등 반복 호출용)
+     */
+    public static boolean isCompatible(String userPersonalColor, int userCode,
+                                       String productPersonalColor, int productCode, int confidence) {
+        if (confidence >= MIN_CONFIDENCE && userPersonalColor.equals(productPersonalColor)) {
+            return true;
+        }
+        return isCompatible(userCode, productCode, confidence);
+    }
+
+    /**
+     * 코드 기반 호환성 판단 (이름 일치 여부는 호출 측에서 처리)
+     */
+    public static boolean isCompatible(int userCode, int productCode, int confidence) {
+        return COMPATIBLE[index(userCode, productCode, bucket(confidence))];
+    }
+
+    private static int bucket(int confidence) {
+        if (confidence < MIN_CONFIDENCE) return 0;
+        if (confidence < SAME_SEASON_CONFIDENCE) return 1;
+        return 2;
+    }
+
+    private static int index(int userCode, int productCode, int bucket) {
+        return (userCode * CODES + productCode) * BUCKETS + bucket;
+    }
+
+    private static boolean decide(PersonalColor user, PersonalColor product, int bucket) {
+        if (bucket == 0) {
+            return false;
+        }
+        if (user.season != product.season || !user.season.isKnown()) {
+            return false;
+        }
+        if (user.tone == product.tone) {
+            return true;
+        }
+        return bucket == 2;
+    }
+
+    private static Season parseSeason(String personalColor) {
+        if (personalColor.startsWith("봄")) return Season.SPRING;
+        if (personalColor.startsWith("여름")) return Season.SUMMER;
+        if (personalColor.startsWith("가을")) return Season.AUTUMN;
+        if (personalColor.startsWith("겨울")) return Season.WINTER;
+        return Season.UNKNOWN;
+    }
+
+    private static Tone parseTone(String personalColor) {
+        // 계절 부분 제거 후 분류 추출
+        String type = personalColor;
+        if (type.startsWith("봄")) {
+            type = type.substring(1);
+        } else if (type.startsWith("여름") || type.startsWith("가을") || type.startsWith("겨울")) {
+            type = type.substring(2);
+        }
+
+        // "브라이트" 가 "라이트" 를 포함하므로 검사 순서 유지
+        if (type.contains("브라이트") || type.contains("bright")) return Tone.BRIGHT;
+        if (type.contains("라이트") || type.contains("light")) return Tone.LIGHT;
+        if (type.contains("뮤트") || type.contains("mute") || type.contains("소프트") || type.contains("soft")) return Tone.MUTE;
+        if (type.contains("딥") || type.contains("deep") || type.contains("다크") || type.contains("dark")) return Tone.DEEP;
+        if (type.contains("웜") || type.contains("warm")) return Tone.WARM;
+        if (type.contains("쿨") || type.contains("cool")) return Tone.COOL;
+        return Tone.UNKNOWN;
+    }
+
+    @Override
+    public String toString() {
+        return season.label + " " + tone.label;
+    }
+}
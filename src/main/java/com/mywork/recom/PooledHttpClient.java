@@ -0,0 +1,253 @@
+package com.mywork.recom;
+
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 커넥션 풀 기반 HTTP 클라이언트 (AI 서버 / 이미지 다운로드 공용)
+ * - Keep-Alive 커넥션 재사용, 전체/라우트별 최대 커넥션 수 제한
+ * - 연결 / 읽기 / 풀 대기 타임아웃 + 요청 전체 마감 시간(deadline)
+ * - 풀 상태(사용 중 / 유휴 / 대기) 조회
+ */
+@Component
+public class PooledHttpClient implements DisposableBean {
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+    private final RestTemplate restTemplate;
+    private final ScheduledExecutorService scheduler;
+
+    public PooledHttpClient(@Value("${http.pool.max-total:50}") int maxTotal,
+                            @Value("${http.pool.max-per-route:20}") int maxPerRoute,
+                            @Value("${http.connect-timeout-ms:2000}") int connectTimeoutMillis,
+                            @Value("${http.read-timeout-ms:30000}") int readTimeoutMillis,
+                            @Value("${http.pool-wait-timeout-ms:5000}") int poolWaitTimeoutMillis,
+                            @Value("${http.deadline-ms:60000}") long deadlineMillis,
+                            @Value("${http.idle-evict-seconds:30}") long idleEvictSeconds) {
+        this.connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setValidateAfterInactivity(2000);
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(connectTimeoutMillis)
+                .setSocketTimeout(readTimeoutMillis)
+                .setConnectionRequestTimeout(poolWaitTimeoutMillis)
+                .build();
+
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy(DefaultConnectionKeepAliveStrategy.INSTANCE)
+                .build();
+
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "http-pool-maintenance");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        this.scheduler = executor;
+
+        // 오래 쉬고 있거나 서버가 닫은 커넥션 정리
+        scheduler.scheduleWithFixedDelay(() -> {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(idleEvictSeconds, TimeUnit.SECONDS);
+        }, idleEvictSeconds, idleEvictSeconds, TimeUnit.SECONDS);
+
+        this.restTemplate = new RestTemplate(new DeadlineRequestFactory(httpClient, deadlineMillis));
+    }
+
+    public RestTemplate getRestTemplate() {
+        return restTemplate;
+    }
+
+    public CloseableHttpClient getHttpClient() {
+        return httpClient;
+    }
+
+    /**
+     * 커넥션 풀 상태 (사용 중 / 유휴 / 대기 / 최대)
+     */
+    public PoolStats getPoolStats() {
+        return connectionManager.getTotalStats();
+    }
+
+    /**
+     * 스케줄러에 예약된 작업 수 (커넥션 정리 작업 + 진행 중인 요청의 마감 시간 중단)
+     */
+    int scheduledTaskCount() {
+        return ((ScheduledThreadPoolExecutor) scheduler).getQueue().size();
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        scheduler.shutdownNow();
+        httpClient.close();
+    }
+
+    /**
+     * 요청 전체 마감 시간을 넘기면 요청을 중단시키는 팩토리
+     * (읽기 타임아웃은 패킷 사이 간격만 제한하므로 느린 응답 전체를 막지 못함)
+     * 응답을 닫으면(RestTemplate 이 추출 후 닫음) 예약한 중단을 취소해 끝난 요청이 스케줄러 큐에 남지 않게 함
+     */
+    private class DeadlineRequestFactory extends HttpComponentsClientHttpRequestFactory {
+
+        private final long deadlineMillis;
+        // postProcessHttpRequest 에서 예약한 중단 작업을 같은 스레드의 createRequest 로 넘김
+        private final ThreadLocal<ScheduledFuture<?>> scheduledAbort = new ThreadLocal<>();
+
+        DeadlineRequestFactory(CloseableHttpClient httpClient, long deadlineMillis) {
+            super(httpClient);
+            this.deadlineMillis = deadlineMillis;
+        }
+
+        @Override
+        public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+            ClientHttpRequest request;
+            try {
+                request = super.createRequest(uri, httpMethod);
+            } catch (IOException | RuntimeException e) {
+                cancel(takeScheduledAbort());
+                throw e;
+            }
+            ScheduledFuture<?> abort = takeScheduledAbort();
+            return abort == null ? request : new DeadlineRequest(request, abort);
+        }
+
+        private ScheduledFuture<?> takeScheduledAbort() {
+            ScheduledFuture<?> abort = scheduledAbort.get();
+            scheduledAbort.remove();
+            return abort;
+        }
+
+        @Override
+        protected void postProcessHttpRequest(HttpUriRequest request) {
+            if (deadlineMillis > 0 && request instanceof HttpRequestBase) {
+                scheduledAbort.set(scheduler.schedule(((HttpRequestBase) request)::abort, deadlineMillis, TimeUnit.MILLISECONDS));
+            }
+        }
+    }
+
+    private static void cancel(ScheduledFuture<?> abort) {
+        if (abort != null) {
+            // 스케줄러가 취소 시 큐에서 제거 (setRemoveOnCancelPolicy)
+            abort.cancel(false);
+        }
+    }
+
+    /**
+     * 실행 실패 / 응답 닫힘 시 예약한 중단을 취소하는 요청
+     */
+    private static final class DeadlineRequest implements ClientHttpRequest {
+        private final ClientHttpRequest delegate;
+        private final ScheduledFuture<?> abort;
+
+        DeadlineRequest(ClientHttpRequest delegate, ScheduledFuture<?> abort) {
+            this.delegate = delegate;
+            this.abort = abort;
+        }
+
+        @Override
+        public ClientHttpResponse execute() throws IOException {
+            try {
+                return new DeadlineResponse(delegate.execute(), abort);
+            } catch (IOException | RuntimeException e) {
+                cancel(abort);
+                throw e;
+            }
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public String getMethodValue() {
+            return delegate.getMethodValue();
+        }
+
+        @Override
+        public URI getURI() {
+            return delegate.getURI();
+        }
+    }
+
+    /**
+     * 본문까지 다 읽고 닫을 때 마감 시간 중단을 취소하는 응답 (본문 스트리밍 중에도 마감 시간 유지)
+     */
+    private static final class DeadlineResponse implements ClientHttpResponse {
+        private final ClientHttpResponse delegate;
+        private final ScheduledFuture<?> abort;
+
+        DeadlineResponse(ClientHttpResponse delegate, ScheduledFuture<?> abort) {
+            this.delegate = delegate;
+            this.abort = abort;
+        }
+
+        @Override
+        public HttpStatus getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public int getRawStatusCode() throws IOException {
+            return delegate.getRawStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                cancel(abort);
+            }
+        }
+    }
+}
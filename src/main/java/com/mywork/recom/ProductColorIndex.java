@@ -0,0 +1,73 @@
+package com.mywork.recom;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 퍼스널 컬러별 추천 상품 색인 (백그라운드 크롤러가 미리 계산)
+ * - 카테고리 URL → (사용자 퍼스널 컬러 → 어울리는 상품 목록)
+ * - 카테고리 단위로 통째로 교체하므로 읽는 쪽은 잠금 없이 조회
+ */
+@Component
+public class ProductColorIndex {
+
+    private final Map<String, CategoryEntry> categories = new ConcurrentHashMap<>();
+
+    /**
+     * 색인된 추천 상품 조회 (아직 크롤링되지 않은 카테고리면 null)
+     */
+    public List<ProductDTO> lookup(String categoryUrl, String userPersonalColor) {
+        CategoryEntry entry = categories.get(categoryUrl);
+        if (entry == null) {
+            return null;
+        }
+        return entry.byPersonalColor.getOrDefault(userPersonalColor, Collections.emptyList());
+    }
+
+    /**
+     * 카테고리 색인 교체
+     */
+    public void update(String categoryUrl, Map<String, List<ProductDTO>> byPersonalColor, int productCount) {
+        update(categoryUrl, byPersonalColor, productCount, System.currentTimeMillis());
+    }
+
+    /**
+     * 카테고리 색인 교체 (스냅샷 복원처럼 갱신 시각을 지정하는 경우)
+     */
+    public void update(String categoryUrl, Map<String, List<ProductDTO>> byPersonalColor, int productCount, long updatedAt) {
+        categories.put(categoryUrl, new CategoryEntry(byPersonalColor, productCount, updatedAt));
+    }
+
+    public boolean isReady(String categoryUrl) {
+        return categories.containsKey(categoryUrl);
+    }
+
+    /**
+     * 색인 갱신 시각 (없으면 0)
+     */
+    public long getUpdatedAt(String categoryUrl) {
+        CategoryEntry entry = categories.get(categoryUrl);
+        return entry == null ? 0 : entry.updatedAt;
+    }
+
+    public int getProductCount(String categoryUrl) {
+        CategoryEntry entry = categories.get(categoryUrl);
+        return entry == null ? 0 : entry.productCount;
+    }
+
+    private static final class CategoryEntry {
+        final Map<String, List<ProductDTO>> byPersonalColor;
+        final int productCount;
+        final long updatedAt;
+
+        CategoryEntry(Map<String, List<ProductDTO>> byPersonalColor, int productCount, long updatedAt) {
+            this.byPersonalColor = byPersonalColor;
+            this.productCount = productCount;
+            this.updatedAt = updatedAt;
+        }
+    }
+}
@@ -1,18 +1,111 @@
 package com.mywork.recom;
 
-public class ProductDTO {
-    private String name;
-    private String imageUrl;
-    private String productLink;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 상품 (불변)
+ * - 카탈로그 전체를 메모리에 보관하므로 URL 은 공통 앞부분(마지막 '/' 까지)을 공유 인스턴스로 두고
+ *   나머지만 바이트 배열 하나에 이어 붙여 보관 (이미지 뒷부분 + 링크 뒷부분)
+ * - URL 게터는 호출할 때마다 문자열을 조립하므로 반복 비교에는 sameImage / sameLink 사용,
+ *   한 요청 안에서 여러 번 쓰는 URL 은 호출 측에서 한 번 만들어 재사용 (필드에 캐시하면 보관 크기가 다시 늘어남)
+ */
+public final class ProductDTO {
+
+    // URL 앞부분 공유 테이블 (상품 링크 / 브랜드·시즌별 이미지 경로 정도라 수가 적음, 넘치면 통째로 저장)
+    private static final int MAX_PREFIXES = 4096;
+    private static final Map<String, String> PREFIXES = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final String imagePrefix;
+    private final String linkPrefix;
+    private final byte[] suffixes;
+    private final int imageSuffixLength;
 
     public ProductDTO(String name, String imageUrl, String productLink) {
         this.name = name;
-        this.imageUrl = imageUrl;
-        this.productLink = productLink;
+        this.imagePrefix = prefixOf(imageUrl);
+        this.linkPrefix = prefixOf(productLink);
+        byte[] image = suffixOf(imageUrl, imagePrefix);
+        byte[] link = suffixOf(productLink, linkPrefix);
+        this.suffixes = Arrays.copyOf(image, image.length + link.length);
+        System.arraycopy(link, 0, suffixes, image.length, link.length);
+        this.imageSuffixLength = image.length;
     }
 
     // getter 메서드들
     public String getName() { return name; }
-    public String getImageUrl() { return imageUrl; }
-    public String getProductLink() { return productLink; }
+
+    public String getImageUrl() {
+        return imagePrefix + new String(suffixes, 0, imageSuffixLength, StandardCharsets.UTF_8);
+    }
+
+    public String getProductLink() {
+        return linkPrefix + new String(suffixes, imageSuffixLength, suffixes.length - imageSuffixLength, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 이미지 URL 이 같은지 (문자열을 조립하지 않고 비교)
+     */
+    public boolean sameImage(ProductDTO other) {
+        return imagePrefix.equals(other.imagePrefix)
+                && Arrays.equals(suffixes, 0, imageSuffixLength, other.suffixes, 0, other.imageSuffixLength);
+    }
+
+    /**
+     * 상품 링크가 같은지 (문자열을 조립하지 않고 비교)
+     */
+    public boolean sameLink(ProductDTO other) {
+        return linkPrefix.equals(other.linkPrefix)
+                && Arrays.equals(suffixes, imageSuffixLength, suffixes.length,
+                other.suffixes, other.imageSuffixLength, other.suffixes.length);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ProductDTO)) {
+            return false;
+        }
+        ProductDTO other = (ProductDTO) o;
+        return name.equals(other.name) && sameImage(other) && sameLink(other);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * name.hashCode() + imagePrefix.hashCode() + linkPrefix.hashCode()) + Arrays.hashCode(suffixes);
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + getProductLink() + ")";
+    }
+
+    /**
+     * 마지막 '/' 까지의 공유 앞부분 (테이블이 가득 차면 빈 문자열 → 전체를 뒷부분으로 저장)
+     */
+    private static String prefixOf(String url) {
+        int slash = url.lastIndexOf('/');
+        if (slash < 0) {
+            return "";
+        }
+        String prefix = url.substring(0, slash + 1);
+        String shared = PREFIXES.get(prefix);
+        if (shared != null) {
+            return shared;
+        }
+        if (PREFIXES.size() >= MAX_PREFIXES) {
+            return "";
+        }
+        shared = PREFIXES.putIfAbsent(prefix, prefix);
+        return shared != null ? shared : prefix;
+    }
+
+    private static byte[] suffixOf(String url, String prefix) {
+        return url.substring(prefix.length()).getBytes(StandardCharsets.UTF_8);
+    }
 }
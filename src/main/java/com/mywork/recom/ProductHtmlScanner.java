@@ -0,0 +1,553 @@
+package com.mywork.recom;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.function.Consumer;
+
+/**
+ * 상품 목록 HTML 스트리밍 스캐너
+ * - DOM 을 만들지 않고 Reader 에서 한 글자씩 읽으며 상품 링크(a[href*='/Product/'])만 추출
+ * - 읽기 / 태그 / 텍스트 버퍼는 재사용하고, 상품 하나당 이름 / 이미지 / 링크 문자열만 생성
+ * - script / style / 주석 내용은 건너뜀
+ * - 추출 규칙은 SeleniumProductSource 와 동일 (이름: div.textStyle_Body-14-M, 이미지: img src / data-src)
+ * 인스턴스는 스레드 안전하지 않음 (페이지마다 새로 만들거나 한 스레드에서 재사용)
+ */
+final class ProductHtmlScanner {
+
+    static final String PRODUCT_PATH = "/Product/";
+    static final String NAME_CLASS = "textStyle_Body-14-M";
+
+    private static final int NONE = 0;
+    private static final int A = 1;
+    private static final int IMG = 2;
+    private static final int DIV = 3;
+    private static final int SCRIPT = 4;
+    private static final int STYLE = 5;
+    private static final int BR = 6;
+
+    private final String baseUrl;
+
+    private final char[] buf = new char[8192];
+    private int pos;
+    private int limit;
+    private Reader reader;
+
+    private final StringBuilder tagName = new StringBuilder(16);
+    private final StringBuilder attrName = new StringBuilder(16);
+    private final StringBuilder attrValue = new StringBuilder(256);
+    private final StringBuilder text = new StringBuilder(128);
+
+    // 시작 태그에서 읽은 관심 속성 (태그마다 초기화)
+    private String href;
+    private String src;
+    private String dataSrc;
+    private boolean nameClass;
+
+    // 현재 상품 링크 안의 상태
+    private boolean inProduct;
+    private String productLink;
+    private String imageUrl;
+    private String name;
+    private boolean capturingName;
+    private int nameDivDepth;
+    private boolean pendingSpace;
+
+    /**
+     * @param baseUrl 상대 경로를 붙일 사이트 주소 (예: https://www.kolonmall.com)
+     */
+    ProductHtmlScanner(String baseUrl) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    /**
+     * 문서 끝까지 읽으며 이름과 이미지가 모두 있는 상품을 문서 순서대로 전달
+     *
+     * @return 전달한 상품 수
+     */
+    int scan(Reader in, Consumer<ProductDTO> sink) throws IOException {
+        reader = in;
+        pos = 0;
+        limit = 0;
+        resetProduct();
+        int found = 0;
+        try {
+            int c;
+            while ((c = read()) != -1) {
+                if (c == '<') {
+                    int tag = markup();
+                    if (tag < 0) {
+                        // 상품 링크가 닫힘
+                        if (emit(sink)) {
+                            found++;
+                        }
+                    }
+                } else if (capturingName) {
+                    if (c == '&') {
+                        entity(text);
+                    } else {
+                        appendText((char) c);
+                    }
+                }
+            }
+            // 닫히지 않은 마지막 링크
+            if (inProduct && emit(sink)) {
+                found++;
+            }
+            return found;
+        } finally {
+            reader = null;
+        }
+    }
+
+    /**
+     * '<' 다음 마크업 처리
+     *
+     * @return 상품 링크가 닫혔으면 -1, 그 외 0
+     */
+    private int markup() throws IOException {
+        int c = read();
+        if (c == '!') {
+            int d = read();
+            if (d == '>' || d == -1) {
+                return 0;
+            }
+            int e = d == '-' ? read() : -1;
+            if (d == '-' && e == '-') {
+                skipPast("-->");
+            } else {
+                skipPast(">");
+            }
+            return 0;
+        }
+        if (c == '?') {
+            skipPast(">");
+            return 0;
+        }
+        if (c == '/') {
+            int tag = readTagName(read());
+            skipPast(">");
+            return endTag(tag);
+        }
+        if (isLetter(c)) {
+            int tag = readTagName(c);
+            boolean selfClosing = readAttributes(tag);
+            startTag(tag, selfClosing);
+            return 0;
+        }
+        // 태그가 아닌 '<' 문자
+        if (capturingName) {
+            appendText('<');
+            if (c != -1) {
+                unread();
+            }
+        }
+        return 0;
+    }
+
+    private void startTag(int tag, boolean selfClosing) throws IOException {
+        switch (tag) {
+            case SCRIPT:
+                if (!selfClosing) {
+                    skipPastIgnoreCase("</script");
+                    skipPast(">");
+                }
+                return;
+            case STYLE:
+                if (!selfClosing) {
+                    skipPastIgnoreCase("</style");
+                    skipPast(">");
+                }
+                return;
+            case A:
+                if (href != null && href.contains(PRODUCT_PATH)) {
+                    finishName();
+                    resetProduct();
+                    inProduct = true;
+                    productLink = resolve(href);
+                }
+                return;
+            case IMG:
+                if (inProduct && imageUrl == null) {
+                    // 지연 로딩 이미지는 src 가 비었거나 data: 자리표시자
+                    String url = src != null && !src.isEmpty() && !src.startsWith("data:") ? src : dataSrc;
+                    if (url != null && !url.isEmpty()) {
+                        imageUrl = resolve(url);
+                    }
+                }
+                return;
+            case DIV:
+                if (selfClosing || !inProduct) {
+                    return;
+                }
+                if (capturingName) {
+                    nameDivDepth++;
+                } else if (name == null && nameClass) {
+                    capturingName = true;
+                    nameDivDepth = 1;
+                    text.setLength(0);
+                    pendingSpace = false;
+                }
+                return;
+            case BR:
+                if (capturingName) {
+                    pendingSpace = text.length() > 0;
+                }
+                return;
+            default:
+        }
+    }
+
+    private int endTag(int tag) {
+        if (tag == DIV && capturingName && --nameDivDepth == 0) {
+            finishName();
+        } else if (tag == A && inProduct) {
+            finishName();
+            return -1;
+        }
+        return 0;
+    }
+
+    private boolean emit(Consumer<ProductDTO> sink) {
+        boolean emitted = false;
+        if (name != null && !name.isEmpty() && imageUrl != null) {
+            sink.accept(new ProductDTO(name, imageUrl, productLink));
+            emitted = true;
+        }
+        resetProduct();
+        return emitted;
+    }
+
+    private void finishName() {
+        if (capturingName) {
+            name = text.toString();
+            capturingName = false;
+        }
+    }
+
+    private void resetProduct() {
+        inProduct = false;
+        productLink = null;
+        imageUrl = null;
+        name = null;
+        capturingName = false;
+        nameDivDepth = 0;
+    }
+
+    /**
+     * 공백을 하나로 합치고 앞뒤 공백은 버림 (innerText.trim() 과 비슷하게)
+     */
+    private void appendText(char c) {
+        if (Character.isWhitespace(c) || c == '\u00A0') {
+            pendingSpace = text.length() > 0;
+            return;
+        }
+        if (pendingSpace) {
+            text.append(' ');
+            pendingSpace = false;
+        }
+        text.append(c);
+    }
+
+    private int readTagName(int c) throws IOException {
+        tagName.setLength(0);
+        while (c != -1 && !isTagNameEnd(c)) {
+            tagName.append(Character.toLowerCase((char) c));
+            c = read();
+        }
+        if (c != -1) {
+            unread();
+        }
+        return tagCode(tagName);
+    }
+
+    /**
+     * 속성을 '>' 까지 읽으며 관심 속성만 문자열로 보관
+     *
+     * @return 자체 종료 태그(&lt;.../&gt;) 여부
+     */
+    private boolean readAttributes(int tag) throws IOException {
+        href = null;
+        src = null;
+        dataSrc = null;
+        nameClass = false;
+        boolean selfClosing = false;
+        int c;
+        while ((c = read()) != -1) {
+            if (c == '>') {
+                return selfClosing;
+            }
+            if (c == '/') {
+                selfClosing = true;
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            selfClosing = false;
+
+            attrName.setLength(0);
+            while (c != -1 && c != '=' && c != '>' && c != '/' && !Character.isWhitespace(c)) {
+                attrName.append(Character.toLowerCase((char) c));
+                c = read();
+            }
+            while (c != -1 && Character.isWhitespace(c)) {
+                c = read();
+            }
+            if (c != '=') {
+                // 값 없는 속성
+                if (c != -1) {
+                    unread();
+                }
+                continue;
+            }
+
+            boolean keep = isWanted(tag, attrName);
+            attrValue.setLength(0);
+            c = read();
+            while (c != -1 && Character.isWhitespace(c)) {
+                c = read();
+            }
+            if (c == '"' || c == '\'') {
+                int quote = c;
+                while ((c = read()) != -1 && c != quote) {
+                    if (keep) {
+                        if (c == '&') {
+                            entity(attrValue);
+                        } else {
+                            attrValue.append((char) c);
+                        }
+                    }
+                }
+            } else {
+                while (c != -1 && c != '>' && !Character.isWhitespace(c)) {
+                    if (keep) {
+                        attrValue.append((char) c);
+                    }
+                    c = read();
+                }
+                if (c == '>') {
+                    unread();
+                }
+            }
+            if (keep) {
+                store(tag);
+            }
+        }
+        return selfClosing;
+    }
+
+    private static boolean isWanted(int tag, StringBuilder attr) {
+        switch (tag) {
+            case A:
+                return contentEquals(attr, "href");
+            case IMG:
+                return contentEquals(attr, "src") || contentEquals(attr, "data-src");
+            case DIV:
+                return contentEquals(attr, "class");
+            default:
+                return false;
+        }
+    }
+
+    private void store(int tag) {
+        switch (tag) {
+            case A:
+                href = attrValue.toString().trim();
+                break;
+            case IMG:
+                if (contentEquals(attrName, "src")) {
+                    src = attrValue.toString().trim();
+                } else {
+                    dataSrc = attrValue.toString().trim();
+                }
+                break;
+            case DIV:
+                nameClass = hasClass(attrValue, NAME_CLASS);
+                break;
+            default:
+        }
+    }
+
+    /**
+     * 공백으로 구분된 class 목록에 토큰이 있는지 (문자열 생성 없이)
+     */
+    static boolean hasClass(CharSequence classes, String token) {
+        int len = classes.length();
+        int i = 0;
+        while (i < len) {
+            while (i < len && Character.isWhitespace(classes.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < len && !Character.isWhitespace(classes.charAt(i))) {
+                i++;
+            }
+            if (i - start == token.length()) {
+                boolean same = true;
+                for (int k = 0; k < token.length() && same; k++) {
+                    same = classes.charAt(start + k) == token.charAt(k);
+                }
+                if (same) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * '&' 다음 문자 참조 해석 (모르는 참조는 그대로 둠)
+     */
+    private void entity(StringBuilder out) throws IOException {
+        int mark = out.length();
+        out.append('&');
+        int c;
+        int count = 0;
+        while ((c = read()) != -1 && count < 10) {
+            if (c == ';') {
+                String decoded = decode(out, mark + 1);
+                if (decoded != null) {
+                    out.setLength(mark);
+                    if (out == text) {
+                        for (int i = 0; i < decoded.length(); i++) {
+                            appendText(decoded.charAt(i));
+                        }
+                    } else {
+                        out.append(decoded);
+                    }
+                } else {
+                    out.append(';');
+                }
+                return;
+            }
+            if (!Character.isLetterOrDigit(c) && c != '#') {
+                break;
+            }
+            out.append((char) c);
+            count++;
+        }
+        if (c != -1) {
+            unread();
+        }
+    }
+
+    private static String decode(StringBuilder sb, int from) {
+        int len = sb.length() - from;
+        if (len <= 0) {
+            return null;
+        }
+        if (sb.charAt(from) == '#') {
+            try {
+                int code = len > 1 && (sb.charAt(from + 1) == 'x' || sb.charAt(from + 1) == 'X')
+                        ? Integer.parseInt(sb, from + 2, sb.length(), 16)
+                        : Integer.parseInt(sb, from + 1, sb.length(), 10);
+                return Character.isValidCodePoint(code) ? new String(Character.toChars(code)) : null;
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        String name = sb.substring(from);
+        switch (name) {
+            case "amp": return "&";
+            case "lt": return "<";
+            case "gt": return ">";
+            case "quot": return "\"";
+            case "apos": return "'";
+            case "nbsp": return "\u00A0";
+            default: return null;
+        }
+    }
+
+    private String resolve(String url) {
+        if (url.startsWith("http://") || url.startsWith("https://")) {
+            return url;
+        }
+        if (url.startsWith("//")) {
+            return "https:" + url;
+        }
+        return url.startsWith("/") ? baseUrl + url : baseUrl + '/' + url;
+    }
+
+    private static int tagCode(StringBuilder name) {
+        switch (name.length()) {
+            case 1:
+                return name.charAt(0) == 'a' ? A : NONE;
+            case 2:
+                return contentEquals(name, "br") ? BR : NONE;
+            case 3:
+                return contentEquals(name, "img") ? IMG : contentEquals(name, "div") ? DIV : NONE;
+            case 5:
+                return contentEquals(name, "style") ? STYLE : NONE;
+            case 6:
+                return contentEquals(name, "script") ? SCRIPT : NONE;
+            default:
+                return NONE;
+        }
+    }
+
+    private static boolean contentEquals(StringBuilder sb, String s) {
+        if (sb.length() != s.length()) {
+            return false;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            if (sb.charAt(i) != s.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLetter(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isTagNameEnd(int c) {
+        return c == '>' || c == '/' || Character.isWhitespace(c);
+    }
+
+    /**
+     * 구분자 문자열 바로 뒤까지 건너뜀 (구분자의 첫 글자는 구분자 안에 다시 나오지 않아야 함)
+     */
+    private void skipPast(String delimiter) throws IOException {
+        int matched = 0;
+        int c;
+        while (matched < delimiter.length() && (c = read()) != -1) {
+            if (c == delimiter.charAt(matched)) {
+                matched++;
+            } else {
+                matched = c == delimiter.charAt(0) ? 1 : 0;
+            }
+        }
+    }
+
+    private void skipPastIgnoreCase(String delimiter) throws IOException {
+        int matched = 0;
+        int c;
+        while (matched < delimiter.length() && (c = read()) != -1) {
+            if (Character.toLowerCase((char) c) == delimiter.charAt(matched)) {
+                matched++;
+            } else {
+                matched = c == delimiter.charAt(0) ? 1 : 0;
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (pos == limit) {
+            limit = reader.read(buf, 0, buf.length);
+            pos = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buf[pos++];
+    }
+
+    /**
+     * 마지막으로 읽은 한 글자 되돌리기 (read() 직후에만 호출)
+     */
+    private void unread() {
+        pos--;
+    }
+}
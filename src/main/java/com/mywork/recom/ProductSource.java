@@ -0,0 +1,24 @@
+package com.mywork.recom;
+
+import java.util.Iterator;
+
+/**
+ * 카테고리 상품 공급원
+ * - 상품을 카탈로그 순서대로 필요한 만큼만 읽어옴 (다음 페이지 / 무한 스크롤은 소비자가 더 요청할 때만)
+ * - 커서는 브라우저 세션 등 자원을 잡고 있으므로 다 쓰면 반드시 close
+ */
+public interface ProductSource {
+
+    /**
+     * 카테고리 상품 커서 열기
+     */
+    ProductCursor open(String categoryUrl);
+
+    /**
+     * 상품 커서 (try-with-resources 로 사용)
+     */
+    interface ProductCursor extends Iterator<ProductDTO>, AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,121 @@
+package com.mywork.recom;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 추천 파이프라인 메트릭 (Prometheus 텍스트 포맷으로 /metrics 에 노출)
+ * - 지연 시간 히스토그램: 스크래핑, AI 호출, 캐시 조회, 호환성 판단, 전체 요청
+ * - 카운터: 매칭 / 미매칭 / AI 실패 / 기본 결과 대체 / 이미지 중복 제거 / 사전 필터 제외 / 점수 상한 제외 / 결과 페이지 재사용
+ * - 게이지: 캐시 크기, 진행 중인 분석 수 (각 서비스가 등록)
+ */
+@Component
+public class RecommendMetrics {
+
+    private final PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+
+    private final Timer scrapeTimer;
+    private final Timer aiSingleTimer;
+    private final Timer aiBatchTimer;
+    private final Timer memoryLookupTimer;
+    private final Timer diskLookupTimer;
+    private final Timer compatibilityTimer;
+    private final Timer requestTimer;
+    private final Timer imageHashTimer;
+    private final Timer preFilterTimer;
+
+    private final Counter matches;
+    private final Counter misses;
+    private final Counter aiFailures;
+    private final Counter fallbacks;
+    private final Counter dedupLookups;
+    private final Counter dedupHits;
+    private final Counter preFilterSkipped;
+    private final Counter circuitRejected;
+    private final Counter localFallbacks;
+    private final Counter coalesced;
+    private final Counter scrapeFallbacks;
+    private final Counter scorePruned;
+    private final Counter pageCacheHits;
+    private final Counter notModified;
+
+    public RecommendMetrics() {
+        this.scrapeTimer = histogram("recommend.scrape", "상품 목록 스크래핑 시간");
+        this.aiSingleTimer = Timer.builder("recommend.ai.call").tag("mode", "single")
+                .description("AI 서버 호출 시간").publishPercentileHistogram().register(registry);
+        this.aiBatchTimer = Timer.builder("recommend.ai.call").tag("mode", "batch")
+                .description("AI 서버 호출 시간").publishPercentileHistogram().register(registry);
+        this.memoryLookupTimer = Timer.builder("recommend.cache.lookup").tag("tier", "memory")
+                .description("분석 캐시 조회 시간").publishPercentileHistogram().register(registry);
+        this.diskLookupTimer = Timer.builder("recommend.cache.lookup").tag("tier", "disk")
+                .description("분석 캐시 조회 시간").publishPercentileHistogram().register(registry);
+        this.compatibilityTimer = histogram("recommend.compatibility.check", "퍼스널 컬러 호환성 판단 시간");
+        this.requestTimer = histogram("recommend.request", "추천 요청 전체 처리 시간");
+        this.imageHashTimer = histogram("recommend.image.hash", "이미지 다운로드 + 내용 해시 계산 시간");
+        this.preFilterTimer = histogram("recommend.prefilter.extract", "이미지 다운로드 + 로컬 대표 색상 추출 시간");
+
+        this.matches = Counter.builder("recommend.matches").description("매칭된 상품 수").register(registry);
+        this.misses = Counter.builder("recommend.misses").description("매칭되지 않은 상품 수").register(registry);
+        this.aiFailures = Counter.builder("recommend.ai.failures").description("AI 분석 실패 수").register(registry);
+        this.fallbacks = Counter.builder("recommend.ai.fallbacks").description("기본 결과로 대체된 분석 수").register(registry);
+        this.dedupLookups = Counter.builder("recommend.dedup.lookups").description("분석 키 조회 수").register(registry);
+        this.dedupHits = Counter.builder("recommend.dedup.hits").description("다른 URL 의 같은 이미지로 합쳐진 수").register(registry);
+        this.circuitRejected = Counter.builder("recommend.ai.circuit.rejected").description("회로 차단으로 생략한 AI 호출 수").register(registry);
+        this.localFallbacks = Counter.builder("recommend.ai.local_fallbacks").description("회로 차단 중 로컬 추정으로 대체한 분석 수").register(registry);
+        this.coalesced = Counter.builder("recommend.coalesced").description("진행 중이거나 최근 계산된 동일 요청 결과를 공유한 수").register(registry);
+        this.preFilterSkipped = Counter.builder("recommend.prefilter.skipped").description("사전 필터로 AI 분석을 생략한 상품 수").register(registry);
+        this.scrapeFallbacks = Counter.builder("recommend.scrape.fallbacks").description("HTTP 수집 실패로 Selenium 으로 대체한 수").register(registry);
+        this.scorePruned = Counter.builder("recommend.score.pruned").description("K번째 점수가 이미 최대라 순위에 들 수 없어 AI 분석을 생략한 상품 수").register(registry);
+        this.pageCacheHits = Counter.builder("recommend.page.cache.hits").description("같은 카탈로그 버전의 추천 결과 페이지를 재사용한 수").register(registry);
+        this.notModified = Counter.builder("recommend.page.not_modified").description("조건부 GET 에 304 로 응답한 수").register(registry);
+    }
+
+    private Timer histogram(String name, String description) {
+        return Timer.builder(name).description(description).publishPercentileHistogram().register(registry);
+    }
+
+    /**
+     * 상태 값을 주기적으로 읽어가는 게이지 등록
+     */
+    public <T> void gauge(String name, String description, T target, ToDoubleFunction<T> value) {
+        Gauge.builder(name, target, value).description(description).register(registry);
+    }
+
+    /**
+     * Prometheus 텍스트 포맷 출력
+     */
+    public String scrape() {
+        return registry.scrape();
+    }
+
+    // Getters
+    public Timer getScrapeTimer() { return scrapeTimer; }
+    public Timer getAiSingleTimer() { return aiSingleTimer; }
+    public Timer getAiBatchTimer() { return aiBatchTimer; }
+    public Timer getMemoryLookupTimer() { return memoryLookupTimer; }
+    public Timer getDiskLookupTimer() { return diskLookupTimer; }
+    public Timer getCompatibilityTimer() { return compatibilityTimer; }
+    public Timer getRequestTimer() { return requestTimer; }
+    public Timer getImageHashTimer() { return imageHashTimer; }
+    public Timer getPreFilterTimer() { return preFilterTimer; }
+    public Counter getMatches() { return matches; }
+    public Counter getMisses() { return misses; }
+    public Counter getAiFailures() { return aiFailures; }
+    public Counter getFallbacks() { return fallbacks; }
+    public Counter getDedupLookups() { return dedupLookups; }
+    public Counter getDedupHits() { return dedupHits; }
+    public Counter getPreFilterSkipped() { return preFilterSkipped; }
+    public Counter getCircuitRejected() { return circuitRejected; }
+    public Counter getLocalFallbacks() { return localFallbacks; }
+    public Counter getCoalesced() { return coalesced; }
+    public Counter getScrapeFallbacks() { return scrapeFallbacks; }
+    public Counter getScorePruned() { return scorePruned; }
+    public Counter getPageCacheHits() { return pageCacheHits; }
+    public Counter getNotModified() { return notModified; }
+}
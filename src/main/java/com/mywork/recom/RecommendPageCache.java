@@ -0,0 +1,94 @@
+package com.mywork.recom;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 추천 결과 페이지 캐시 (/recommend 재방문, 새로고침, 뒤로 가기용)
+ * - (카테고리 URL, 퍼스널 컬러 번호) → 추천 상품 목록 + 조건부 GET 검증자(ETag / Last-Modified)
+ * - 카탈로그 버전은 ProductColorIndex 의 카테고리 갱신 시각 - 버전이 바뀌면 다음 조회에서 다시 계산
+ * - 색인이 아직 없는 카테고리는 실시간 분석 결과라 버전이 없으므로 캐시하지 않음 (null)
+ */
+@Component
+public class RecommendPageCache {
+
+    private final HomeService homeService;
+    private final ProductColorIndex productColorIndex;
+    private final RecommendMetrics metrics;
+
+    // 키 수는 (크롤링 카테고리 수 × 선택 가능한 퍼스널 컬러 수) 로 제한됨
+    private final Map<String, Page> pages = new ConcurrentHashMap<>();
+
+    public RecommendPageCache(HomeService homeService, ProductColorIndex productColorIndex, RecommendMetrics metrics) {
+        this.homeService = homeService;
+        this.productColorIndex = productColorIndex;
+        this.metrics = metrics;
+        metrics.gauge("recommend.page.cache.size", "캐시된 추천 결과 페이지 수", pages, Map::size);
+    }
+
+    /**
+     * 현재 카탈로그 버전의 추천 결과 (색인 준비 전이면 null)
+     */
+    public Page lookup(String categoryUrl, int personal) {
+        long version = productColorIndex.getUpdatedAt(categoryUrl);
+        if (version == 0) {
+            return null;
+        }
+        String key = personal + "|" + categoryUrl;
+        Page cached = pages.get(key);
+        if (cached != null && cached.version == version) {
+            metrics.getPageCacheHits().increment();
+            return cached;
+        }
+        // 계산 중 색인이 바뀌어도 읽기 전 버전으로 기록되므로 다음 조회에서 다시 계산됨
+        String personalColor = homeService.getPersonalColor(personal);
+        List<ProductDTO> items = List.copyOf(homeService.findRecommendedProducts(categoryUrl, personalColor));
+        Page page = new Page(personalColor, items, version);
+        pages.put(key, page);
+        return page;
+    }
+
+    /**
+     * 카탈로그 한 버전의 추천 결과
+     */
+    public static final class Page {
+        private final String personalColor;
+        private final List<ProductDTO> items;
+        private final long version;
+        private final String eTag;
+
+        Page(String personalColor, List<ProductDTO> items, long version) {
+            this.personalColor = personalColor;
+            this.items = items;
+            this.version = version;
+            // 처리 시간 표시 등 본문이 바이트 단위로 같지는 않으므로 약한 ETag
+            int hash = personalColor.hashCode();
+            for (ProductDTO item : items) {
+                hash = 31 * hash + item.hashCode();
+            }
+            this.eTag = "W/\"" + Long.toHexString(version) + '-' + Integer.toHexString(hash) + '"';
+        }
+
+        public String getPersonalColor() {
+            return personalColor;
+        }
+
+        public List<ProductDTO> getItems() {
+            return items;
+        }
+
+        /**
+         * Last-Modified 로 쓰는 카탈로그 갱신 시각 (ms)
+         */
+        public long getLastModified() {
+            return version;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.mywork.recom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 스트리밍 추천 (Server-Sent Events)
+ * - 서블릿 스레드는 SseEmitter 만 반환하고 바로 풀려남
+ * - 스크래핑은 전용 스레드에서, 분석 결과는 완료되는 순서대로 점수 상위 K개에 든 상품을 즉시 전송
+ * - 상위 K개(recommend.match-limit)가 충분히 좋은 점수로 채워지면 더 스크래핑하지 않음
+ * - 이벤트: start(목표 개수 / 최대 탐색 수) → product(상위 K개 진입 상품, 여러 번) → done(탐색 수 / 전송 수 / 최종 순위) / error
+ * - AI 서버 장애시에는 회로 차단기에 의해 캐시 / 로컬 추정 결과로 바로 판단
+ */
+@Service
+public class RecommendStreamService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(RecommendStreamService.class);
+
+    private final HomeService homeService;
+    private final ProductColorIndex productColorIndex;
+
+    private final long timeoutMillis;
+    private final ExecutorService executor;
+
+    public RecommendStreamService(HomeService homeService,
+                                  ProductColorIndex productColorIndex,
+                                  @Value("${stream.max-concurrent:8}") int maxConcurrent,
+                                  @Value("${stream.timeout-ms:120000}") long timeoutMillis) {
+        this.homeService = homeService;
+        this.productColorIndex = productColorIndex;
+        this.timeoutMillis = timeoutMillis;
+
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, maxConcurrent), r -> {
+            Thread t = new Thread(r, "recommend-stream-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * 스트리밍 추천 시작 (작업은 백그라운드에서 진행)
+     */
+    public SseEmitter open(String url, String userPersonalColor) {
+        Stream stream = new Stream(new SseEmitter(timeoutMillis));
+        try {
+            executor.execute(() -> run(stream, url, userPersonalColor));
+        } catch (RejectedExecutionException e) {
+            stream.fail("서버가 종료 중입니다.");
+        }
+        return stream.emitter;
+    }
+
+    private void run(Stream stream, String url, String userPersonalColor) {
+        try {
+            // 색인이 준비되어 있으면 한 번에 전송
+            List<ProductDTO> indexed = productColorIndex.lookup(url, userPersonalColor);
+            if (indexed != null) {
+                List<ProductDTO> limited = indexed.size() > homeService.getMatchLimit()
+                        ? indexed.subList(0, homeService.getMatchLimit()) : indexed;
+                stream.start(homeService.getMatchLimit(), productColorIndex.getProductCount(url));
+                limited.forEach(stream::product);
+                stream.done("index", productColorIndex.getProductCount(url), limited);
+                return;
+            }
+
+            // 분석이 끝나는 순서대로 그 시점 상위 K개에 든 상품을 전송, 최종 순위는 done 이벤트의 ranking
+            stream.start(homeService.getMatchLimit(), homeService.getMaxScan());
+            HomeService.ScanResult result = homeService.scanForMatches(url, userPersonalColor, stream::product);
+            stream.done("live", result.scanned, result.matched);
+        } catch (Exception e) {
+            log.error("스트리밍 추천 중 오류 발생", e);
+            stream.fail("상품 추천 중 오류가 발생했습니다.");
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 하나의 SSE 연결 (클라이언트가 끊으면 이후 전송은 무시)
+     */
+    private static final class Stream {
+        private final SseEmitter emitter;
+        private final AtomicBoolean closed = new AtomicBoolean(false);
+        private final AtomicInteger matched = new AtomicInteger();
+
+        Stream(SseEmitter emitter) {
+            this.emitter = emitter;
+            emitter.onCompletion(() -> closed.set(true));
+            emitter.onTimeout(() -> closed.set(true));
+            emitter.onError(e -> closed.set(true));
+        }
+
+        void start(int matchLimit, int maxScan) {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("matchLimit", matchLimit);
+            data.put("maxScan", maxScan);
+            send("start", data);
+        }
+
+        void product(ProductDTO product) {
+            matched.incrementAndGet();
+            send("product", product);
+        }
+
+        void done(String source, int scanned, List<ProductDTO> ranked) {
+            List<String> ranking = new ArrayList<>(ranked.size());
+            for (ProductDTO product : ranked) {
+                ranking.add(product.getProductLink());
+            }
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("total", scanned);
+            data.put("matched", matched.get());
+            data.put("source", source);
+            // 최종 추천 순위 (상품 링크, 점수 내림차순) - 스트리밍 중 받은 상품 중 여기에 없는 것은 밀려난 상품
+            data.put("ranking", ranking);
+            send("done", data);
+            if (closed.compareAndSet(false, true)) {
+                emitter.complete();
+            }
+        }
+
+        void fail(String message) {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("message", message);
+            send("error", data);
+            if (closed.compareAndSet(false, true)) {
+                emitter.complete();
+            }
+        }
+
+        private void send(String name, Object data) {
+            if (closed.get()) {
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                // 클라이언트 연결 종료 - 남은 분석은 캐시에 쌓이도록 그대로 진행
+                closed.set(true);
+                log.debug("SSE 전송 중단: {}", e.getMessage());
+            }
+        }
+    }
+}
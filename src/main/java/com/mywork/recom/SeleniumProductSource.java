@@ -0,0 +1,220 @@
+package com.mywork.recom;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Selenium 기반 상품 공급원 (WebDriverPool 세션 사용)
+ * - 한 번의 executeScript 로 현재 페이지의 상품 필드를 모두 JSON 으로 추출 (요소별 왕복 없음)
+ * - 버퍼가 비었을 때만 페이지 끝으로 스크롤해 다음 묶음을 불러옴
+ * - 같은 상품 링크는 한 번만 반환
+ */
+@Component
+public class SeleniumProductSource implements ProductSource {
+
+    private static final Logger log = LoggerFactory.getLogger(SeleniumProductSource.class);
+
+    private static final String PRODUCT_SELECTOR = "a[href*='/Product/']";
+
+    // arguments[0] 번째 상품 링크부터 이름 / 이미지 / 링크를 한 번에 추출
+    private static final String EXTRACT_SCRIPT =
+            "var anchors = document.querySelectorAll(\"" + PRODUCT_SELECTOR + "\");"
+            + "var items = [];"
+            + "for (var i = arguments[0]; i < anchors.length; i++) {"
+            + "  var a = anchors[i];"
+            + "  var nameEl = a.querySelector('div.textStyle_Body-14-M');"
+            + "  var img = a.querySelector('img');"
+            + "  items.push({"
+            + "    name: nameEl ? nameEl.innerText.trim() : '',"
+            + "    imageUrl: img ? (img.src || img.getAttribute('data-src') || '') : '',"
+            + "    productLink: a.href || ''"
+            + "  });"
+            + "}"
+            + "return JSON.stringify({total: anchors.length, items: items});";
+
+    private static final String COUNT_SCRIPT =
+            "return document.querySelectorAll(\"" + PRODUCT_SELECTOR + "\").length;";
+
+    private final WebDriverPool webDriverPool;
+    private final RecommendMetrics metrics;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final long pageLoadTimeoutMillis;
+    private final long scrollWaitMillis;
+    private final int maxScrolls;
+
+    public SeleniumProductSource(WebDriverPool webDriverPool,
+                                 RecommendMetrics metrics,
+                                 @Value("${scrape.page-load-timeout-ms:10000}") long pageLoadTimeoutMillis,
+                                 @Value("${scrape.scroll-wait-ms:3000}") long scrollWaitMillis,
+                                 @Value("${scrape.max-scrolls:20}") int maxScrolls) {
+        this.webDriverPool = webDriverPool;
+        this.metrics = metrics;
+        this.pageLoadTimeoutMillis = pageLoadTimeoutMillis;
+        this.scrollWaitMillis = scrollWaitMillis;
+        this.maxScrolls = maxScrolls;
+    }
+
+    @Override
+    public ProductCursor open(String categoryUrl) {
+        return new SeleniumCursor(categoryUrl);
+    }
+
+    private final class SeleniumCursor implements ProductCursor {
+        private final String url;
+        private final ArrayDeque<ProductDTO> buffer = new ArrayDeque<>();
+        private final Set<String> seenLinks = new HashSet<>();
+
+        private WebDriverPool.Lease lease;
+        private int anchorsRead = 0;
+        private int scrolls = 0;
+        private boolean exhausted = false;
+
+        SeleniumCursor(String url) {
+            this.url = url;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (buffer.isEmpty() && !exhausted) {
+                fetchMore();
+            }
+            return !buffer.isEmpty();
+        }
+
+        @Override
+        public ProductDTO next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return buffer.poll();
+        }
+
+        /**
+         * 다음 상품 묶음 로딩 (첫 호출은 페이지 열기, 이후는 무한 스크롤)
+         */
+        private void fetchMore() {
+            long start = System.nanoTime();
+            try {
+                if (lease == null) {
+                    // 실제로 상품이 필요해진 시점에 세션을 빌림
+                    lease = webDriverPool.acquire();
+                    if (!loadFirstPage(lease.getDriver())) {
+                        exhausted = true;
+                        return;
+                    }
+                } else if (!scrollForMore(lease.getDriver())) {
+                    exhausted = true;
+                    return;
+                }
+                extract(lease.getDriver());
+            } catch (WebDriverException e) {
+                if (lease != null) {
+                    lease.markBroken();
+                }
+                log.error("상품 스크래핑 중 WebDriver 오류: {}", url, e);
+                exhausted = true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                exhausted = true;
+            } catch (Exception e) {
+                log.warn("상품 스크래핑 실패: {} - {}", url, e.getMessage());
+                exhausted = true;
+            } finally {
+                metrics.getScrapeTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private boolean loadFirstPage(WebDriver driver) {
+            driver.get(url);
+
+            // 팝업 닫기
+            try {
+                WebDriverWait popupWait = new WebDriverWait(driver, Duration.ofSeconds(3));
+                WebElement closeBtn = popupWait.until(ExpectedConditions.elementToBeClickable(By.cssSelector(".popup-close")));
+                closeBtn.click();
+            } catch (Exception ignored) {
+            }
+
+            // 상품 영역 대기
+            try {
+                new WebDriverWait(driver, Duration.ofMillis(pageLoadTimeoutMillis))
+                        .until(ExpectedConditions.presenceOfElementLocated(By.cssSelector(PRODUCT_SELECTOR)));
+                return true;
+            } catch (TimeoutException e) {
+                log.warn("상품 목록을 찾을 수 없습니다: {}", url);
+                return false;
+            }
+        }
+
+        /**
+         * 페이지 끝으로 스크롤 후 상품 수가 늘어날 때까지 대기 (늘지 않으면 마지막 페이지)
+         */
+        private boolean scrollForMore(WebDriver driver) throws InterruptedException {
+            if (scrolls >= maxScrolls) {
+                return false;
+            }
+            scrolls++;
+            JavascriptExecutor js = (JavascriptExecutor) driver;
+            js.executeScript("window.scrollTo(0, document.body.scrollHeight);");
+            long deadline = System.currentTimeMillis() + scrollWaitMillis;
+            while (System.currentTimeMillis() < deadline) {
+                Object count = js.executeScript(COUNT_SCRIPT);
+                if (count instanceof Number && ((Number) count).intValue() > anchorsRead) {
+                    return true;
+                }
+                Thread.sleep(200);
+            }
+            return false;
+        }
+
+        private void extract(WebDriver driver) throws Exception {
+            Object json = ((JavascriptExecutor) driver).executeScript(EXTRACT_SCRIPT, anchorsRead);
+            JsonNode page = objectMapper.readTree(String.valueOf(json));
+            int added = 0;
+            for (JsonNode item : page.path("items")) {
+                String name = item.path("name").asText("");
+                String imageUrl = item.path("imageUrl").asText("");
+                String productLink = item.path("productLink").asText("");
+                if (!productLink.startsWith("http")) {
+                    productLink = "https://www.kolonmall.com" + productLink;
+                }
+                if (!name.isEmpty() && !imageUrl.isEmpty() && seenLinks.add(productLink)) {
+                    buffer.add(new ProductDTO(name, imageUrl, productLink));
+                    added++;
+                }
+            }
+            anchorsRead = page.path("total").asInt(anchorsRead);
+            log.debug("상품 묶음 추출: {} (새 상품 {}개, 누적 링크 {}개)", url, added, anchorsRead);
+        }
+
+        @Override
+        public void close() {
+            if (lease != null) {
+                lease.close();
+                lease = null;
+            }
+            exhausted = true;
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.mywork.recom;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * 점수 상위 K개만 유지하는 힙
+ * - 루트가 현재 K번째(가장 낮은) 항목이므로 새 항목을 넣을지 O(1) 로 판단
+ * - 점수가 같으면 순번(카탈로그 순서)이 빠른 쪽이 앞 순위 → 들어온 순서와 관계없이 결과가 같음
+ * 스레드 안전하지 않음 (여러 스레드에서 쓰면 호출 측에서 동기화)
+ */
+final class TopK<T> {
+
+    private final int k;
+    private final PriorityQueue<Entry<T>> heap;
+
+    TopK(int k) {
+        this.k = Math.max(1, k);
+        this.heap = new PriorityQueue<>(this.k + 1, TopK::compareWorstFirst);
+    }
+
+    /**
+     * 항목 추가 (상위 K개 안에 들면 true, 밀려난 항목은 버림)
+     */
+    boolean offer(T item, double score, int order) {
+        Entry<T> entry = new Entry<>(item, score, order);
+        if (heap.size() < k) {
+            heap.add(entry);
+            return true;
+        }
+        if (compareWorstFirst(entry, heap.peek()) <= 0) {
+            return false;
+        }
+        heap.poll();
+        heap.add(entry);
+        return true;
+    }
+
+    boolean isFull() {
+        return heap.size() >= k;
+    }
+
+    /**
+     * 새 항목이 넘어야 하는 점수 (가득 차기 전에는 음의 무한대)
+     */
+    double threshold() {
+        return isFull() ? heap.peek().score : Double.NEGATIVE_INFINITY;
+    }
+
+    int size() {
+        return heap.size();
+    }
+
+    /**
+     * 점수 내림차순 (같으면 순번 오름차순) 목록
+     */
+    List<T> toSortedList() {
+        List<Entry<T>> entries = new ArrayList<>(heap);
+        entries.sort((a, b) -> compareWorstFirst(b, a));
+        List<T> items = new ArrayList<>(entries.size());
+        for (Entry<T> entry : entries) {
+            items.add(entry.item);
+        }
+        return items;
+    }
+
+    // 낮은 점수, 같은 점수면 늦은 순번이 먼저 (힙 루트 = 가장 먼저 밀려날 항목)
+    private static int compareWorstFirst(Entry<?> a, Entry<?> b) {
+        int byScore = Double.compare(a.score, b.score);
+        return byScore != 0 ? byScore : Integer.compare(b.order, a.order);
+    }
+
+    private static final class Entry<T> {
+        final T item;
+        final double score;
+        final int order;
+
+        Entry(T item, double score, int order) {
+            this.item = item;
+            this.score = score;
+            this.order = order;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.mywork.recom;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 스크래핑용 Chrome WebDriver 풀
+ * - 고정 개수의 브라우저 세션을 미리 띄워두고 요청마다 빌려 씀
+ * - 빌려줄 때 상태 확인, N회 사용 후 재생성
+ * - 반납시 쿠키 / 추가 탭 / 스토리지 초기화
+ * - 세션 대기 최대 시간 초과시 예외 (동시 부하 상한)
+ */
+@Component
+public class WebDriverPool implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(WebDriverPool.class);
+
+    private final int maxSize;
+    private final int maxUses;
+    private final long acquireTimeoutMillis;
+
+    private final LinkedBlockingDeque<PooledDriver> idle = new LinkedBlockingDeque<>();
+    private final AtomicInteger created = new AtomicInteger();
+    private volatile boolean closed = false;
+
+    public WebDriverPool(@Value("${webdriver.pool.size:2}") int maxSize,
+                         @Value("${webdriver.pool.max-uses:50}") int maxUses,
+                         @Value("${webdriver.pool.acquire-timeout-ms:30000}") long acquireTimeoutMillis,
+                         @Value("${webdriver.pool.warm-up:true}") boolean warmUp,
+                         @Value("${webdriver.chrome.driver-path:}") String driverPath) {
+        this.maxSize = Math.max(1, maxSize);
+        this.maxUses = Math.max(1, maxUses);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+
+        if (driverPath != null && !driverPath.isBlank()) {
+            System.setProperty("webdriver.chrome.driver", driverPath);
+        }
+
+        if (warmUp) {
+            // 브라우저 기동은 수 초 걸리므로 애플리케이션 시작을 막지 않도록 백그라운드에서 준비
+            Thread warmer = new Thread(this::warmUp, "webdriver-pool-warmup");
+            warmer.setDaemon(true);
+            warmer.start();
+        }
+    }
+
+    /**
+     * 브라우저 세션 대여 (반드시 try-with-resources 로 반납)
+     */
+    public Lease acquire() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMillis);
+        while (!closed) {
+            PooledDriver pooled = idle.pollFirst();
+            if (pooled == null) {
+                pooled = tryCreate();
+            }
+            if (pooled == null) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new IllegalStateException("WebDriver 세션 대기 시간 초과 (" + acquireTimeoutMillis + "ms)");
+                }
+                // 폐기된 세션 자리가 생기면 새로 만들 수 있도록 짧게 나눠 대기
+                pooled = idle.pollFirst(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(500)), TimeUnit.NANOSECONDS);
+                if (pooled == null) {
+                    continue;
+                }
+            }
+
+            if (isHealthy(pooled.driver)) {
+                pooled.uses++;
+                return new Lease(pooled);
+            }
+            log.warn("비정상 WebDriver 세션 폐기");
+            discard(pooled);
+        }
+        throw new IllegalStateException("WebDriver 풀이 종료되었습니다.");
+    }
+
+    private void release(PooledDriver pooled, boolean broken) {
+        if (closed || broken || pooled.uses >= maxUses || !reset(pooled.driver)) {
+            discard(pooled);
+            return;
+        }
+        // 최근 사용한 세션을 먼저 재사용 (캐시/커넥션이 따뜻한 상태)
+        idle.offerFirst(pooled);
+    }
+
+    /**
+     * 최대 개수 이내이면 새 브라우저 생성
+     */
+    private PooledDriver tryCreate() {
+        while (true) {
+            int current = created.get();
+            if (current >= maxSize) {
+                return null;
+            }
+            if (created.compareAndSet(current, current + 1)) {
+                break;
+            }
+        }
+        try {
+            return new PooledDriver(new ChromeDriver(createOptions()));
+        } catch (RuntimeException e) {
+            created.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private void discard(PooledDriver pooled) {
+        created.decrementAndGet();
+        try {
+            pooled.driver.quit();
+        } catch (Exception ignored) {
+        }
+    }
+
+    private boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandles();
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * 다음 대여자를 위해 상태 초기화 (추가 탭 닫기, 스토리지/쿠키 삭제)
+     */
+    private boolean reset(WebDriver driver) {
+        try {
+            Set<String> handles = driver.getWindowHandles();
+            String first = handles.iterator().next();
+            for (String handle : handles) {
+                if (!handle.equals(first)) {
+                    driver.switchTo().window(handle);
+                    driver.close();
+                }
+            }
+            driver.switchTo().window(first);
+            try {
+                ((JavascriptExecutor) driver).executeScript("try { localStorage.clear(); sessionStorage.clear(); } catch (e) {}");
+            } catch (Exception ignored) {
+            }
+            driver.manage().deleteAllCookies();
+            driver.get("about:blank");
+            return true;
+        } catch (Exception e) {
+            log.warn("WebDriver 세션 초기화 실패: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void warmUp() {
+        int warmed = 0;
+        try {
+            for (int i = 0; i < maxSize && !closed; i++) {
+                PooledDriver pooled = tryCreate();
+                if (pooled == null) {
+                    break;
+                }
+                idle.offerLast(pooled);
+                warmed++;
+            }
+            log.info("WebDriver 풀 준비 완료: {}개 세션", warmed);
+        } catch (Exception e) {
+            log.warn("WebDriver 풀 예열 실패: {}", e.getMessage());
+        }
+    }
+
+    private ChromeOptions createOptions() {
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--headless=new");
+        options.addArguments("--disable-popup-blocking");
+        options.addArguments("--disable-notifications");
+        options.addArguments("--no-sandbox");
+        options.addArguments("--disable-dev-shm-usage");
+        options.addArguments("--window-size=1920,1080");
+        return options;
+    }
+
+    public int getCreatedCount() {
+        return created.get();
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    @Override
+    public void destroy() {
+        closed = true;
+        PooledDriver pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            discard(pooled);
+        }
+    }
+
+    private static final class PooledDriver {
+        final WebDriver driver;
+        int uses = 0;
+
+        PooledDriver(WebDriver driver) {
+            this.driver = driver;
+        }
+    }
+
+    /**
+     * 대여한 브라우저 세션
+     */
+    public final class Lease implements AutoCloseable {
+        private final PooledDriver pooled;
+        private boolean broken = false;
+        private boolean released = false;
+
+        private Lease(PooledDriver pooled) {
+            this.pooled = pooled;
+        }
+
+        public WebDriver getDriver() {
+            return pooled.driver;
+        }
+
+        /**
+         * 세션에 문제가 생겨 재사용하면 안 되는 경우 표시
+         */
+        public void markBroken() {
+            this.broken = true;
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                release(pooled, broken);
+            }
+        }
+    }
+}
@@ -43,7 +43,7 @@
     <div class="form-section">
         <h3>이미 퍼스널 컬러를 아신다면</h3>
 
-        <form action="${pageContext.request.contextPath}/recommend" method="post" id="colorForm">
+        <form action="${pageContext.request.contextPath}/recommend" method="get" id="colorForm">
             <div class="form-group">
                 <label for="personal">퍼스널 컬러 선택:</label>
                 <select name="personal" id="personal" required>
@@ -0,0 +1,112 @@
+package com.mywork.recom;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * 일괄 응답의 항목별 오류 디코딩과, 오류 항목이 회로 차단기에 실패로 기록되는지 확인
+ */
+public class AIResponseDecoderTest {
+
+    private final AIResponseDecoder decoder = new AIResponseDecoder();
+
+    private List<AIColorService.ColorAnalysisResult> decodeBatch(String json, int expected) throws IOException {
+        return decoder.decodeBatch(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), expected);
+    }
+
+    @Test
+    public void batchKeepsRequestOrderWithPerItemErrors() throws IOException {
+        List<AIColorService.ColorAnalysisResult> results = decodeBatch("{\"model\":{\"name\":\"v\",\"tags\":[1,2]},"
+                + "\"results\":["
+                + "{\"personal_color\":\"여름 뮤트\",\"confidence\":82,\"reason\":\"차분한 회색빛\",\"dominant_colors\":[\"#A0B0C0\",\"nope\",\"#102030\"]},"
+                + "{\"error\":{\"code\":\"download_failed\"},\"personal_color\":\"봄 라이트\"},"
+                + "\"not an object\","
+                + "{\"personal_color\":\"겨울 딥\",\"confidence\":\"77.9\",\"extra\":[{\"x\":1}]}"
+                + "]}", 5);
+
+        assertEquals(5, results.size());
+        AIColorService.ColorAnalysisResult first = results.get(0);
+        assertEquals("여름 뮤트", first.getPersonalColor());
+        assertEquals(82, first.getConfidence());
+        assertEquals("차분한 회색빛", first.getReason());
+        assertArrayEquals(new int[]{0xA0B0C0, 0x102030}, first.dominantRgbArray());
+        assertNull("error 항목", results.get(1));
+        assertNull("객체가 아닌 항목", results.get(2));
+        assertEquals("겨울 딥", results.get(3).getPersonalColor());
+        assertEquals(77, results.get(3).getConfidence());
+        assertEquals(AIResponseDecoder.NO_REASON, results.get(3).getReason());
+        assertNull("응답에 빠진 항목", results.get(4));
+    }
+
+    @Test
+    public void missingResultsArrayMeansAllItemsFailed() throws IOException {
+        List<AIColorService.ColorAnalysisResult> results = decodeBatch("{\"error\":\"overloaded\"}", 2);
+        assertEquals(2, results.size());
+        assertNull(results.get(0));
+        assertNull(results.get(1));
+    }
+
+    @Test
+    public void repeatedLabelsShareOneInstance() throws IOException {
+        List<AIColorService.ColorAnalysisResult> results = decodeBatch(
+                "{\"results\":[{\"personal_color\":\"가을 딥\"},{\"personal_color\":\"가을 딥\"}]}", 2);
+        assertSame(results.get(0).getPersonalColor(), results.get(1).getPersonalColor());
+    }
+
+    @Test
+    public void perItemErrorsOpenTheCircuit() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/analyze-colors", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            byte[] body = ("{\"results\":[{\"error\":\"quota\"},{\"error\":\"quota\"},{\"error\":\"quota\"},"
+                    + "{\"personal_color\":\"봄 브라이트\",\"confidence\":90}]}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        PooledHttpClient httpClient = new PooledHttpClient(4, 4, 1000, 2000, 1000, 5000, 30);
+        RecommendMetrics metrics = new RecommendMetrics();
+        ImageDeduplicator deduplicator = new ImageDeduplicator(httpClient, metrics, false, false, true, 1 << 20, 100, 60, 60);
+        LocalColorPreFilter preFilter = new LocalColorPreFilter(httpClient, metrics, deduplicator, false, 60, 64, 5, 1, 1 << 20, 100);
+        // 4건 중 실패율 50% 이상이면 차단
+        AIServerCircuitBreaker circuitBreaker = new AIServerCircuitBreaker(4, 4, 50, 10000, 80, 30000, 1);
+        AIColorService service = new AIColorService(httpClient, new ColorAnalysisStore(false, "", 30), deduplicator,
+                circuitBreaker, preFilter, metrics, "http://127.0.0.1:" + server.getAddress().getPort(),
+                100, 1, true, 4, 50, 1);
+        try {
+            List<AIColorService.ColorAnalysisResult> results = service.analyzeProductColors(List.of(
+                    "https://img.example.com/1.jpg", "https://img.example.com/2.jpg",
+                    "https://img.example.com/3.jpg", "https://img.example.com/4.jpg"));
+
+            assertEquals(4, results.size());
+            assertEquals(0, results.get(0).getConfidence());
+            assertEquals("봄 브라이트", results.get(3).getPersonalColor());
+            // HTTP 200 이어도 항목 3건이 실패로 기록되어 회로가 열림
+            assertEquals(AIServerCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        } finally {
+            service.destroy();
+            preFilter.destroy();
+            deduplicator.destroy();
+            httpClient.destroy();
+            server.stop(0);
+        }
+    }
+}
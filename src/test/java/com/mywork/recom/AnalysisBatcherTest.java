@@ -0,0 +1,47 @@
+package com.mywork.recom;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 일괄 호출이 Error 로 끝나도 묶음의 모든 대기자가 바로 실패를 받는지 확인
+ */
+public class AnalysisBatcherTest {
+
+    @Test
+    public void errorFromBatchCallCompletesEveryWaiter() throws Exception {
+        try (AnalysisBatcher<String> batcher = new AnalysisBatcher<>(3, 10_000, 1, urls -> {
+            if (urls.contains("boom")) {
+                throw new StackOverflowError("디코더 오류");
+            }
+            return urls;
+        })) {
+            List<CompletableFuture<String>> futures = new ArrayList<>();
+            futures.add(batcher.submit("a"));
+            futures.add(batcher.submit("boom"));
+            futures.add(batcher.submit("c"));
+            for (CompletableFuture<String> future : futures) {
+                try {
+                    future.get(2, TimeUnit.SECONDS);
+                    fail("실패해야 함");
+                } catch (ExecutionException e) {
+                    assertTrue(e.getCause() instanceof StackOverflowError);
+                }
+            }
+
+            // 다음 묶음은 새 전송 스레드에서 정상 처리
+            CompletableFuture<String> next = batcher.submit("d");
+            batcher.flush();
+            assertEquals("d", next.get(2, TimeUnit.SECONDS));
+        }
+    }
+}
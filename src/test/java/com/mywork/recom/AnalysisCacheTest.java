@@ -0,0 +1,121 @@
+package com.mywork.recom;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 같은 키 동시 로딩은 한 번만 (single-flight), 로더 실패 후에도 키가 막히지 않는지 확인
+ */
+public class AnalysisCacheTest {
+
+    private final AnalysisCache<String> cache = new AnalysisCache<>(100, TimeUnit.MINUTES.toMillis(1));
+
+    @After
+    public void tearDown() {
+        cache.close();
+    }
+
+    @Test
+    public void concurrentAsyncLoadsShareOneLoaderCall() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> loading = new CompletableFuture<>();
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<CompletableFuture<String>>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return cache.getOrLoadAsync("key", k -> {
+                        calls.incrementAndGet();
+                        return loading;
+                    });
+                }));
+            }
+            start.countDown();
+            List<CompletableFuture<String>> futures = new ArrayList<>();
+            for (Future<CompletableFuture<String>> result : results) {
+                futures.add(result.get(5, TimeUnit.SECONDS));
+            }
+            loading.complete("value");
+            for (CompletableFuture<String> future : futures) {
+                assertEquals("value", future.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, calls.get());
+
+        // 완료된 값은 캐시에서 바로 (로더 호출 없음)
+        assertEquals("value", cache.getOrLoadAsync("key", k -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        }).get());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void errorInAsyncLoaderFailsFutureAndFreesKey() throws Exception {
+        CompletableFuture<String> failed = cache.getOrLoadAsync("key", k -> {
+            throw new StackOverflowError("loader");
+        });
+        assertTrue(failed.isCompletedExceptionally());
+        assertEquals("value", cache.getOrLoadAsync("key", k -> CompletableFuture.completedFuture("value"))
+                .get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void errorInLoaderIsPassedToWaitersAndFreesKey() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> first = pool.submit(() -> cache.getOrLoad("key", () -> {
+                loading.countDown();
+                release.await();
+                throw new AssertionError("loader");
+            }));
+            loading.await();
+            Future<String> waiter = pool.submit(() -> cache.getOrLoad("key", () -> "second"));
+            // 두 번째 호출이 진행 중인 로딩에 합류할 시간
+            Thread.sleep(100);
+            release.countDown();
+            assertLoaderError(first);
+            // 합류했다면 같은 Error, 로딩이 끝난 뒤 들어왔다면 새로 로딩 - 어느 쪽이든 멈추지 않아야 함
+            try {
+                assertEquals("second", waiter.get(5, TimeUnit.SECONDS));
+            } catch (ExecutionException e) {
+                assertSame(AssertionError.class, e.getCause().getClass());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals("third", cache.getOrLoad("key", () -> "third"));
+    }
+
+    private static void assertLoaderError(Future<String> future) throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("로더 Error 가 전달되어야 함");
+        } catch (ExecutionException e) {
+            assertSame(AssertionError.class, e.getCause().getClass());
+        }
+    }
+}
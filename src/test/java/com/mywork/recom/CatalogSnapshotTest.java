@@ -0,0 +1,152 @@
+package com.mywork.recom;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 스냅샷으로 시작한 노드가 크롤링 / AI 호출 없이 같은 추천 색인과 분석 키를 갖고 준비 완료되는지 확인
+ */
+public class CatalogSnapshotTest {
+
+    private static final String CATEGORY = "https://shop.example.com/Category/List/100";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final List<Node> nodes = new ArrayList<>();
+
+    @After
+    public void tearDown() throws IOException {
+        for (Node node : nodes) {
+            node.close();
+        }
+    }
+
+    /**
+     * 스프링 없이 구성한 노드 하나 (크롤러 비활성, AI 서버 없음)
+     */
+    private final class Node {
+        final PooledHttpClient httpClient = new PooledHttpClient(4, 4, 500, 500, 500, 1000, 30);
+        final RecommendMetrics metrics = new RecommendMetrics();
+        final ImageDeduplicator deduplicator = new ImageDeduplicator(httpClient, metrics, true, true, true, 1 << 20, 100, 60, 60);
+        final LocalColorPreFilter preFilter = new LocalColorPreFilter(httpClient, metrics, deduplicator, false, 60, 64, 5, 1, 1 << 20, 100);
+        final ColorAnalysisStore store;
+        final AIColorService ai;
+        final ProductColorIndex productColorIndex = new ProductColorIndex();
+        final CatalogCrawler crawler = new CatalogCrawler(new HomeService(), null, productColorIndex, new PaletteIndex(),
+                false, CATEGORY, 60, 10, 30);
+        final CatalogSnapshot snapshot;
+
+        Node(Path snapshotPath, String storeName) throws InterruptedException {
+            store = new ColorAnalysisStore(true, folder.getRoot().toPath().resolve(storeName).toString(), 30);
+            ai = new AIColorService(httpClient, store, deduplicator,
+                    new AIServerCircuitBreaker(20, 10, 50, 10000, 80, 30000, 3), preFilter, metrics,
+                    "http://127.0.0.1:1", 100, 10, false, 8, 50, 1);
+            snapshot = new CatalogSnapshot(crawler, ai, store, productColorIndex, true, snapshotPath.toString(), 10, false, 5);
+            nodes.add(this);
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!snapshot.isReady() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue("워밍업이 끝나야 함", snapshot.isReady());
+        }
+
+        void close() throws IOException {
+            snapshot.destroy();
+            crawler.destroy();
+            ai.destroy();
+            store.destroy();
+            preFilter.destroy();
+            deduplicator.destroy();
+            httpClient.destroy();
+        }
+    }
+
+    private static ProductDTO product(int i) {
+        return new ProductDTO("상품 " + i, "https://img.example.com/goods/" + i + ".jpg", "https://shop.example.com/Product/" + i);
+    }
+
+    @Test
+    public void restartedNodeServesSameIndexWithoutCrawling() throws Exception {
+        Path path = folder.getRoot().toPath().resolve("snapshot/catalog.json.gz");
+        Node first = new Node(path, "store-1.jsonl");
+        assertEquals(0, first.snapshot.getRestoredProducts());
+
+        String[] labels = {"여름 뮤트", "여름 라이트", "겨울 딥", "봄 브라이트", "가을 딥"};
+        List<ProductDTO> products = new ArrayList<>();
+        Map<String, AIColorService.ColorAnalysisResult> results = new HashMap<>();
+        for (int i = 0; i < 10; i++) {
+            ProductDTO product = product(i);
+            products.add(product);
+            // 마지막 상품은 아직 분석 전
+            if (i < 9) {
+                AIColorService.ColorAnalysisResult result = new AIColorService.ColorAnalysisResult(
+                        labels[i % labels.length], 60 + i * 3, "근거 " + i, List.of("#A0B0C0", String.format("#%06X", i * 0x111111)));
+                results.put(product.getProductLink(), result);
+                first.deduplicator.seed(product.getImageUrl(), "sha256:" + i);
+            }
+        }
+        first.crawler.restore(CATEGORY, products, results, 1_700_000_000_000L);
+        first.snapshot.write();
+        assertTrue(Files.exists(path));
+
+        Node second = new Node(path, "store-2.jsonl");
+        assertEquals(10, second.snapshot.getRestoredProducts());
+        assertEquals(1_700_000_000_000L, second.productColorIndex.getUpdatedAt(CATEGORY));
+        assertEquals(products, second.crawler.getCrawledProducts(CATEGORY));
+        for (int personal = 1; personal <= PersonalColor.selectableCount(); personal++) {
+            String label = PersonalColor.selectableLabel(personal);
+            assertEquals(label, first.productColorIndex.lookup(CATEGORY, label), second.productColorIndex.lookup(CATEGORY, label));
+        }
+        // 분석 키 / 결과도 복원되어 이미지를 다시 내려받거나 AI 를 호출하지 않음
+        ProductDTO analyzedProduct = products.get(4);
+        assertEquals("sha256:4", second.ai.peekAnalysisKey(analyzedProduct.getImageUrl()));
+        AIColorService.ColorAnalysisResult restored = second.ai.peekAnalysis(analyzedProduct.getImageUrl());
+        assertNotNull(restored);
+        assertEquals(results.get(analyzedProduct.getProductLink()).getPersonalColor(), restored.getPersonalColor());
+        assertEquals(results.get(analyzedProduct.getProductLink()).getConfidence(), restored.getConfidence());
+        assertEquals(results.get(analyzedProduct.getProductLink()).getDominantColors(), restored.getDominantColors());
+        assertTrue("디스크 저장소에도 기록", second.store.contains("sha256:4"));
+        assertNull(second.crawler.getAnalysis(CATEGORY, products.get(9).getProductLink()));
+    }
+
+    @Test
+    public void unsupportedFormatStartsEmpty() throws Exception {
+        Path path = folder.getRoot().toPath().resolve("catalog.json.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(path))) {
+            out.write("{\"v\":99,\"categories\":[{\"url\":\"x\",\"products\":[{\"n\":\"a\"}]}]}".getBytes(StandardCharsets.UTF_8));
+        }
+        Node node = new Node(path, "store.jsonl");
+        assertEquals(0, node.snapshot.getRestoredProducts());
+        assertFalse(node.productColorIndex.isReady(CATEGORY));
+    }
+
+    @Test
+    public void emptyCrawlerDoesNotOverwriteSnapshot() throws Exception {
+        Path path = folder.getRoot().toPath().resolve("catalog.json.gz");
+        byte[] existing = {1, 2, 3};
+        Files.write(path, existing);
+        Node node = new Node(path, "store.jsonl");
+        node.snapshot.write();
+        assertEquals(3, Files.size(path));
+    }
+}
@@ -0,0 +1,246 @@
+package com.mywork.recom;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * 분석 타임아웃은 작업 스레드를 인터럽트하지 않고 슬롯을 돌려주며, 대기 시간도 제한되고, 크롤러는 별도 풀을 쓰는지 확인
+ */
+public class ColorAnalysisExecutorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final PooledHttpClient httpClient = new PooledHttpClient(4, 4, 1000, 1000, 1000, 5000, 30);
+    private final RecommendMetrics metrics = new RecommendMetrics();
+    private final ImageDeduplicator deduplicator = new ImageDeduplicator(httpClient, metrics, false, false, true,
+            1 << 20, 100, 60, 60);
+    private final LocalColorPreFilter preFilter = new LocalColorPreFilter(httpClient, metrics, deduplicator, false,
+            60, 64, 5, 1, 1 << 20, 100);
+    private final StubAIColorService ai = new StubAIColorService();
+    private final List<ColorAnalysisExecutor> executors = new ArrayList<>();
+
+    @After
+    public void tearDown() throws IOException {
+        ai.release.countDown();
+        executors.forEach(ColorAnalysisExecutor::destroy);
+        ai.destroy();
+        preFilter.destroy();
+        deduplicator.destroy();
+        httpClient.destroy();
+    }
+
+    private ColorAnalysisExecutor executor(int parallelism, int crawlerParallelism, long timeoutMillis, long queueTimeoutMillis) {
+        ColorAnalysisExecutor executor = new ColorAnalysisExecutor(ai, metrics, parallelism, crawlerParallelism,
+                timeoutMillis, queueTimeoutMillis);
+        executors.add(executor);
+        return executor;
+    }
+
+    private static ProductDTO product(String id) {
+        return new ProductDTO(id, "https://img.example.com/" + id + ".jpg", "https://shop.example.com/Product/" + id);
+    }
+
+    private static Throwable failure(CompletableFuture<?> future) {
+        try {
+            future.join();
+            fail("실패해야 함");
+            return null;
+        } catch (CompletionException e) {
+            return e.getCause();
+        }
+    }
+
+    @Test
+    public void runTimeoutFreesSlotWithoutInterruptingWorker() throws Exception {
+        ColorAnalysisExecutor executor = executor(1, 1, 200, 0);
+        CompletableFuture<AIColorService.ColorAnalysisResult> blocked = executor.submit(product("block-1"));
+        assertTrue(failure(blocked) instanceof TimeoutException);
+
+        // 하나뿐인 슬롯이 돌아와 다음 상품이 분석됨
+        AIColorService.ColorAnalysisResult next = executor.submit(product("fast-1")).get(2, TimeUnit.SECONDS);
+        assertEquals("여름 뮤트", next.getPersonalColor());
+
+        // 동기 구간이 긴 분석도 타임아웃으로 인터럽트되지 않고 끝까지 진행
+        CompletableFuture<AIColorService.ColorAnalysisResult> slow = executor.submit(product("slow-1"));
+        assertTrue(failure(slow) instanceof TimeoutException);
+        assertTrue(ai.slowFinished.await(2, TimeUnit.SECONDS));
+        assertEquals("작업 스레드는 인터럽트되지 않아야 함", 0, ai.interrupts.get());
+    }
+
+    @Test
+    public void timedOutAnalysisKeepsStoreAndDedupIntact() throws Exception {
+        AtomicInteger analyzeCalls = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/img/", exchange -> {
+            // 분석 타임아웃보다 느린 이미지 다운로드 (내용 해시 중에 타임아웃)
+            sleepQuietly(500);
+            respond(exchange, "image-bytes".getBytes(StandardCharsets.UTF_8));
+        });
+        server.createContext("/analyze-color", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            analyzeCalls.incrementAndGet();
+            respond(exchange, "{\"personal_color\":\"여름 뮤트\",\"confidence\":80}".getBytes(StandardCharsets.UTF_8));
+        });
+        server.start();
+        String base = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        ImageDeduplicator dedup = new ImageDeduplicator(httpClient, metrics, true, true, true, 1 << 20, 100, 60, 60);
+        ColorAnalysisStore store = new ColorAnalysisStore(true, folder.getRoot().toPath().resolve("store.jsonl").toString(), 30);
+        AIColorService service = new AIColorService(httpClient, store, dedup,
+                new AIServerCircuitBreaker(20, 10, 50, 10000, 80, 30000, 3), preFilter, metrics,
+                base, 100, 10, false, 8, 50, 1);
+        try {
+            ColorAnalysisExecutor executor = new ColorAnalysisExecutor(service, metrics, 2, 1, 150, 1000);
+            executors.add(executor);
+            String imageUrl = base + "/img/goods/a.jpg";
+            ProductDTO product = new ProductDTO("a", imageUrl, "https://shop.example.com/Product/a");
+
+            // 같은 이미지 두 건: 하나는 해시 중, 하나는 그 해시를 기다리는 중에 타임아웃
+            CompletableFuture<AIColorService.ColorAnalysisResult> first = executor.submit(product);
+            CompletableFuture<AIColorService.ColorAnalysisResult> second = executor.submit(product);
+            assertTrue(failure(first) instanceof TimeoutException);
+            assertTrue(failure(second) instanceof TimeoutException);
+
+            // 타임아웃 뒤에도 해시 → AI 호출 → 저장은 끝까지 진행되고, 두 요청이 같은 내용 해시 키를 공유
+            long deadline = System.currentTimeMillis() + 5000;
+            while (store.size() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            String key = dedup.peekKey(imageUrl);
+            assertNotNull(key);
+            assertTrue(key.startsWith("sha256:"));
+            assertFalse("타임아웃은 다운로드 실패로 기록하지 않음", dedup.recentlyFailed(imageUrl));
+            assertEquals("여름 뮤트", store.get(key).getPersonalColor());
+            assertEquals(1, analyzeCalls.get());
+
+            // 다음 요청은 저장된 결과를 그대로 사용
+            assertEquals("여름 뮤트", executor.submit(product).get(2, TimeUnit.SECONDS).getPersonalColor());
+            assertEquals(1, analyzeCalls.get());
+        } finally {
+            service.destroy();
+            store.destroy();
+            dedup.destroy();
+            server.stop(0);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    public void queuedRequestTimesOutWithoutRunning() throws Exception {
+        ColorAnalysisExecutor executor = executor(1, 1, 5000, 100);
+        CompletableFuture<AIColorService.ColorAnalysisResult> running = executor.submit(product("block-1"));
+        ai.started.await(2, TimeUnit.SECONDS);
+
+        long start = System.nanoTime();
+        CompletableFuture<AIColorService.ColorAnalysisResult> queued = executor.submit(product("fast-1"));
+        Throwable cause = failure(queued);
+        assertTrue(cause instanceof TimeoutException);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2000);
+
+        ai.release.countDown();
+        running.get(2, TimeUnit.SECONDS);
+        assertEquals("대기 마감을 넘긴 상품은 분석하지 않음", 1, ai.calls.get());
+
+        // 제때 시작한 작업의 대기 마감은 스케줄러에 남지 않음
+        executor.submit(product("fast-2")).get(2, TimeUnit.SECONDS);
+        assertEquals(0, executor.pendingQueueDeadlines());
+    }
+
+    @Test
+    public void crawlerUsesItsOwnPool() throws Exception {
+        ColorAnalysisExecutor executor = executor(1, 1, 5000, 1000);
+        CompletableFuture<List<AIColorService.ColorAnalysisResult>> crawl = CompletableFuture.supplyAsync(
+                () -> executor.analyzeAll(List.of(product("block-1"), product("block-2"), product("block-3"))));
+        ai.started.await(2, TimeUnit.SECONDS);
+
+        // 크롤러가 자기 슬롯을 모두 쓰는 중에도 사용자 요청은 바로 분석됨
+        assertEquals("여름 뮤트", executor.submit(product("fast-1")).get(2, TimeUnit.SECONDS).getPersonalColor());
+
+        ai.release.countDown();
+        assertEquals(3, crawl.get(5, TimeUnit.SECONDS).size());
+    }
+
+    /**
+     * "block-" 이미지는 release 될 때까지 결과를 미루고, "slow-" 이미지는 호출 스레드에서 300ms 걸리는 AI 서비스
+     */
+    private final class StubAIColorService extends AIColorService {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch slowFinished = new CountDownLatch(1);
+        final AtomicInteger interrupts = new AtomicInteger();
+        final AtomicInteger calls = new AtomicInteger();
+
+        StubAIColorService() {
+            super(httpClient, new ColorAnalysisStore(false, "", 30), deduplicator,
+                    new AIServerCircuitBreaker(20, 10, 50, 10000, 80, 30000, 3), preFilter, metrics,
+                    "http://127.0.0.1:1", 100, 1, false, 8, 50, 1);
+        }
+
+        @Override
+        public CompletableFuture<ColorAnalysisResult> analyzeProductColorAsync(String imageUrl) {
+            calls.incrementAndGet();
+            ColorAnalysisResult result = new ColorAnalysisResult("여름 뮤트", 80, "stub", List.of("#aabbcc"));
+            if (imageUrl.contains("/slow-")) {
+                try {
+                    Thread.sleep(300);
+                } catch (InterruptedException e) {
+                    interrupts.incrementAndGet();
+                }
+                slowFinished.countDown();
+            }
+            if (imageUrl.contains("/block-")) {
+                started.countDown();
+                return CompletableFuture.supplyAsync(() -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        interrupts.incrementAndGet();
+                    }
+                    return result;
+                });
+            }
+            return CompletableFuture.completedFuture(result);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.mywork.recom;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 인덱스에는 위치만 두고 결과는 파일에서 읽는지, 재시작 / 잘린 줄 / 압축 / 인터럽트 후에도 같은 결과를 돌려주는지 확인
+ */
+public class ColorAnalysisStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final List<ColorAnalysisStore> opened = new ArrayList<>();
+
+    @After
+    public void tearDown() {
+        opened.forEach(ColorAnalysisStore::destroy);
+    }
+
+    private ColorAnalysisStore open(Path path) {
+        ColorAnalysisStore store = new ColorAnalysisStore(true, path.toString(), 30);
+        opened.add(store);
+        store.preload();
+        return store;
+    }
+
+    private static AIColorService.ColorAnalysisResult result(String label, int confidence) {
+        return new AIColorService.ColorAnalysisResult(label, confidence, "이유 " + label, List.of("#112233", "#445566"));
+    }
+
+    private static void assertResult(String label, int confidence, AIColorService.ColorAnalysisResult actual) {
+        assertEquals(label, actual.getPersonalColor());
+        assertEquals(confidence, actual.getConfidence());
+        assertEquals("이유 " + label, actual.getReason());
+        assertEquals(List.of("#112233", "#445566"), actual.getDominantColors());
+    }
+
+    @Test
+    public void readsLatestRecordAfterRestart() {
+        Path path = folder.getRoot().toPath().resolve("nested/store.jsonl");
+        ColorAnalysisStore store = open(path);
+        store.put("sha256:aa", result("봄 라이트", 70));
+        store.put("sha256:bb", result("겨울 딥", 80));
+        store.put("sha256:aa", result("여름 뮤트", 90));
+        assertResult("여름 뮤트", 90, store.get("sha256:aa"));
+        assertNull(store.get("sha256:cc"));
+
+        ColorAnalysisStore restarted = open(path);
+        assertEquals(2, restarted.size());
+        assertTrue(restarted.contains("sha256:bb"));
+        assertResult("여름 뮤트", 90, restarted.get("sha256:aa"));
+        assertResult("겨울 딥", 80, restarted.get("sha256:bb"));
+    }
+
+    @Test
+    public void truncatedLastLineIsSkippedAndNextRecordStartsOnNewLine() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("store.jsonl");
+        ColorAnalysisStore store = open(path);
+        store.put("sha256:aa", result("봄 라이트", 70));
+        store.destroy();
+        Files.write(path, "{\"key\":\"sha256:bb\",\"personal".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+        ColorAnalysisStore restarted = open(path);
+        assertEquals(1, restarted.size());
+        restarted.put("sha256:cc", result("가을 딥", 60));
+        assertResult("가을 딥", 60, restarted.get("sha256:cc"));
+
+        ColorAnalysisStore again = open(path);
+        assertEquals(2, again.size());
+        assertResult("봄 라이트", 70, again.get("sha256:aa"));
+        assertResult("가을 딥", 60, again.get("sha256:cc"));
+    }
+
+    @Test
+    public void compactionDropsOverwrittenLinesAndUnreachableKeys() throws IOException {
+        Path path = folder.getRoot().toPath().resolve("store.jsonl");
+        ColorAnalysisStore store = open(path);
+        // 정규화 도입 전의 원본 URL 키
+        store.put("http://image.example.com/goods/a_500.jpg?v=1", result("봄 라이트", 70));
+        store.put("https://image.example.com/goods/a.jpg", result("겨울 딥", 80));
+        for (int i = 0; i < 5; i++) {
+            store.put("sha256:aa", result("여름 뮤트", 90 + i));
+        }
+        store.setReachableKeys(key -> !key.startsWith("http://"));
+
+        store.compactIfNeeded();
+
+        assertEquals(2, store.size());
+        assertEquals(2, Files.readAllLines(path).size());
+        assertFalse(store.contains("http://image.example.com/goods/a_500.jpg?v=1"));
+        assertResult("여름 뮤트", 94, store.get("sha256:aa"));
+        assertResult("겨울 딥", 80, store.get("https://image.example.com/goods/a.jpg"));
+
+        // 압축 후 추가한 레코드도 새 파일 위치로 조회
+        store.put("sha256:bb", result("가을 딥", 60));
+        assertResult("가을 딥", 60, store.get("sha256:bb"));
+        ColorAnalysisStore restarted = open(path);
+        assertEquals(3, restarted.size());
+        assertResult("여름 뮤트", 94, restarted.get("sha256:aa"));
+    }
+
+    @Test
+    public void interruptedReaderDoesNotCloseStoreForOthers() throws Exception {
+        Path path = folder.getRoot().toPath().resolve("store.jsonl");
+        ColorAnalysisStore store = open(path);
+        store.put("sha256:aa", result("봄 라이트", 70));
+
+        // 인터럽트 상태로 조회한 스레드도 결과를 받고, 인터럽트 상태는 그대로 유지
+        AtomicReference<AIColorService.ColorAnalysisResult> read = new AtomicReference<>();
+        AtomicBoolean stillInterrupted = new AtomicBoolean();
+        Thread reader = new Thread(() -> {
+            Thread.currentThread().interrupt();
+            read.set(store.get("sha256:aa"));
+            store.put("sha256:bb", result("겨울 딥", 80));
+            stillInterrupted.set(Thread.currentThread().isInterrupted());
+        });
+        reader.start();
+        reader.join(5000);
+        assertResult("봄 라이트", 70, read.get());
+        assertTrue(stillInterrupted.get());
+
+        // 다른 스레드의 조회 / 추가도 계속 동작
+        assertResult("봄 라이트", 70, store.get("sha256:aa"));
+        assertResult("겨울 딥", 80, store.get("sha256:bb"));
+        store.put("sha256:cc", result("가을 딥", 60));
+        assertResult("가을 딥", 60, store.get("sha256:cc"));
+        assertEquals(3, open(path).size());
+    }
+
+    @Test
+    public void disabledStoreKeepsNothing() {
+        ColorAnalysisStore store = new ColorAnalysisStore(false, folder.getRoot().toPath().resolve("x.jsonl").toString(), 30);
+        opened.add(store);
+        store.put("sha256:aa", result("봄 라이트", 70));
+        assertNull(store.get("sha256:aa"));
+        assertFalse(Files.exists(folder.getRoot().toPath().resolve("x.jsonl")));
+    }
+}
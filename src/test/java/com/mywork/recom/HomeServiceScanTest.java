@@ -0,0 +1,198 @@
+package com.mywork.recom;
+
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 점수 상위 K개 탐색(scanForMatches)이 전체 상품을 모두 분석한 결과와 같은지,
+ * stop-score 로 일찍 멈추면 훑은 범위 안의 상위 K개인지 확인
+ */
+public class HomeServiceScanTest {
+
+    private static final String CATEGORY = "https://shop.example.com/Category/List/100";
+    private static final String USER = "여름 뮤트";
+    private static final int K = 5;
+
+    private final PooledHttpClient httpClient = new PooledHttpClient(4, 4, 500, 500, 500, 1000, 30);
+    private final RecommendMetrics metrics = new RecommendMetrics();
+    private final ImageDeduplicator deduplicator = new ImageDeduplicator(httpClient, metrics, false, false, true,
+            1 << 20, 100, 60, 60);
+    private final LocalColorPreFilter preFilter = new LocalColorPreFilter(httpClient, metrics, deduplicator, false,
+            60, 64, 5, 1, 1 << 20, 100);
+    private final StubAIColorService ai = new StubAIColorService();
+    private final ColorAnalysisExecutor executor = new ColorAnalysisExecutor(ai, metrics, 4, 1, 5000, 5000);
+    private final List<HomeService> services = new ArrayList<>();
+
+    // 카탈로그 순서의 상품과 이미지 URL 별 AI 분석 결과
+    private final List<ProductDTO> catalog = new ArrayList<>();
+    private final Map<String, AIColorService.ColorAnalysisResult> analyses = new HashMap<>();
+
+    @After
+    public void tearDown() throws IOException {
+        services.forEach(HomeService::destroy);
+        executor.destroy();
+        ai.destroy();
+        preFilter.destroy();
+        deduplicator.destroy();
+        httpClient.destroy();
+    }
+
+    private HomeService service(double stopScore) {
+        HomeService service = new HomeService();
+        ReflectionTestUtils.setField(service, "aiColorService", ai);
+        ReflectionTestUtils.setField(service, "colorAnalysisExecutor", executor);
+        ReflectionTestUtils.setField(service, "productSource", (ProductSource) url -> new ListCursor(catalog.iterator()));
+        ReflectionTestUtils.setField(service, "productColorIndex", new ProductColorIndex());
+        ReflectionTestUtils.setField(service, "metrics", metrics);
+        ReflectionTestUtils.setField(service, "localColorPreFilter", preFilter);
+        ReflectionTestUtils.setField(service, "matchLimit", K);
+        ReflectionTestUtils.setField(service, "maxScan", 60);
+        ReflectionTestUtils.setField(service, "stopScore", stopScore);
+        ReflectionTestUtils.setField(service, "scanBatch", 8);
+        ReflectionTestUtils.setField(service, "coalesceTtlMillis", 1000L);
+        ReflectionTestUtils.setField(service, "coalesceMaxEntries", 16);
+        service.afterPropertiesSet();
+        services.add(service);
+        return service;
+    }
+
+    private void add(AIColorService.ColorAnalysisResult analysis) {
+        int i = catalog.size();
+        ProductDTO product = new ProductDTO("상품 " + i, "https://img.example.com/goods/" + i + ".jpg",
+                "https://shop.example.com/Product/" + i);
+        catalog.add(product);
+        analyses.put(product.getImageUrl(), analysis);
+    }
+
+    private void fillRandom(Random random, int count) {
+        int labels = PersonalColor.selectableCount();
+        for (int i = 0; i < count; i++) {
+            List<String> colors = new ArrayList<>();
+            for (int c = random.nextInt(3); c >= 0; c--) {
+                colors.add(String.format("#%06X", random.nextInt(0x1000000)));
+            }
+            add(new AIColorService.ColorAnalysisResult(PersonalColor.selectableLabel(1 + random.nextInt(labels)),
+                    40 + random.nextInt(61), "근거", colors));
+        }
+    }
+
+    /**
+     * 앞쪽 scanned 개 상품을 모두 분석했을 때의 점수 상위 K개 (같은 점수는 카탈로그 순서)
+     */
+    private List<ProductDTO> fullScan(int scanned) {
+        ColorAffinity affinity = ColorAffinity.of(USER);
+        List<Integer> matched = new ArrayList<>();
+        double[] scores = new double[scanned];
+        for (int i = 0; i < scanned; i++) {
+            scores[i] = affinity.score(analyses.get(catalog.get(i).getImageUrl()));
+            if (scores[i] != ColorAffinity.INCOMPATIBLE) {
+                matched.add(i);
+            }
+        }
+        matched.sort(Comparator.<Integer>comparingDouble(i -> -scores[i]).thenComparingInt(i -> i));
+        List<ProductDTO> top = new ArrayList<>();
+        for (int i : matched.subList(0, Math.min(K, matched.size()))) {
+            top.add(catalog.get(i));
+        }
+        return top;
+    }
+
+    @Test
+    public void exactStopScoreMatchesFullScan() {
+        for (int seed = 0; seed < 20; seed++) {
+            catalog.clear();
+            analyses.clear();
+            fillRandom(new Random(seed), 60);
+            HomeService.ScanResult result = service(1.0).scanForMatches(CATEGORY, USER, null);
+            assertEquals(60, result.scanned);
+            assertEquals("seed " + seed, fullScan(60), result.matched);
+        }
+    }
+
+    @Test
+    public void lowerStopScoreReturnsTopKOfScannedPrefix() {
+        fillRandom(new Random(3), 60);
+        HomeService.ScanResult result = service(0.5).scanForMatches(CATEGORY, USER, null);
+        assertTrue("충분히 좋은 K개가 모이면 일찍 중단", result.scanned < 60);
+        assertEquals(fullScan(result.scanned), result.matched);
+        ColorAffinity affinity = ColorAffinity.of(USER);
+        for (ProductDTO product : result.matched) {
+            assertTrue(affinity.score(analyses.get(product.getImageUrl())) >= 0.5);
+        }
+    }
+
+    @Test
+    public void maxScoreKthStopsWithoutAnalysingTheRest() {
+        // 사용자 팔레트 그대로 + 같은 퍼스널 컬러 + 신뢰도 100 → 최고점
+        List<String> palette = List.of("#A7A8C2", "#B8C4C2", "#C9A9A6", "#8E9AAF", "#9C8F96");
+        add(new AIColorService.ColorAnalysisResult(USER, 60, "근거", List.of("#A7A8C2")));
+        for (int i = 0; i < K; i++) {
+            add(new AIColorService.ColorAnalysisResult(USER, 100, "근거", palette));
+        }
+        fillRandom(new Random(5), 40);
+        assertEquals(ColorAffinity.MAX_SCORE, ColorAffinity.of(USER).score(analyses.get(catalog.get(1).getImageUrl())), 0);
+
+        // stop-score 가 최고점이어도 K번째가 최고점에 닿으면 남은 상품은 순위에 들 수 없으므로 중단
+        HomeService.ScanResult result = service(1.0).scanForMatches(CATEGORY, USER, null);
+        assertEquals(fullScan(catalog.size()), result.matched);
+        assertEquals("첫 묶음에서 중단", 8, result.scanned);
+        assertEquals("묶음 안 뒤쪽 상품은 분석 생략", 8, result.analyzed + result.pruned);
+        assertEquals(result.analyzed, ai.calls.get());
+    }
+
+    /**
+     * 상품별 분석 결과를 바로 돌려주는 AI 서비스
+     */
+    private final class StubAIColorService extends AIColorService {
+        final AtomicInteger calls = new AtomicInteger();
+
+        StubAIColorService() {
+            super(httpClient, new ColorAnalysisStore(false, "", 30), deduplicator,
+                    new AIServerCircuitBreaker(20, 10, 50, 10000, 80, 30000, 3), preFilter, metrics,
+                    "http://127.0.0.1:1", 100, 1, false, 8, 50, 1);
+        }
+
+        @Override
+        public CompletableFuture<ColorAnalysisResult> analyzeProductColorAsync(String imageUrl) {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture(analyses.get(imageUrl));
+        }
+    }
+
+    private static final class ListCursor implements ProductSource.ProductCursor {
+        private final Iterator<ProductDTO> products;
+
+        ListCursor(Iterator<ProductDTO> products) {
+            this.products = products;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return products.hasNext();
+        }
+
+        @Override
+        public ProductDTO next() {
+            return products.next();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.mywork.recom;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 저장해 둔 목록 페이지를 로컬 HTTP 서버로 제공해 페이지 넘김 / 끝 판단 확인 (네트워크 불필요)
+ * - 1페이지: 새 상품 5개, 2페이지: 새 상품 3개 + 1페이지 중복 1개, 3페이지: 중복만 → 끝
+ * - 페이지 요청이 실패(404)해도 끝
+ */
+public class HttpProductSourceTest {
+
+    private HttpServer server;
+    private PooledHttpClient httpClient;
+    private HttpProductSource source;
+    private String categoryUrl;
+    private final List<String> requested = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        // /Category/List: 저장된 1~3페이지, /Category/Single: 1페이지만 있고 그 뒤는 404
+        server.createContext("/Category/", exchange -> {
+            String query = exchange.getRequestURI().getRawQuery();
+            requested.add(query);
+            String page = "1";
+            for (String param : query.split("&")) {
+                if (param.startsWith("page=")) {
+                    page = param.substring("page=".length());
+                }
+            }
+            boolean single = exchange.getRequestURI().getPath().startsWith("/Category/Single");
+            String fixture = single && !"1".equals(page) ? "/catalog/missing" : "/catalog/category-page-" + page + ".html";
+            try (InputStream in = getClass().getResourceAsStream(fixture)) {
+                if (in == null) {
+                    exchange.sendResponseHeaders(404, -1);
+                    return;
+                }
+                byte[] body = in.readAllBytes();
+                exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } finally {
+                exchange.close();
+            }
+        });
+        server.start();
+        categoryUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/Category/List/133010071000?sort=newProduct-desc";
+        httpClient = new PooledHttpClient(4, 4, 2000, 5000, 2000, 10000, 30);
+        source = new HttpProductSource(httpClient, new RecommendMetrics(), "test", "page", 10, 1 << 20);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        httpClient.destroy();
+        server.stop(0);
+    }
+
+    @Test
+    public void readsPagesUntilNoNewProducts() {
+        List<String> links = new ArrayList<>();
+        try (ProductSource.ProductCursor cursor = source.open(categoryUrl)) {
+            cursor.forEachRemaining(product -> links.add(product.getProductLink()));
+        }
+        String site = "http://127.0.0.1:" + server.getAddress().getPort();
+        assertEquals(List.of(
+                site + "/Product/700101", site + "/Product/700102?utm_source=list&pos=2",
+                "https://www.kolonmall.com/Product/700103", site + "/Product/700105", site + "/Product/700106",
+                site + "/Product/700201", site + "/Product/700202", site + "/Product/700203"), links);
+        // 3페이지는 새 상품이 없으므로 4페이지는 요청하지 않음
+        assertEquals(List.of("sort=newProduct-desc", "sort=newProduct-desc&page=2", "sort=newProduct-desc&page=3"), requested);
+    }
+
+    @Test
+    public void fetchesNextPageOnlyWhenConsumerAsks() {
+        try (ProductSource.ProductCursor cursor = source.open(categoryUrl)) {
+            for (int i = 0; i < 5; i++) {
+                cursor.next();
+            }
+            assertEquals(1, requested.size());
+            cursor.next();
+            assertEquals(2, requested.size());
+        }
+    }
+
+    @Test
+    public void failedPageEndsCursor() {
+        List<ProductDTO> products = new ArrayList<>();
+        try (ProductSource.ProductCursor cursor = source.open(categoryUrl.replace("/Category/List/", "/Category/Single/"))) {
+            cursor.forEachRemaining(products::add);
+        }
+        assertEquals(5, products.size());
+        assertEquals(2, requested.size());
+    }
+}
@@ -0,0 +1,179 @@
+package com.mywork.recom;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 이미지 다운로드 실패는 짧게 기억하고 (인터럽트는 실패가 아님), 사전 필터가 내려받은 이미지는 내용 해시에 재사용하는지 확인
+ */
+public class ImageDeduplicatorTest {
+
+    private HttpServer server;
+    private PooledHttpClient client;
+    private ImageDeduplicator deduplicator;
+    private LocalColorPreFilter preFilter;
+    private String baseUrl;
+    private final Map<String, AtomicInteger> requests = new ConcurrentHashMap<>();
+
+    @Before
+    public void setUp() throws IOException {
+        byte[] image = solidPng(new Color(200, 60, 40));
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            requests.computeIfAbsent(path, p -> new AtomicInteger()).incrementAndGet();
+            if (path.startsWith("/slow")) {
+                try {
+                    Thread.sleep(400);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (path.startsWith("/missing")) {
+                exchange.sendResponseHeaders(404, -1);
+                exchange.close();
+                return;
+            }
+            exchange.sendResponseHeaders(200, image.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(image);
+            }
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        client = new PooledHttpClient(4, 4, 1000, 1000, 1000, 5000, 30);
+        RecommendMetrics metrics = new RecommendMetrics();
+        deduplicator = new ImageDeduplicator(client, metrics, true, true, true, 1 << 20, 100, 60, 60);
+        preFilter = new LocalColorPreFilter(client, metrics, deduplicator, true, 60, 64, 5, 1, 1 << 20, 100);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        preFilter.destroy();
+        deduplicator.destroy();
+        client.destroy();
+        server.stop(0);
+    }
+
+    private static byte[] solidPng(Color color) throws IOException {
+        BufferedImage image = new BufferedImage(16, 16, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(color);
+        g.fillRect(0, 0, 16, 16);
+        g.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private int requestCount(String path) {
+        AtomicInteger count = requests.get(path);
+        return count == null ? 0 : count.get();
+    }
+
+    @Test
+    public void identicalImagesShareContentKey() {
+        String first = deduplicator.resolve(baseUrl + "/goods/a.png");
+        String second = deduplicator.resolve(baseUrl + "/goods/b.png?v=2");
+        assertTrue(first.startsWith("sha256:"));
+        assertEquals(first, second);
+        assertEquals(1, deduplicator.getHits());
+    }
+
+    @Test
+    public void downloadFailureIsNegativeCached() {
+        String url = baseUrl + "/missing/a.png";
+        String key = deduplicator.resolve(url);
+        assertEquals(deduplicator.normalizeUrl(url), key);
+        assertTrue(deduplicator.recentlyFailed(url));
+
+        assertEquals(key, deduplicator.resolve(url));
+        assertEquals(key, deduplicator.resolve(url + "?retry=1"));
+        // 사전 필터도 같은 실패 기록을 보고 내려받지 않음
+        assertNull(preFilter.estimate(url));
+        assertEquals(1, requestCount("/missing/a.png"));
+    }
+
+    @Test
+    public void preFilterFailureIsSharedWithDeduplicator() {
+        String url = baseUrl + "/missing/b.png";
+        assertNull(preFilter.estimate(url));
+        assertEquals(deduplicator.normalizeUrl(url), deduplicator.resolve(url));
+        assertEquals(1, requestCount("/missing/b.png"));
+    }
+
+    @Test
+    public void preFilterDownloadIsReusedForContentHash() {
+        String url = baseUrl + "/goods/c.png";
+        assertNotNull(preFilter.estimate(url));
+        assertEquals(1, requestCount("/goods/c.png"));
+
+        String key = deduplicator.resolve(url);
+        assertTrue(key.startsWith("sha256:"));
+        assertEquals(1, requestCount("/goods/c.png"));
+        // 직접 내려받아 해시한 같은 이미지와 같은 키
+        assertEquals(key, deduplicator.resolve(baseUrl + "/goods/d.png"));
+        assertFalse(deduplicator.recentlyFailed(url));
+    }
+
+    @Test
+    public void interruptedWaiterIsNotRecordedAsFailure() throws Exception {
+        String url = baseUrl + "/slow/e.png";
+        CompletableFuture<String> hashing = CompletableFuture.supplyAsync(() -> deduplicator.resolve(url));
+        while (requestCount("/slow/e.png") == 0) {
+            Thread.sleep(5);
+        }
+
+        // 같은 이미지의 해시를 기다리던 스레드가 인터럽트되면 조회만 중단 (인터럽트 상태 유지)
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        AtomicBoolean stillInterrupted = new AtomicBoolean();
+        Thread waiter = new Thread(() -> {
+            try {
+                deduplicator.resolve(url);
+            } catch (Throwable e) {
+                error.set(e);
+            }
+            stillInterrupted.set(Thread.currentThread().isInterrupted());
+        });
+        waiter.start();
+        Thread.sleep(100);
+        waiter.interrupt();
+        waiter.join(2000);
+        assertTrue(error.get() instanceof CancellationException);
+        assertTrue(stillInterrupted.get());
+
+        // 실패로 기록되지 않고, 해시가 끝나면 모두 같은 내용 해시 키를 사용
+        String key = hashing.get(2, TimeUnit.SECONDS);
+        assertTrue(key.startsWith("sha256:"));
+        assertFalse(deduplicator.recentlyFailed(url));
+        assertEquals(key, deduplicator.resolve(url));
+        assertEquals(1, requestCount("/slow/e.png"));
+    }
+}
@@ -0,0 +1,92 @@
+package com.mywork.recom;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 다중 카테고리 병합이 점수순이고, 카테고리 내 순위는 동점일 때만 쓰이는지 확인
+ */
+public class MultiCategoryRecommendServiceTest {
+
+    private final Map<String, Double> scores = new HashMap<>();
+
+    private ProductDTO product(String id, Double score) {
+        if (score != null) {
+            scores.put(id, score);
+        }
+        return new ProductDTO("상품 " + id, "https://img.example.com/" + id + ".jpg", "https://shop.example.com/Product/" + id);
+    }
+
+    private static MultiCategoryRecommendService.CategoryResult category(String label, ProductDTO... items) {
+        return new MultiCategoryRecommendService.CategoryResult(label, "https://shop.example.com/Category/" + label,
+                MultiCategoryRecommendService.CategoryResult.OK, List.of(items));
+    }
+
+    private List<String> merge(MultiCategoryRecommendService.CategoryResult... results) {
+        return MultiCategoryRecommendService.merge(List.of(results),
+                        p -> scores.get(p.getProductLink().substring(p.getProductLink().lastIndexOf('/') + 1)))
+                .stream()
+                .map(r -> r.getRank() + ":" + r.getCategory() + ":" + r.getProduct().getName().substring(3))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void mergesByScoreNotRoundRobin() {
+        List<String> merged = merge(
+                category("상의", product("a1", 0.95), product("a2", 0.90), product("a3", 0.40)),
+                category("하의", product("b1", 0.60), product("b2", 0.50)));
+        // 번갈아 섞으면 a1, b1, a2, ... 이지만 점수순이면 상의 1, 2위가 먼저
+        assertEquals(List.of("1:상의:a1", "2:상의:a2", "3:하의:b1", "4:하의:b2", "5:상의:a3"), merged);
+    }
+
+    @Test
+    public void equalScoresFallBackToCategoryRankThenConfiguredOrder() {
+        List<String> merged = merge(
+                category("상의", product("a1", 0.9), product("a2", 0.7)),
+                category("하의", product("b1", 0.7), product("b2", 0.7)),
+                category("신발", product("c1", 0.7)));
+        assertEquals(List.of("1:상의:a1", "2:하의:b1", "3:신발:c1", "4:상의:a2", "5:하의:b2"), merged);
+    }
+
+    @Test
+    public void duplicateAcrossCategoriesKeptOnceAtBestPosition() {
+        ProductDTO shared = product("s", 0.8);
+        List<String> merged = merge(
+                category("상의", product("a1", 0.9), shared),
+                category("신상품", shared, product("n2", 0.5)));
+        assertEquals(List.of("1:상의:a1", "2:신상품:s", "3:신상품:n2"), merged);
+    }
+
+    @Test
+    public void unknownScoreKeepsCategoryOrder() {
+        List<String> merged = merge(
+                category("상의", product("a1", 0.8), product("a2", null), product("a3", 0.3)),
+                category("하의", product("b1", 0.6)));
+        // a2 는 점수를 모르므로 바로 앞 a1 의 점수로 취급
+        assertEquals(List.of("1:상의:a1", "2:상의:a2", "3:하의:b1", "4:상의:a3"), merged);
+    }
+
+    @Test
+    public void emptyAndFailedCategoriesContributeNothing() {
+        MultiCategoryRecommendService.CategoryResult timedOut = new MultiCategoryRecommendService.CategoryResult(
+                "아우터", "https://shop.example.com/Category/아우터",
+                MultiCategoryRecommendService.CategoryResult.TIMEOUT, Collections.emptyList());
+        assertEquals(List.of("1:상의:a1"), merge(timedOut, category("상의", product("a1", 0.5))));
+        assertEquals(List.of(), merge());
+    }
+
+    @Test
+    public void parsesCategoriesInConfiguredOrder() {
+        Map<String, String> categories = MultiCategoryRecommendService.parseCategories(
+                "상의=https://a.example.com/1, 하의=https://a.example.com/2,잘못된항목,=x,빈값=");
+        assertEquals(List.of("상의", "하의"), List.copyOf(categories.keySet()));
+        assertEquals("https://a.example.com/2", categories.get("하의"));
+    }
+}
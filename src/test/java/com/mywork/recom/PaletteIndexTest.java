@@ -0,0 +1,169 @@
+package com.mywork.recom;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Lab 격자 검색(kNN / 반경)이 전체 상품을 모두 비교한 결과와 같은지 확인
+ */
+public class PaletteIndexTest {
+
+    private final Random random = new Random(7);
+    private final PaletteIndex index = new PaletteIndex();
+    // 상품 링크 → 대표 색상 (전수 비교 기준)
+    private final Map<String, int[]> colors = new LinkedHashMap<>();
+    private final Map<String, ProductDTO> products = new LinkedHashMap<>();
+
+    private int[] randomPalette(int maxColors) {
+        int[] palette = new int[1 + random.nextInt(maxColors)];
+        for (int i = 0; i < palette.length; i++) {
+            palette[i] = random.nextInt(0x1000000);
+        }
+        return palette;
+    }
+
+    private void put(int i, int[] palette) {
+        ProductDTO product = new ProductDTO("상품 " + i, "https://img.example.com/" + i + ".jpg", "https://shop.example.com/Product/" + i);
+        products.put(product.getProductLink(), product);
+        colors.put(product.getProductLink(), palette);
+        index.put(product, palette);
+    }
+
+    private void fill(int count) {
+        for (int i = 0; i < count; i++) {
+            put(i, randomPalette(4));
+        }
+    }
+
+    private static float[] lab(int rgb) {
+        float[] out = new float[3];
+        DominantColorExtractor.rgbToLab(rgb, out);
+        return out;
+    }
+
+    /**
+     * 전 상품 전수 비교: 상품별로 색상 쌍 중 최단 ΔE, 가까운 순
+     */
+    private List<double[]> bruteForce(int[] query) {
+        List<double[]> all = new ArrayList<>();
+        int id = 0;
+        List<String> links = new ArrayList<>(colors.keySet());
+        for (String link : links) {
+            float best = Float.MAX_VALUE;
+            for (int c : colors.get(link)) {
+                float[] p = lab(c);
+                for (int q : query) {
+                    float[] s = lab(q);
+                    float dl = p[0] - s[0];
+                    float da = p[1] - s[1];
+                    float db = p[2] - s[2];
+                    best = Math.min(best, dl * dl + da * da + db * db);
+                }
+            }
+            all.add(new double[]{Math.sqrt(best), id++});
+        }
+        all.sort(Comparator.comparingDouble(d -> d[0]));
+        return all;
+    }
+
+    private void assertSameMatches(List<double[]> expected, List<PaletteIndex.Match> actual) {
+        assertEquals(expected.size(), actual.size());
+        List<String> links = new ArrayList<>(colors.keySet());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i)[0], actual.get(i).getDistance(), 1e-4);
+            // 거리가 같은 상품끼리는 순서가 바뀔 수 있으므로 거리가 뚜렷이 다를 때만 상품까지 비교
+            boolean tie = (i > 0 && Math.abs(expected.get(i - 1)[0] - expected.get(i)[0]) < 1e-4)
+                    || (i + 1 < expected.size() && Math.abs(expected.get(i + 1)[0] - expected.get(i)[0]) < 1e-4);
+            if (!tie) {
+                assertEquals(links.get((int) expected.get(i)[1]), actual.get(i).getProduct().getProductLink());
+            }
+        }
+    }
+
+    @Test
+    public void nearestMatchesBruteForce() {
+        fill(400);
+        for (int round = 0; round < 60; round++) {
+            int[] query = randomPalette(3);
+            List<double[]> expected = bruteForce(query);
+            for (int k : new int[]{1, 5, 20, 500}) {
+                assertSameMatches(expected.subList(0, Math.min(k, expected.size())), index.nearest(query, k));
+            }
+        }
+    }
+
+    @Test
+    public void withinRadiusMatchesBruteForce() {
+        fill(400);
+        for (int round = 0; round < 60; round++) {
+            int[] query = randomPalette(3);
+            List<double[]> all = bruteForce(query);
+            for (float radius : new float[]{0f, 3f, 7.5f, 25f, 80f}) {
+                List<double[]> inside = new ArrayList<>();
+                for (double[] d : all) {
+                    if (d[0] <= radius) {
+                        inside.add(d);
+                    }
+                }
+                for (int limit : new int[]{5, 1000}) {
+                    assertSameMatches(inside.subList(0, Math.min(limit, inside.size())), index.withinRadius(query, radius, limit));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void replaceAndRemoveAreReflected() {
+        fill(100);
+        String link = "https://shop.example.com/Product/5";
+        put(5, new int[]{0xFF0000});
+        index.remove("https://shop.example.com/Product/7");
+        colors.remove("https://shop.example.com/Product/7");
+        // 삭제로 비운 번호를 재사용한 상품도 올바르게 검색
+        put(1000, new int[]{0x00FF00, 0x0000FF});
+        assertEquals(colors.size(), index.size());
+
+        List<PaletteIndex.Match> red = index.nearest(new int[]{0xFF0000}, 1);
+        assertEquals(link, red.get(0).getProduct().getProductLink());
+        assertEquals(0.0, red.get(0).getDistance(), 1e-6);
+        assertEquals("https://shop.example.com/Product/1000",
+                index.nearest(new int[]{0x0000FF}, 1).get(0).getProduct().getProductLink());
+
+        for (int round = 0; round < 20; round++) {
+            int[] query = randomPalette(2);
+            assertSameMatches(bruteForce(query).subList(0, 10), index.nearest(query, 10));
+        }
+
+        // 색상이 없으면 삭제
+        index.put(products.get(link), new int[0]);
+        colors.remove(link);
+        assertEquals(colors.size(), index.size());
+    }
+
+    @Test
+    public void hugeOrInvalidRadiusIsBounded() {
+        fill(200);
+        int[] query = {0x808080};
+        List<double[]> expected = bruteForce(query);
+        // 반경이 격자보다 크면 격자 전체를 한 번만 훑음 (무한 반복 / 오버플로 없음)
+        long start = System.nanoTime();
+        assertSameMatches(expected.subList(0, 10), index.withinRadius(query, Float.MAX_VALUE, 10));
+        assertSameMatches(expected.subList(0, 10), index.withinRadius(query, Float.POSITIVE_INFINITY, 10));
+        assertTrue(System.nanoTime() - start < 5_000_000_000L);
+        assertEquals(200, index.withinRadius(query, 1e6f, 1000).size());
+
+        assertTrue(index.withinRadius(query, Float.NaN, 10).isEmpty());
+        assertTrue(index.withinRadius(query, -1f, 10).isEmpty());
+        assertTrue(index.withinRadius(query, 10f, 0).isEmpty());
+        assertTrue(index.nearest(new int[0], 10).isEmpty());
+    }
+}
@@ -0,0 +1,120 @@
+package com.mywork.recom;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * 호환성 표(PersonalColor)가 이전 문자열 비교 로직(extractSeason / extractType)과 같은 결과인지 확인
+ * - 계절 접두어 × 톤 접미어로 만든 모든 라벨 쌍, 신뢰도 -5 ~ 105
+ */
+public class PersonalColorTest {
+
+    private static final String UNKNOWN = "알 수 없음";
+
+    private static final String[] SEASONS = {"봄", "여름", "가을", "겨울", "", UNKNOWN, "spring", "봄여름"};
+    private static final String[] TONES = {"", " 라이트", " 브라이트", " 뮤트", " 소프트", " 딥", " 다크", " 웜", " 쿨",
+            " light", " bright", " mute", " soft", " deep", " dark", " warm", " cool", " Bright",
+            " 스트롱", " 트루", "라이트", " 라이트 브라이트", " 딥 웜"};
+
+    private static List<String> labels() {
+        List<String> labels = new ArrayList<>();
+        for (String season : SEASONS) {
+            for (String tone : TONES) {
+                labels.add(season + tone);
+            }
+        }
+        for (int i = 1; i <= PersonalColor.selectableCount(); i++) {
+            labels.add(PersonalColor.selectableLabel(i));
+        }
+        return labels;
+    }
+
+    @Test
+    public void matrixMatchesLegacyLogicForEveryLabelPair() {
+        List<String> labels = labels();
+        for (String user : labels) {
+            PersonalColor userColor = PersonalColor.of(user);
+            for (String product : labels) {
+                PersonalColor productColor = PersonalColor.of(product);
+                for (int confidence = -5; confidence <= 105; confidence++) {
+                    boolean expected = legacyIsCompatible(user, product, confidence);
+                    String message = user + " / " + product + " / " + confidence;
+                    assertEquals(message, expected, PersonalColor.isCompatible(user, product, confidence));
+                    assertEquals(message, expected, PersonalColor.isCompatible(
+                            user, userColor.getCode(), product, productColor.getCode(), confidence));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void unknownSeasonMatchesLegacyLogic() {
+        for (String label : labels()) {
+            assertEquals(label, UNKNOWN.equals(legacySeason(label)), !PersonalColor.of(label).getSeason().isKnown());
+        }
+    }
+
+    @Test
+    public void codeRoundTrips() {
+        for (String label : labels()) {
+            PersonalColor color = PersonalColor.of(label);
+            assertEquals(label, color, PersonalColor.fromCode(color.getCode()));
+        }
+    }
+
+    // ---- 이전 AIColorService.isCompatibleColor / extractSeason / extractType (로그 출력 제외) ----
+
+    private static boolean legacyIsCompatible(String userPersonalColor, String productPersonalColor, int confidence) {
+        if (confidence < 30) {
+            return false;
+        }
+        if (userPersonalColor.equals(productPersonalColor)) {
+            return true;
+        }
+        String userSeason = legacySeason(userPersonalColor);
+        String productSeason = legacySeason(productPersonalColor);
+        String userType = legacyType(userPersonalColor);
+        String productType = legacyType(productPersonalColor);
+
+        if (userSeason.equals(productSeason) && !userSeason.equals(UNKNOWN)) {
+            return userType.equals(productType) || confidence >= 40;
+        }
+        return false;
+    }
+
+    private static String legacySeason(String personalColor) {
+        if (personalColor.startsWith("봄")) return "봄";
+        if (personalColor.startsWith("여름")) return "여름";
+        if (personalColor.startsWith("가을")) return "가을";
+        if (personalColor.startsWith("겨울")) return "겨울";
+        return UNKNOWN;
+    }
+
+    private static String legacyType(String personalColor) {
+        String type = personalColor;
+        if (type.startsWith("봄")) {
+            type = type.substring(1);
+        } else if (type.startsWith("여름") || type.startsWith("가을") || type.startsWith("겨울")) {
+            type = type.substring(2);
+        }
+
+        if (type.contains("브라이트") || type.contains("bright")) {
+            return "브라이트";
+        } else if (type.contains("라이트") || type.contains("light")) {
+            return "라이트";
+        } else if (type.contains("뮤트") || type.contains("mute") || type.contains("소프트") || type.contains("soft")) {
+            return "뮤트";
+        } else if (type.contains("딥") || type.contains("deep") || type.contains("다크") || type.contains("dark")) {
+            return "딥";
+        } else if (type.contains("웜") || type.contains("warm")) {
+            return "웜";
+        } else if (type.contains("쿨") || type.contains("cool")) {
+            return "쿨";
+        }
+        return UNKNOWN;
+    }
+}
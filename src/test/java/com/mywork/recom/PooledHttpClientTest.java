@@ -0,0 +1,84 @@
+package com.mywork.recom;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.web.client.RestClientException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * 요청 전체 마감 시간: 끝난 요청의 중단 예약은 취소되고, 느린 응답은 마감 시간에 중단
+ */
+public class PooledHttpClientTest {
+
+    private HttpServer server;
+    private PooledHttpClient client;
+    private String baseUrl;
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/fast", exchange -> {
+            byte[] body = "ok".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/slow", exchange -> {
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                // 읽기 타임아웃보다 짧은 간격으로 조금씩 보내 마감 시간만 걸리게 함
+                for (int i = 0; i < 40; i++) {
+                    out.write('x');
+                    out.flush();
+                    Thread.sleep(50);
+                }
+            } catch (InterruptedException | IOException ignored) {
+            }
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        client = new PooledHttpClient(4, 4, 1000, 1000, 1000, 500, 30);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        client.destroy();
+        server.stop(0);
+    }
+
+    @Test
+    public void completedRequestsCancelTheirDeadline() {
+        int before = client.scheduledTaskCount();
+        for (int i = 0; i < 20; i++) {
+            assertEquals("ok", client.getRestTemplate().getForObject(baseUrl + "/fast", String.class));
+        }
+        assertEquals(before, client.scheduledTaskCount());
+    }
+
+    @Test
+    public void slowResponseIsAbortedAtDeadline() {
+        long start = System.nanoTime();
+        try {
+            client.getRestTemplate().getForObject(baseUrl + "/slow", String.class);
+            fail("마감 시간을 넘긴 응답은 중단되어야 함");
+        } catch (RestClientException expected) {
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            if (elapsedMillis >= 1900) {
+                fail("마감 시간(500ms) 전후에 중단되어야 함: " + elapsedMillis + "ms");
+            }
+        }
+        assertEquals(1, client.scheduledTaskCount());
+    }
+}
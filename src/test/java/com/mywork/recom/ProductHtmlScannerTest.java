@@ -0,0 +1,114 @@
+package com.mywork.recom;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 저장해 둔 카테고리 목록 페이지(src/test/resources/catalog)로 HTML 스캐너 추출 결과 확인
+ */
+public class ProductHtmlScannerTest {
+
+    static final String SITE = "https://www.kolonmall.com";
+    private static final String IMG = "https://images.kolonmall.com/Prod_Img/CJ/2024/LM3/";
+
+    static List<ProductDTO> scanFixture(String name) throws IOException {
+        List<ProductDTO> products = new ArrayList<>();
+        try (Reader reader = fixture(name)) {
+            int found = new ProductHtmlScanner(SITE).scan(reader, products::add);
+            assertEquals(products.size(), found);
+        }
+        return products;
+    }
+
+    static Reader fixture(String name) {
+        InputStream in = ProductHtmlScannerTest.class.getResourceAsStream("/catalog/" + name);
+        if (in == null) {
+            throw new IllegalStateException("fixture 없음: " + name);
+        }
+        return new InputStreamReader(in, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void extractsProductsFromSavedListingPage() throws IOException {
+        List<ProductDTO> products = scanFixture("category-page-1.html");
+
+        // 스크립트 / 주석 안 링크, 이미지 없는 품절 상품(700104), 상품이 아닌 링크는 제외
+        assertEquals(5, products.size());
+        assertProduct(products.get(0), SITE + "/Product/700101", "여성 울 블렌드 & 캐시미어 코트 네이비", IMG + "J3TBA24101_LM3.jpg");
+        // 지연 로딩 이미지는 data-src, 링크의 문자 참조는 해석
+        assertProduct(products.get(1), SITE + "/Product/700102?utm_source=list&pos=2", "벨티드 트렌치 코트 베이지", IMG + "J3TBA24102_LM3.jpg");
+        // 절대 링크는 그대로, 프로토콜 상대 이미지는 https
+        assertProduct(products.get(2), SITE + "/Product/700103", "오버핏 하프 코트 차콜", IMG + "J3TBA24103_LM3.jpg");
+        assertProduct(products.get(3), SITE + "/Product/700105", "더블 브레스트 \"클래식\" 재킷 카멜", IMG + "J3TBA24105_LM3.jpg");
+        // &nbsp; 는 공백으로 합치고 숫자 참조는 해석
+        assertProduct(products.get(4), SITE + "/Product/700106", "니트 카디건 / 베스트 세트 아이보리", IMG + "J3TBA24106_LM3.jpg");
+    }
+
+    @Test
+    public void priceAndBrandStayOutOfNames() throws IOException {
+        for (String page : new String[]{"category-page-1.html", "category-page-2.html", "category-page-3.html"}) {
+            for (ProductDTO product : scanFixture(page)) {
+                assertFalse(product.getName(), product.getName().contains("원"));
+                assertFalse(product.getName(), product.getName().contains(",000"));
+                assertFalse(product.getName(), product.getName().contains("COURONNE"));
+                assertTrue(product.getProductLink(), product.getProductLink().startsWith(SITE + ProductHtmlScanner.PRODUCT_PATH));
+            }
+        }
+    }
+
+    @Test
+    public void pageWithoutServerRenderedProductsYieldsNothing() throws IOException {
+        String shell = "<!DOCTYPE html><html><head><script>window.__NEXT_DATA__={}</script></head>"
+                + "<body><div id=\"__next\"></div><a href=\"/Main\">홈</a></body></html>";
+        List<ProductDTO> products = new ArrayList<>();
+        assertEquals(0, new ProductHtmlScanner(SITE).scan(new StringReader(shell), products::add));
+        assertTrue(products.isEmpty());
+    }
+
+    @Test
+    public void smallReadsGiveSameResult() throws IOException {
+        // 버퍼 경계가 태그 / 문자 참조 중간에 걸려도 같은 결과
+        List<ProductDTO> expected = scanFixture("category-page-1.html");
+        List<ProductDTO> actual = new ArrayList<>();
+        try (Reader reader = new OneCharReader(fixture("category-page-1.html"))) {
+            new ProductHtmlScanner(SITE).scan(reader, actual::add);
+        }
+        assertEquals(expected, actual);
+    }
+
+    private static void assertProduct(ProductDTO product, String link, String name, String image) {
+        assertEquals(link, product.getProductLink());
+        assertEquals(name, product.getName());
+        assertEquals(image, product.getImageUrl());
+    }
+
+    private static final class OneCharReader extends Reader {
+        private final Reader in;
+
+        OneCharReader(Reader in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            return in.read(cbuf, off, Math.min(1, len));
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
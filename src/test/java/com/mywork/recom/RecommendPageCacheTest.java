@@ -0,0 +1,113 @@
+package com.mywork.recom;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * /recommend 조건부 GET: 카탈로그 버전이 같으면 304 (추천 계산 없음), 바뀌면 새 ETag 로 200
+ */
+public class RecommendPageCacheTest {
+
+    private static final long VERSION = 1_700_000_000_000L;
+
+    private final ProductColorIndex productColorIndex = new ProductColorIndex();
+    private final AtomicInteger computed = new AtomicInteger();
+    private final RecommendMetrics metrics = new RecommendMetrics();
+    private final HomeService homeService = new HomeService() {
+        @Override
+        public List<ProductDTO> findRecommendedProducts(String url, String userPersonalColor) {
+            computed.incrementAndGet();
+            List<ProductDTO> indexed = productColorIndex.lookup(url, userPersonalColor);
+            return indexed != null ? indexed : List.of();
+        }
+    };
+    private MockMvc mvc;
+    private String personalColor;
+
+    @Before
+    public void setUp() {
+        RecommendPageCache cache = new RecommendPageCache(homeService, productColorIndex, metrics);
+        HomeController controller = new HomeController(homeService, null, metrics, null, null, null, null, null, cache);
+        mvc = MockMvcBuilders.standaloneSetup(controller).build();
+        personalColor = homeService.getPersonalColor(3);
+    }
+
+    private void publish(long version, ProductDTO... items) {
+        productColorIndex.update(HomeService.DEFAULT_CATEGORY_URL, Map.of(personalColor, List.of(items)), items.length, version);
+    }
+
+    private static ProductDTO product(int i) {
+        return new ProductDTO("상품 " + i, "https://img.example.com/" + i + ".jpg", "https://shop.example.com/Product/" + i);
+    }
+
+    @Test
+    public void unchangedCatalogAnswers304WithoutRecomputing() throws Exception {
+        publish(VERSION, product(1), product(2));
+
+        MvcResult first = mvc.perform(get("/recommend").param("personal", "3")).andReturn();
+        assertEquals(200, first.getResponse().getStatus());
+        String eTag = first.getResponse().getHeader("ETag");
+        String lastModified = first.getResponse().getHeader("Last-Modified");
+        assertNotNull(eTag);
+        assertNotNull(lastModified);
+        assertEquals("no-cache", first.getResponse().getHeader("Cache-Control"));
+        assertEquals(List.of(product(1), product(2)), first.getModelAndView().getModel().get("items"));
+        assertEquals(1, computed.get());
+
+        MvcResult byETag = mvc.perform(get("/recommend").param("personal", "3").header("If-None-Match", eTag)).andReturn();
+        assertEquals(304, byETag.getResponse().getStatus());
+        MvcResult byDate = mvc.perform(get("/recommend").param("personal", "3").header("If-Modified-Since", lastModified)).andReturn();
+        assertEquals(304, byDate.getResponse().getStatus());
+        // 재검증 요청은 캐시된 페이지로 판단
+        assertEquals(1, computed.get());
+        assertEquals(2.0, metrics.getNotModified().count(), 0);
+        assertEquals(2.0, metrics.getPageCacheHits().count(), 0);
+    }
+
+    @Test
+    public void catalogUpdateChangesValidators() throws Exception {
+        publish(VERSION, product(1));
+        String eTag = mvc.perform(get("/recommend").param("personal", "3")).andReturn().getResponse().getHeader("ETag");
+
+        publish(VERSION + 600_000, product(2), product(3));
+        MvcResult updated = mvc.perform(get("/recommend").param("personal", "3").header("If-None-Match", eTag)).andReturn();
+        assertEquals(200, updated.getResponse().getStatus());
+        assertNotEquals(eTag, updated.getResponse().getHeader("ETag"));
+        assertEquals(List.of(product(2), product(3)), updated.getModelAndView().getModel().get("items"));
+        assertEquals(2, computed.get());
+    }
+
+    @Test
+    public void liveResultsCarryNoValidators() throws Exception {
+        // 색인 준비 전 (버전 없음) 은 캐시하지 않고 매번 계산
+        MvcResult live = mvc.perform(get("/recommend").param("personal", "3")).andReturn();
+        assertEquals(200, live.getResponse().getStatus());
+        assertNull(live.getResponse().getHeader("ETag"));
+        mvc.perform(get("/recommend").param("personal", "3").header("If-None-Match", "W/\"0-0\"")).andReturn();
+        assertEquals(2, computed.get());
+    }
+
+    @Test
+    public void postRedirectsAndUnknownColorIsRejected() throws Exception {
+        MvcResult redirected = mvc.perform(post("/recommend").param("personal", "3")).andReturn();
+        assertEquals(302, redirected.getResponse().getStatus());
+        assertEquals("/recommend?personal=3", redirected.getResponse().getRedirectedUrl());
+
+        assertEquals(400, mvc.perform(get("/recommend").param("personal", "99")).andReturn().getResponse().getStatus());
+        assertEquals(0, computed.get());
+    }
+}
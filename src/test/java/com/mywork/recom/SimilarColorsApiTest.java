@@ -0,0 +1,55 @@
+package com.mywork.recom;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.junit.Assert.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * /api/similar-colors 의 k 는 반경 검색에서도 결과 개수 상한으로 쓰이는지 확인
+ */
+public class SimilarColorsApiTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private MockMvc mvc;
+
+    @Before
+    public void setUp() {
+        PaletteIndex index = new PaletteIndex();
+        for (int i = 0; i < 30; i++) {
+            ProductDTO product = new ProductDTO("상품 " + i, "https://img.example.com/" + i + ".jpg", "https://shop.example.com/Product/" + i);
+            index.put(product, new int[]{0x808080 + i});
+        }
+        HomeController controller = new HomeController(new HomeService(), null, new RecommendMetrics(), null, null, null, null, index, null);
+        mvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    private MockHttpServletResponse search(String... params) throws Exception {
+        MockHttpServletRequestBuilder request = get("/api/similar-colors").param("colors", "808080");
+        for (int i = 0; i < params.length; i += 2) {
+            request.param(params[i], params[i + 1]);
+        }
+        return mvc.perform(request).andReturn().getResponse();
+    }
+
+    private int resultCount(String... params) throws Exception {
+        MockHttpServletResponse response = search(params);
+        assertEquals(200, response.getStatus());
+        return objectMapper.readTree(response.getContentAsByteArray()).size();
+    }
+
+    @Test
+    public void radiusSearchHonoursK() throws Exception {
+        assertEquals(5, resultCount("radius", "50", "k", "5"));
+        // k 생략시 반경 안 전부 (상한 200), 가까운 순 검색은 20개
+        assertEquals(30, resultCount("radius", "50"));
+        assertEquals(20, resultCount());
+        assertEquals(400, search("radius", "50", "k", "0").getStatus());
+    }
+}
@@ -0,0 +1,66 @@
+package com.mywork.recom;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 점수 상위 K개 힙이 전체 정렬 후 앞 K개와 같은 결과를 내는지 (같은 점수는 순번 순) 확인
+ */
+public class TopKTest {
+
+    @Test
+    public void matchesFullSortRegardlessOfArrivalOrder() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            int k = 1 + random.nextInt(12);
+            int n = random.nextInt(60);
+            List<int[]> items = new ArrayList<>();
+            for (int order = 0; order < n; order++) {
+                // 점수 충돌이 잦도록 0.0 ~ 1.0 을 0.1 단위로
+                items.add(new int[]{order, random.nextInt(11)});
+            }
+            List<Integer> expected = items.stream()
+                    .sorted(Comparator.<int[]>comparingInt(i -> -i[1]).thenComparingInt(i -> i[0]))
+                    .limit(k)
+                    .map(i -> i[0])
+                    .collect(Collectors.toList());
+
+            Collections.shuffle(items, random);
+            TopK<Integer> top = new TopK<>(k);
+            for (int[] item : items) {
+                top.offer(item[0], item[1] / 10.0, item[0]);
+            }
+            assertEquals(expected, top.toSortedList());
+            assertEquals(Math.min(k, n), top.size());
+        }
+    }
+
+    @Test
+    public void thresholdIsKthScoreOnceFull() {
+        TopK<String> top = new TopK<>(2);
+        assertEquals(Double.NEGATIVE_INFINITY, top.threshold(), 0);
+        assertTrue(top.offer("a", 0.5, 1));
+        assertFalse(top.isFull());
+        assertTrue(top.offer("b", 0.9, 2));
+        assertTrue(top.isFull());
+        assertEquals(0.5, top.threshold(), 0);
+
+        // K번째와 같은 점수는 순번이 늦으면 들어오지 못함
+        assertFalse(top.offer("c", 0.5, 3));
+        assertTrue(top.offer("d", 0.5, 0));
+        assertEquals(List.of("b", "d"), top.toSortedList());
+        assertTrue(top.offer("e", 0.7, 4));
+        assertEquals(0.7, top.threshold(), 0);
+        assertEquals(List.of("b", "e"), top.toSortedList());
+    }
+}